@@ -1,11 +1,18 @@
 package algorithm;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Implementação de árvore AVL (balanceada) para indexação por chave.
- * Mantém O(log n) em inserções e buscas.
+ * Mantém O(log n) em inserções, remoções e buscas, e O(log n + k) em consultas de intervalo.
+ *
+ * Cada nó guarda o tamanho da sua subárvore (árvore de estatísticas de ordem), o que
+ * permite selecionar o k-ésimo elemento, calcular o rank de uma chave e paginar por
+ * deslocamento em O(log n + limite), independentemente da profundidade da página.
  *
  * @param <K> tipo da chave (Comparable)
  * @param <V> tipo do valor
@@ -17,6 +24,7 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
         K key;
         V value;
         int height;
+        int size;
         Node left;
         Node right;
 
@@ -24,16 +32,31 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
             this.key = key;
             this.value = value;
             this.height = 1;
+            this.size = 1;
         }
     }
 
     private Node root;
 
+    // Alterações estruturais (nós incluídos, removidos ou reconstruídos); iteradores abertos
+    // antes de uma alteração falham em vez de percorrer uma árvore que mudou sob eles
+    private int modCount;
+
     // --- utilitários ---
     private int nodeHeight(Node node) {
         return (node == null) ? 0 : node.height;
     }
 
+    private int nodeSize(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    // recalcula altura e tamanho a partir dos filhos
+    private void update(Node node) {
+        node.height = 1 + Math.max(nodeHeight(node.left), nodeHeight(node.right));
+        node.size = 1 + nodeSize(node.left) + nodeSize(node.right);
+    }
+
     private int getBalanceFactor(Node node) {
         return (node == null) ? 0 : nodeHeight(node.left) - nodeHeight(node.right);
     }
@@ -46,8 +69,8 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
         x.right = y;
         y.left = t2;
 
-        y.height = Math.max(nodeHeight(y.left), nodeHeight(y.right)) + 1;
-        x.height = Math.max(nodeHeight(x.left), nodeHeight(x.right)) + 1;
+        update(y);
+        update(x);
 
         return x;
     }
@@ -59,8 +82,8 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
         y.left = x;
         x.right = t2;
 
-        x.height = Math.max(nodeHeight(x.left), nodeHeight(x.right)) + 1;
-        y.height = Math.max(nodeHeight(y.left), nodeHeight(y.right)) + 1;
+        update(x);
+        update(y);
 
         return y;
     }
@@ -82,7 +105,7 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
             return node;
         }
 
-        node.height = 1 + Math.max(nodeHeight(node.left), nodeHeight(node.right));
+        update(node);
         int balance = getBalanceFactor(node);
 
         // Left Left
@@ -107,6 +130,80 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
         return node;
     }
 
+    // remoção recursiva mantendo balanceamento
+    private Node removeNode(Node node, K key) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = removeNode(node.left, key);
+        } else if (cmp > 0) {
+            node.right = removeNode(node.right, key);
+        } else {
+            // nó com zero ou um filho: é substituído pelo filho
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+
+            // dois filhos: copia o sucessor (menor da subárvore direita) e o remove de lá
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node.right = removeNode(node.right, successor.key);
+        }
+
+        return rebalance(node);
+    }
+
+    // recalcula a altura e aplica as rotações necessárias após uma remoção
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = getBalanceFactor(node);
+
+        if (balance > 1) {
+            // Left Right
+            if (getBalanceFactor(node.left) < 0) {
+                node.left = leftRotate(node.left);
+            }
+            // Left Left
+            return rightRotate(node);
+        }
+        if (balance < -1) {
+            // Right Left
+            if (getBalanceFactor(node.right) > 0) {
+                node.right = rightRotate(node.right);
+            }
+            // Right Right
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    // monta uma árvore perfeitamente balanceada com os pares [lo, hi) já ordenados: O(n)
+    private Node buildBalanced(List<K> keys, List<V> values, int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys.get(mid), values.get(mid));
+        node.left = buildBalanced(keys, values, lo, mid);
+        node.right = buildBalanced(keys, values, mid + 1, hi);
+        update(node);
+        return node;
+    }
+
+    // travessia em ordem coletando os nós
+    private void collectNodes(Node node, List<Node> out) {
+        if (node == null) return;
+        collectNodes(node.left, out);
+        out.add(node);
+        collectNodes(node.right, out);
+    }
+
     // busca recursiva
     private V searchNode(Node node, K key) {
         if (node == null) {
@@ -130,7 +227,43 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
     @Override
     public void inserir(K chave, V valor) {
         if (chave == null) throw new IllegalArgumentException("chave não pode ser nula");
+        int antes = nodeSize(root);
         root = insertNode(root, chave, valor);
+        if (nodeSize(root) != antes) modCount++;
+    }
+
+    /**
+     * Carga em O(n + m): intercala os pares novos com os já existentes (em ordem) e monta
+     * a árvore de baixo para cima, sem rotações. Em chaves repetidas, vale o valor novo.
+     */
+    @Override
+    public void carregarOrdenado(List<K> chaves, List<V> valores) {
+        ArvoreBusca.validarOrdenadas(chaves, valores);
+        modCount++;
+        if (root == null) {
+            root = buildBalanced(chaves, valores, 0, chaves.size());
+            return;
+        }
+        List<Node> existing = new ArrayList<>(nodeSize(root));
+        collectNodes(root, existing);
+        int total = existing.size() + chaves.size();
+        List<K> keys = new ArrayList<>(total);
+        List<V> values = new ArrayList<>(total);
+        int i = 0, j = 0;
+        while (i < existing.size() || j < chaves.size()) {
+            int cmp = (i == existing.size()) ? 1
+                    : (j == chaves.size()) ? -1
+                    : existing.get(i).key.compareTo(chaves.get(j));
+            if (cmp < 0) {
+                keys.add(existing.get(i).key);
+                values.add(existing.get(i++).value);
+            } else {
+                if (cmp == 0) i++;
+                keys.add(chaves.get(j));
+                values.add(valores.get(j++));
+            }
+        }
+        root = buildBalanced(keys, values, 0, keys.size());
     }
 
     @Override
@@ -139,10 +272,222 @@ public class ArvoreAVL<K extends Comparable<K>, V> implements ArvoreBusca<K, V>
         return searchNode(root, chave);
     }
 
+    @Override
+    public V remover(K chave) {
+        if (chave == null) return null;
+        V valor = searchNode(root, chave);
+        int antes = nodeSize(root);
+        root = removeNode(root, chave);
+        if (nodeSize(root) != antes) modCount++;
+        return valor;
+    }
+
     @Override
     public List<V> listarEmOrdem() {
         List<V> result = new ArrayList<>();
         inOrderTraversal(root, result);
         return result;
     }
+
+    @Override
+    public V buscarPiso(K chave) {
+        if (chave == null) return null;
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            int cmp = chave.compareTo(node.key);
+            if (cmp == 0) return node.value;
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                best = node;
+                node = node.right;
+            }
+        }
+        return (best == null) ? null : best.value;
+    }
+
+    @Override
+    public V buscarTeto(K chave) {
+        if (chave == null) return null;
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            int cmp = chave.compareTo(node.key);
+            if (cmp == 0) return node.value;
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                best = node;
+                node = node.left;
+            }
+        }
+        return (best == null) ? null : best.value;
+    }
+
+    @Override
+    public Iterator<V> iterador(K de, K ate) {
+        return new InOrderIterator(ate).seekKey(de);
+    }
+
+    // --- estatísticas de ordem ---
+
+    /**
+     * Quantidade de chaves armazenadas: O(1).
+     */
+    public int tamanho() {
+        return nodeSize(root);
+    }
+
+    /**
+     * Retorna o valor da k-ésima menor chave (k com base 0): O(log n).
+     * @throws IndexOutOfBoundsException se k estiver fora de [0, tamanho())
+     */
+    public V selecionar(int k) {
+        if (k < 0 || k >= nodeSize(root)) {
+            throw new IndexOutOfBoundsException("k fora do intervalo: " + k);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = nodeSize(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.value;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Quantidade de chaves estritamente menores que a chave dada: O(log n).
+     * Se a chave existir, é a sua posição (base 0) na ordem crescente.
+     */
+    public int rank(K chave) {
+        if (chave == null) throw new IllegalArgumentException("chave não pode ser nula");
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = chave.compareTo(node.key);
+            if (cmp == 0) {
+                return rank + nodeSize(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += nodeSize(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Retorna até 'limite' valores a partir da posição 'deslocamento' na ordem das chaves:
+     * O(log n + limite), sem materializar as páginas anteriores.
+     */
+    public List<V> pagina(int deslocamento, int limite) {
+        if (deslocamento < 0 || limite < 0) {
+            throw new IllegalArgumentException("deslocamento e limite não podem ser negativos");
+        }
+        List<V> resultado = new ArrayList<>();
+        if (deslocamento >= nodeSize(root)) {
+            return resultado;
+        }
+        Iterator<V> it = new InOrderIterator(null).seekIndex(deslocamento);
+        while (resultado.size() < limite && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Travessia em ordem com pilha explícita (no máximo 'altura' nós), limitada a [de, ate).
+     * A pilha é dimensionada pela altura da árvore na criação; inclusões ou remoções de chaves
+     * depois disso (rotações podem aumentar a profundidade) fazem next() lançar
+     * ConcurrentModificationException. Atualizar o valor de uma chave existente é permitido.
+     */
+    private class InOrderIterator implements Iterator<V> {
+        private final Object[] stack = new Object[nodeHeight(root)];
+        private final int expectedModCount = modCount;
+        private int top;
+        private final K ate;
+        private Node next;
+
+        InOrderIterator(K ate) {
+            this.ate = ate;
+        }
+
+        // desce até o primeiro nó >= de, empilhando os ancestrais que ainda serão visitados
+        InOrderIterator seekKey(K de) {
+            Node node = root;
+            while (node != null) {
+                if (de != null && node.key.compareTo(de) < 0) {
+                    node = node.right;
+                } else {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+            advance();
+            return this;
+        }
+
+        // desce até o nó de posição k (base 0) usando os tamanhos das subárvores
+        InOrderIterator seekIndex(int k) {
+            Node node = root;
+            while (node != null) {
+                int leftSize = nodeSize(node.left);
+                if (k < leftSize) {
+                    stack[top++] = node;
+                    node = node.left;
+                } else if (k == leftSize) {
+                    stack[top++] = node;
+                    break;
+                } else {
+                    k -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+            advance();
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            if (top == 0) {
+                next = null;
+                return;
+            }
+            Node node = (Node) stack[--top];
+            stack[top] = null;
+            if (ate != null && node.key.compareTo(ate) >= 0) {
+                top = 0;
+                next = null;
+                return;
+            }
+            next = node;
+            Node child = node.right;
+            while (child != null) {
+                stack[top++] = child;
+                child = child.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) throw new NoSuchElementException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            V value = next.value;
+            advance();
+            return value;
+        }
+    }
 }
@@ -0,0 +1,392 @@
+package algorithm;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Árvore AVL persistente (imutável), com cópia de caminho.
+ *
+ * Os nós nunca são alterados depois de criados: inserções e remoções copiam apenas o
+ * caminho da raiz até o ponto alterado (O(log n) nós) e publicam a nova raiz de forma
+ * atômica. Leitores nunca usam locks; cada leitura ou iteração enxerga uma versão
+ * consistente da árvore (MVCC), mesmo com escritas em andamento. Escritores são
+ * serializados entre si e podem agrupar várias alterações em uma única publicação
+ * com {@link #emLote(Consumer)}.
+ *
+ * @param <K> tipo da chave (Comparable)
+ * @param <V> tipo do valor
+ */
+public class ArvoreAVLPersistente<K extends Comparable<K>, V> implements ArvoreBusca<K, V> {
+
+    // Nó imutável
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(nodeHeight(left), nodeHeight(right));
+            this.size = 1 + nodeSize(left) + nodeSize(right);
+        }
+    }
+
+    // Raiz publicada; cada valor é uma versão completa e imutável da árvore
+    private final AtomicReference<Node<K, V>> root = new AtomicReference<>();
+
+    // Serializa os escritores (leitores nunca o adquirem)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // --- utilitários ---
+    private static int nodeHeight(Node<?, ?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static int nodeSize(Node<?, ?> node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    // cria o nó (key, value, left, right) aplicando as rotações necessárias
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int lh = nodeHeight(left), rh = nodeHeight(right);
+        if (lh > rh + 1) {
+            if (nodeHeight(left.left) >= nodeHeight(left.right)) {
+                // Left Left
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            // Left Right
+            Node<K, V> lr = left.right;
+            return new Node<>(lr.key, lr.value,
+                    new Node<>(left.key, left.value, left.left, lr.left),
+                    new Node<>(key, value, lr.right, right));
+        }
+        if (rh > lh + 1) {
+            if (nodeHeight(right.right) >= nodeHeight(right.left)) {
+                // Right Right
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            // Right Left
+            Node<K, V> rl = right.left;
+            return new Node<>(rl.key, rl.value,
+                    new Node<>(key, value, left, rl.left),
+                    new Node<>(right.key, right.value, rl.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    // inserção com cópia de caminho; retorna a nova raiz da subárvore
+    private static <K extends Comparable<K>, V> Node<K, V> insertNode(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, insertNode(node.left, key, value), node.right);
+        }
+        if (cmp > 0) {
+            return balance(node.key, node.value, node.left, insertNode(node.right, key, value));
+        }
+        // mesma chave: nova versão do nó com o valor atualizado
+        return (node.value == value) ? node : new Node<>(key, value, node.left, node.right);
+    }
+
+    // remoção com cópia de caminho; retorna o próprio nó se a chave não existir
+    private static <K extends Comparable<K>, V> Node<K, V> removeNode(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node<K, V> left = removeNode(node.left, key);
+            return (left == node.left) ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            Node<K, V> right = removeNode(node.right, key);
+            return (right == node.right) ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeMin(node.right));
+    }
+
+    private static <K, V> Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> findNode(Node<K, V> node, K key) {
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) return node;
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // --- escrita ---
+
+    /**
+     * Lote de alterações aplicado sobre uma versão privada da árvore e
+     * publicado de uma só vez ao final de {@link #emLote(Consumer)}.
+     */
+    public final class Lote {
+        private Node<K, V> working;
+
+        private Lote(Node<K, V> working) {
+            this.working = working;
+        }
+
+        public void inserir(K chave, V valor) {
+            if (chave == null) throw new IllegalArgumentException("chave não pode ser nula");
+            working = insertNode(working, chave, valor);
+        }
+
+        public void remover(K chave) {
+            if (chave != null) {
+                working = removeNode(working, chave);
+            }
+        }
+
+        /**
+         * Busca considerando as alterações já feitas neste lote.
+         */
+        public V buscar(K chave) {
+            Node<K, V> node = (chave == null) ? null : findNode(working, chave);
+            return (node == null) ? null : node.value;
+        }
+    }
+
+    /**
+     * Aplica várias alterações e as publica com uma única troca de raiz.
+     * Leitores concorrentes veem ou o estado anterior completo ou o novo completo.
+     * Se a ação lançar exceção, nada é publicado.
+     */
+    public void emLote(Consumer<Lote> alteracoes) {
+        writeLock.lock();
+        try {
+            Lote lote = new Lote(root.get());
+            alteracoes.accept(lote);
+            root.set(lote.working);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void inserir(K chave, V valor) {
+        emLote(lote -> lote.inserir(chave, valor));
+    }
+
+    @Override
+    public V remover(K chave) {
+        if (chave == null) return null;
+        writeLock.lock();
+        try {
+            Node<K, V> current = root.get();
+            Node<K, V> node = findNode(current, chave);
+            if (node == null) {
+                return null;
+            }
+            root.set(removeNode(current, chave));
+            return node.value;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- leitura ---
+
+    /**
+     * Retorna uma visão somente leitura e imutável da versão atual da árvore.
+     * Ideal para relatórios longos: nenhuma escrita posterior a afeta.
+     */
+    public ArvoreBusca<K, V> instantaneo() {
+        return new Instantaneo<>(root.get());
+    }
+
+    @Override
+    public V buscar(K chave) {
+        return Instantaneo.buscar(root.get(), chave);
+    }
+
+    @Override
+    public List<V> listarEmOrdem() {
+        return new Instantaneo<>(root.get()).listarEmOrdem();
+    }
+
+    @Override
+    public V buscarPiso(K chave) {
+        return new Instantaneo<>(root.get()).buscarPiso(chave);
+    }
+
+    @Override
+    public V buscarTeto(K chave) {
+        return new Instantaneo<>(root.get()).buscarTeto(chave);
+    }
+
+    @Override
+    public Iterator<V> iterador(K de, K ate) {
+        return new Instantaneo<>(root.get()).iterador(de, ate);
+    }
+
+    /**
+     * Quantidade de chaves na versão atual: O(1).
+     */
+    public int tamanho() {
+        return nodeSize(root.get());
+    }
+
+    /**
+     * Versão fixa (somente leitura) da árvore.
+     */
+    private static final class Instantaneo<K extends Comparable<K>, V> implements ArvoreBusca<K, V> {
+        private final Node<K, V> root;
+
+        Instantaneo(Node<K, V> root) {
+            this.root = root;
+        }
+
+        static <K extends Comparable<K>, V> V buscar(Node<K, V> root, K chave) {
+            Node<K, V> node = (chave == null) ? null : findNode(root, chave);
+            return (node == null) ? null : node.value;
+        }
+
+        @Override
+        public void inserir(K chave, V valor) {
+            throw new UnsupportedOperationException("instantâneo é somente leitura");
+        }
+
+        @Override
+        public V remover(K chave) {
+            throw new UnsupportedOperationException("instantâneo é somente leitura");
+        }
+
+        @Override
+        public V buscar(K chave) {
+            return buscar(root, chave);
+        }
+
+        @Override
+        public List<V> listarEmOrdem() {
+            List<V> result = new ArrayList<>(nodeSize(root));
+            iterador(null, null).forEachRemaining(result::add);
+            return result;
+        }
+
+        @Override
+        public V buscarPiso(K chave) {
+            if (chave == null) return null;
+            Node<K, V> node = root, best = null;
+            while (node != null) {
+                int cmp = chave.compareTo(node.key);
+                if (cmp == 0) return node.value;
+                if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    best = node;
+                    node = node.right;
+                }
+            }
+            return (best == null) ? null : best.value;
+        }
+
+        @Override
+        public V buscarTeto(K chave) {
+            if (chave == null) return null;
+            Node<K, V> node = root, best = null;
+            while (node != null) {
+                int cmp = chave.compareTo(node.key);
+                if (cmp == 0) return node.value;
+                if (cmp > 0) {
+                    node = node.right;
+                } else {
+                    best = node;
+                    node = node.left;
+                }
+            }
+            return (best == null) ? null : best.value;
+        }
+
+        @Override
+        public Iterator<V> iterador(K de, K ate) {
+            return new InOrderIterator<>(root, de, ate);
+        }
+    }
+
+    /**
+     * Travessia em ordem com pilha explícita, limitada a [de, ate).
+     * Como os nós são imutáveis, a iteração é sempre consistente.
+     */
+    private static final class InOrderIterator<K extends Comparable<K>, V> implements Iterator<V> {
+        private final Object[] stack;
+        private int top;
+        private final K ate;
+        private Node<K, V> next;
+
+        InOrderIterator(Node<K, V> root, K de, K ate) {
+            this.stack = new Object[nodeHeight(root)];
+            this.ate = ate;
+            Node<K, V> node = root;
+            while (node != null) {
+                if (de != null && node.key.compareTo(de) < 0) {
+                    node = node.right;
+                } else {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            if (top == 0) {
+                next = null;
+                return;
+            }
+            Node<K, V> node = (Node<K, V>) stack[--top];
+            stack[top] = null;
+            if (ate != null && node.key.compareTo(ate) >= 0) {
+                top = 0;
+                next = null;
+                return;
+            }
+            next = node;
+            Node<K, V> child = node.right;
+            while (child != null) {
+                stack[top++] = child;
+                child = child.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) throw new NoSuchElementException();
+            V value = next.value;
+            advance();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Implementação de árvore B+ para indexação por chave.
+ *
+ * Os nós são largos e baseados em arrays (até ORDEM chaves por nó), o que reduz a
+ * altura da árvore, o número de objetos por entrada e os saltos de ponteiro em uma
+ * busca. Os valores ficam apenas nas folhas, encadeadas da esquerda para a direita:
+ * listagens e consultas de intervalo percorrem arrays contíguos folha a folha.
+ * Mantém O(log n) em inserções, remoções e buscas.
+ *
+ * @param <K> tipo da chave (Comparable)
+ * @param <V> tipo do valor
+ */
+public class ArvoreBMais<K extends Comparable<K>, V> implements ArvoreBusca<K, V> {
+
+    // Número máximo de chaves por nó
+    static final int ORDEM = 64;
+    // Número mínimo de chaves por nó (exceto a raiz)
+    private static final int MINIMO = ORDEM / 2;
+
+    // Nó genérico: 'n' chaves válidas em 'keys' (uma posição extra para o overflow antes do split)
+    private abstract static class No {
+        final Object[] keys = new Object[ORDEM + 1];
+        int n;
+    }
+
+    // Nó interno: keys[i] separa children[i] (chaves menores) de children[i + 1] (chaves maiores ou iguais)
+    private static final class Interno extends No {
+        final No[] children = new No[ORDEM + 2];
+    }
+
+    // Folha: valores paralelos às chaves e ligação para a próxima folha
+    private static final class Folha extends No {
+        final Object[] values = new Object[ORDEM + 1];
+        Folha next;
+    }
+
+    private No root = new Folha();
+    private int size;
+
+    // Separador promovido pelo último split (consumido pelo nó pai)
+    private Object promotedKey;
+
+    // --- utilitários de busca binária ---
+
+    // primeira posição com keys[i] >= key
+    @SuppressWarnings("unchecked")
+    private int lowerBound(No node, K key) {
+        int lo = 0, hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (((K) node.keys[mid]).compareTo(key) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // primeira posição com keys[i] > key (índice do filho a seguir em um nó interno)
+    @SuppressWarnings("unchecked")
+    private int upperBound(No node, K key) {
+        int lo = 0, hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (((K) node.keys[mid]).compareTo(key) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // folha onde a chave está (ou estaria)
+    private Folha findLeaf(K key) {
+        No node = root;
+        while (node instanceof Interno) {
+            Interno internal = (Interno) node;
+            node = internal.children[upperBound(internal, key)];
+        }
+        return (Folha) node;
+    }
+
+    private Folha firstLeaf() {
+        No node = root;
+        while (node instanceof Interno) {
+            node = ((Interno) node).children[0];
+        }
+        return (Folha) node;
+    }
+
+    // --- inserção ---
+
+    // insere recursivamente; retorna o novo irmão à direita se o nó foi dividido
+    @SuppressWarnings("unchecked")
+    private No insertNode(No node, K key, V value) {
+        if (node instanceof Folha) {
+            Folha leaf = (Folha) node;
+            int pos = lowerBound(leaf, key);
+            if (pos < leaf.n && ((K) leaf.keys[pos]).compareTo(key) == 0) {
+                // mesma chave: atualiza valor
+                leaf.values[pos] = value;
+                return null;
+            }
+            System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.n - pos);
+            System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.n - pos);
+            leaf.keys[pos] = key;
+            leaf.values[pos] = value;
+            leaf.n++;
+            size++;
+            return (leaf.n > ORDEM) ? splitLeaf(leaf) : null;
+        }
+
+        Interno internal = (Interno) node;
+        int idx = upperBound(internal, key);
+        No sibling = insertNode(internal.children[idx], key, value);
+        if (sibling == null) {
+            return null;
+        }
+        System.arraycopy(internal.keys, idx, internal.keys, idx + 1, internal.n - idx);
+        System.arraycopy(internal.children, idx + 1, internal.children, idx + 2, internal.n - idx);
+        internal.keys[idx] = promotedKey;
+        internal.children[idx + 1] = sibling;
+        internal.n++;
+        return (internal.n > ORDEM) ? splitInternal(internal) : null;
+    }
+
+    private Folha splitLeaf(Folha leaf) {
+        Folha right = new Folha();
+        int half = leaf.n / 2;
+        right.n = leaf.n - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, half, right.values, 0, right.n);
+        Arrays.fill(leaf.keys, half, leaf.n, null);
+        Arrays.fill(leaf.values, half, leaf.n, null);
+        leaf.n = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        promotedKey = right.keys[0];
+        return right;
+    }
+
+    private Interno splitInternal(Interno node) {
+        Interno right = new Interno();
+        int mid = node.n / 2;
+        promotedKey = node.keys[mid];
+        right.n = node.n - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.n);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.n + 1);
+        Arrays.fill(node.keys, mid, node.n, null);
+        Arrays.fill(node.children, mid + 1, node.n + 1, null);
+        node.n = mid;
+        return right;
+    }
+
+    // --- remoção ---
+
+    // remove recursivamente; o pai corrige o filho que ficar abaixo do mínimo
+    @SuppressWarnings("unchecked")
+    private V removeNode(No node, K key) {
+        if (node instanceof Folha) {
+            Folha leaf = (Folha) node;
+            int pos = lowerBound(leaf, key);
+            if (pos == leaf.n || ((K) leaf.keys[pos]).compareTo(key) != 0) {
+                return null;
+            }
+            V value = (V) leaf.values[pos];
+            System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.n - pos - 1);
+            System.arraycopy(leaf.values, pos + 1, leaf.values, pos, leaf.n - pos - 1);
+            leaf.n--;
+            leaf.keys[leaf.n] = null;
+            leaf.values[leaf.n] = null;
+            size--;
+            return value;
+        }
+
+        Interno internal = (Interno) node;
+        int idx = upperBound(internal, key);
+        No child = internal.children[idx];
+        V value = removeNode(child, key);
+        if (child.n < MINIMO) {
+            fixUnderflow(internal, idx);
+        }
+        return value;
+    }
+
+    // empresta de um irmão com folga ou funde com um irmão
+    private void fixUnderflow(Interno parent, int idx) {
+        No child = parent.children[idx];
+        No left = (idx > 0) ? parent.children[idx - 1] : null;
+        No right = (idx < parent.n) ? parent.children[idx + 1] : null;
+
+        if (left != null && left.n > MINIMO) {
+            borrowFromLeft(parent, idx, left, child);
+        } else if (right != null && right.n > MINIMO) {
+            borrowFromRight(parent, idx, child, right);
+        } else if (left != null) {
+            merge(parent, idx - 1, left, child);
+        } else if (right != null) {
+            merge(parent, idx, child, right);
+        }
+    }
+
+    private void borrowFromLeft(Interno parent, int idx, No left, No child) {
+        System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+        if (child instanceof Folha) {
+            Folha c = (Folha) child, l = (Folha) left;
+            System.arraycopy(c.values, 0, c.values, 1, c.n);
+            c.keys[0] = l.keys[l.n - 1];
+            c.values[0] = l.values[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.values[l.n - 1] = null;
+            parent.keys[idx - 1] = c.keys[0];
+        } else {
+            Interno c = (Interno) child, l = (Interno) left;
+            System.arraycopy(c.children, 0, c.children, 1, c.n + 1);
+            c.keys[0] = parent.keys[idx - 1];
+            c.children[0] = l.children[l.n];
+            parent.keys[idx - 1] = l.keys[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.children[l.n] = null;
+        }
+        left.n--;
+        child.n++;
+    }
+
+    private void borrowFromRight(Interno parent, int idx, No child, No right) {
+        if (child instanceof Folha) {
+            Folha c = (Folha) child, r = (Folha) right;
+            c.keys[c.n] = r.keys[0];
+            c.values[c.n] = r.values[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.values, 1, r.values, 0, r.n - 1);
+            r.keys[r.n - 1] = null;
+            r.values[r.n - 1] = null;
+            parent.keys[idx] = r.keys[0];
+        } else {
+            Interno c = (Interno) child, r = (Interno) right;
+            c.keys[c.n] = parent.keys[idx];
+            c.children[c.n + 1] = r.children[0];
+            parent.keys[idx] = r.keys[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.children, 1, r.children, 0, r.n);
+            r.keys[r.n - 1] = null;
+            r.children[r.n] = null;
+        }
+        right.n--;
+        child.n++;
+    }
+
+    // funde o irmão direito (children[sep + 1]) no esquerdo (children[sep])
+    private void merge(Interno parent, int sep, No left, No right) {
+        if (left instanceof Folha) {
+            Folha l = (Folha) left, r = (Folha) right;
+            System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+            System.arraycopy(r.values, 0, l.values, l.n, r.n);
+            l.n += r.n;
+            l.next = r.next;
+        } else {
+            Interno l = (Interno) left, r = (Interno) right;
+            l.keys[l.n] = parent.keys[sep];
+            System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+            System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+            l.n += r.n + 1;
+        }
+        System.arraycopy(parent.keys, sep + 1, parent.keys, sep, parent.n - sep - 1);
+        System.arraycopy(parent.children, sep + 2, parent.children, sep + 1, parent.n - sep - 1);
+        parent.n--;
+        parent.keys[parent.n] = null;
+        parent.children[parent.n + 1] = null;
+    }
+
+    // --- interface Arvore ---
+    @Override
+    public void inserir(K chave, V valor) {
+        if (chave == null) throw new IllegalArgumentException("chave não pode ser nula");
+        No sibling = insertNode(root, chave, valor);
+        if (sibling != null) {
+            Interno newRoot = new Interno();
+            newRoot.keys[0] = promotedKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.n = 1;
+            root = newRoot;
+        }
+        promotedKey = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V buscar(K chave) {
+        if (chave == null) return null;
+        Folha leaf = findLeaf(chave);
+        int pos = lowerBound(leaf, chave);
+        if (pos < leaf.n && ((K) leaf.keys[pos]).compareTo(chave) == 0) {
+            return (V) leaf.values[pos];
+        }
+        return null;
+    }
+
+    @Override
+    public V remover(K chave) {
+        if (chave == null) return null;
+        V valor = removeNode(root, chave);
+        // raiz interna sem separadores: a árvore perde um nível
+        if (root instanceof Interno && root.n == 0) {
+            root = ((Interno) root).children[0];
+        }
+        return valor;
+    }
+
+    /**
+     * Lista os valores copiando o conteúdo de cada folha em bloco.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> listarEmOrdem() {
+        List<V> result = new ArrayList<>(size);
+        for (Folha leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            result.addAll((List<V>) Arrays.asList(leaf.values).subList(0, leaf.n));
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> acao) {
+        for (Folha leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.n; i++) {
+                acao.accept((V) leaf.values[i]);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V buscarPiso(K chave) {
+        if (chave == null) return null;
+        // lembra a subárvore imediatamente à esquerda do caminho, caso a folha não tenha resposta
+        No node = root;
+        No leftCandidate = null;
+        while (node instanceof Interno) {
+            Interno internal = (Interno) node;
+            int idx = upperBound(internal, chave);
+            if (idx > 0) leftCandidate = internal.children[idx - 1];
+            node = internal.children[idx];
+        }
+        Folha leaf = (Folha) node;
+        int pos = upperBound(leaf, chave) - 1;
+        if (pos >= 0) return (V) leaf.values[pos];
+        if (leftCandidate == null) return null;
+        while (leftCandidate instanceof Interno) {
+            leftCandidate = ((Interno) leftCandidate).children[leftCandidate.n];
+        }
+        return (V) ((Folha) leftCandidate).values[leftCandidate.n - 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V buscarTeto(K chave) {
+        if (chave == null) return null;
+        Folha leaf = findLeaf(chave);
+        int pos = lowerBound(leaf, chave);
+        if (pos < leaf.n) return (V) leaf.values[pos];
+        return (leaf.next == null) ? null : (V) leaf.next.values[0];
+    }
+
+    @Override
+    public Iterator<V> iterador(K de, K ate) {
+        Folha leaf = (de == null) ? firstLeaf() : findLeaf(de);
+        int pos = (de == null) ? 0 : lowerBound(leaf, de);
+        return new LeafIterator(leaf, pos, ate);
+    }
+
+    /**
+     * Quantidade de chaves armazenadas: O(1).
+     */
+    public int tamanho() {
+        return size;
+    }
+
+    /**
+     * Percorre as folhas encadeadas a partir de (folha, posição) até a chave 'ate' (exclusiva).
+     * Não reflete alterações feitas na árvore durante a iteração.
+     */
+    private final class LeafIterator implements Iterator<V> {
+        private Folha leaf;
+        private int pos;
+        private final K ate;
+
+        LeafIterator(Folha leaf, int pos, K ate) {
+            this.leaf = leaf;
+            this.pos = pos;
+            this.ate = ate;
+            skipExhaustedLeaves();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void skipExhaustedLeaves() {
+            while (leaf != null && pos >= leaf.n) {
+                leaf = leaf.next;
+                pos = 0;
+            }
+            if (leaf != null && ate != null && ((K) leaf.keys[pos]).compareTo(ate) >= 0) {
+                leaf = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (leaf == null) throw new NoSuchElementException();
+            V value = (V) leaf.values[pos++];
+            skipExhaustedLeaves();
+            return value;
+        }
+    }
+}
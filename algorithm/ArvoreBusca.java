@@ -1,14 +1,19 @@
 package algorithm;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * Interface para estruturas árvore indexadas por chave comparável.
  *
+ * A iteração (for-each, iterator(), iterador(de, ate)) é preguiçosa: percorre a
+ * árvore sob demanda, sem materializar a lista completa de valores.
+ *
  * @param <K> tipo da chave (Comparable)
  * @param <V> tipo do valor associado
  */
-public interface ArvoreBusca<K extends Comparable<K>, V> {
+public interface ArvoreBusca<K extends Comparable<K>, V> extends Iterable<V> {
     /**
      * Insere ou atualiza um par (chave, valor) na estrutura.
      */
@@ -19,8 +24,111 @@ public interface ArvoreBusca<K extends Comparable<K>, V> {
      */
     V buscar(K chave);
 
+    /**
+     * Remove a chave da estrutura; retorna o valor removido ou null se não encontrada.
+     */
+    V remover(K chave);
+
     /**
      * Retorna lista dos valores em ordem crescente das chaves.
      */
     List<V> listarEmOrdem();
+
+    /**
+     * Retorna o valor da maior chave menor ou igual à chave dada (floor); null se não houver.
+     */
+    V buscarPiso(K chave);
+
+    /**
+     * Retorna o valor da menor chave maior ou igual à chave dada (ceiling); null se não houver.
+     */
+    V buscarTeto(K chave);
+
+    /**
+     * Iterador preguiçoso, em ordem crescente, dos valores com chave no intervalo [de, ate).
+     * Um limite nulo significa intervalo aberto naquele lado.
+     */
+    Iterator<V> iterador(K de, K ate);
+
+    /**
+     * Insere pares (chaves.get(i), valores.get(i)) já ordenados por chave, em ordem
+     * estritamente crescente. Chaves já existentes têm o valor atualizado.
+     * A implementação padrão insere um a um; árvores que sabem montar a estrutura
+     * de baixo para cima (ex.: {@link ArvoreAVL}) o fazem em O(n).
+     * @throws IllegalArgumentException se as listas tiverem tamanhos diferentes,
+     *         alguma chave for nula ou as chaves não estiverem em ordem estritamente crescente
+     */
+    default void carregarOrdenado(List<K> chaves, List<V> valores) {
+        validarOrdenadas(chaves, valores);
+        for (int i = 0; i < chaves.size(); i++) {
+            inserir(chaves.get(i), valores.get(i));
+        }
+    }
+
+    /**
+     * Validação comum de {@link #carregarOrdenado(List, List)}: O(n).
+     */
+    static <K extends Comparable<K>> void validarOrdenadas(List<K> chaves, List<?> valores) {
+        if (chaves.size() != valores.size()) {
+            throw new IllegalArgumentException("chaves e valores devem ter o mesmo tamanho");
+        }
+        K anterior = null;
+        for (K chave : chaves) {
+            if (chave == null) {
+                throw new IllegalArgumentException("chave não pode ser nula");
+            }
+            if (anterior != null && anterior.compareTo(chave) >= 0) {
+                throw new IllegalArgumentException("chaves fora de ordem: " + anterior + " >= " + chave);
+            }
+            anterior = chave;
+        }
+    }
+
+    /**
+     * Iterador preguiçoso de todos os valores em ordem crescente das chaves.
+     */
+    @Override
+    default Iterator<V> iterator() {
+        return iterador(null, null);
+    }
+
+    /**
+     * Retorna os valores com chave no intervalo [de, ate), em ordem: O(log n + k).
+     */
+    default List<V> listarIntervalo(K de, K ate) {
+        List<V> resultado = new ArrayList<>();
+        iterador(de, ate).forEachRemaining(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * Retorna até 'limite' valores cujas chaves começam com o prefixo (ex.: autocompletar).
+     * Custa O(log n + limite), pois é uma busca de intervalo [prefixo, sucessor do prefixo).
+     */
+    static <V> List<V> listarPorPrefixo(ArvoreBusca<String, V> arvore, String prefixo, int limite) {
+        if (prefixo == null) {
+            throw new IllegalArgumentException("prefixo não pode ser nulo");
+        }
+        List<V> resultado = new ArrayList<>();
+        Iterator<V> it = arvore.iterador(prefixo, sucessorPrefixo(prefixo));
+        while (resultado.size() < limite && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Menor String maior que todas as que começam com o prefixo; null se não existir
+     * (prefixo vazio ou composto apenas por Character.MAX_VALUE).
+     */
+    static String sucessorPrefixo(String prefixo) {
+        int fim = prefixo.length();
+        while (fim > 0 && prefixo.charAt(fim - 1) == Character.MAX_VALUE) {
+            fim--;
+        }
+        if (fim == 0) {
+            return null;
+        }
+        return prefixo.substring(0, fim - 1) + (char) (prefixo.charAt(fim - 1) + 1);
+    }
 }
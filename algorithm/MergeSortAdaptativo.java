@@ -0,0 +1,197 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Implementação adaptativa e estável de Merge Sort que opera sobre List<T> usando Comparator.
+ *
+ * Diferente de {@link MergeSort}, não cria cópias da lista a cada nível de recursão:
+ * os elementos são copiados uma única vez para um array de trabalho e intercalados
+ * com um único buffer auxiliar. O array de trabalho, o buffer e a tabela de runs são
+ * reaproveitados entre chamadas: depois da primeira ordenação de uma lista do mesmo
+ * tamanho (ou menor), ordenar não aloca. Sequências já ordenadas
+ * (runs naturais) são detectadas e preservadas, e trechos curtos são ordenados por
+ * inserção binária. Reordenar uma lista quase ordenada custa, portanto, perto de O(n).
+ *
+ * Não é thread-safe: os buffers pertencem à instância.
+ * Retorna o tempo de execução em nanos (para profiling).
+ */
+public class MergeSortAdaptativo<T> implements Ordenacao<T> {
+
+    // Tamanho mínimo de um run; runs naturais menores são completados por inserção
+    static final int RUN_MINIMO = 32;
+
+    // Buffers reaproveitados entre chamadas: array de trabalho, área de intercalação e inícios dos runs
+    private Object[] dados = new Object[0];
+    private Object[] buffer = new Object[0];
+    private int[] inicios = new int[0];
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long ordenar(List<T> lista, Comparator<T> comparator) {
+        if (lista == null || comparator == null) {
+            throw new IllegalArgumentException("lista e comparator não podem ser nulos");
+        }
+        long horaInicio = System.nanoTime();
+        int n = lista.size();
+        if (n > 1) {
+            if (dados.length < n) {
+                dados = new Object[n];
+                buffer = new Object[n];
+                inicios = new int[maximoRuns(n)];
+            }
+            int i = 0;
+            for (T elemento : lista) {
+                dados[i++] = elemento;
+            }
+            ordenarFaixa(dados, 0, n, buffer, inicios, comparator);
+
+            // Escreve de volta na própria lista (in-place), sem clear/addAll
+            ListIterator<T> it = lista.listIterator();
+            for (i = 0; i < n; i++) {
+                it.next();
+                it.set((T) dados[i]);
+            }
+            // Libera as referências para não reter produtos removidos do catálogo
+            Arrays.fill(dados, 0, n, null);
+            Arrays.fill(buffer, 0, n, null);
+        }
+        long horaFim = System.nanoTime();
+        return horaFim - horaInicio;
+    }
+
+    // Posições necessárias na tabela de inícios de runs para n elementos
+    private static int maximoRuns(int n) {
+        return n / RUN_MINIMO + 2;
+    }
+
+    /**
+     * Ordena de forma estável o intervalo [inicio, fim) do array, usando aux
+     * (com pelo menos fim posições) como área de intercalação.
+     */
+    static <T> void ordenarFaixa(Object[] a, int inicio, int fim, Object[] aux, Comparator<? super T> comparator) {
+        ordenarFaixa(a, inicio, fim, aux, new int[maximoRuns(fim - inicio)], comparator);
+    }
+
+    /**
+     * Como {@link #ordenarFaixa(Object[], int, int, Object[], Comparator)}, com a tabela de
+     * inícios de runs fornecida pelo chamador (pelo menos maximoRuns(fim - inicio) posições).
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void ordenarFaixa(Object[] a, int inicio, int fim, Object[] aux, int[] inicios, Comparator<? super T> comparator) {
+        int n = fim - inicio;
+        if (n < 2) return;
+
+        // 1. Identifica os runs naturais, completando os curtos por inserção
+        int totalRuns = 0;
+        int i = inicio;
+        while (i < fim) {
+            int fimRun = encontrarRun(a, i, fim, comparator);
+            if (fimRun - i < RUN_MINIMO) {
+                int forcado = Math.min(i + RUN_MINIMO, fim);
+                insercaoBinaria(a, i, forcado, fimRun, comparator);
+                fimRun = forcado;
+            }
+            inicios[totalRuns++] = i;
+            i = fimRun;
+        }
+        inicios[totalRuns] = fim;
+
+        // 2. Intercala os runs dois a dois, alternando entre a e aux
+        Object[] origem = a;
+        Object[] destino = aux;
+        while (totalRuns > 1) {
+            int novos = 0;
+            for (int k = 0; k < totalRuns; k += 2) {
+                int lo = inicios[k];
+                if (k + 1 < totalRuns) {
+                    intercalar(origem, destino, lo, inicios[k + 1], inicios[k + 2], comparator);
+                } else {
+                    System.arraycopy(origem, lo, destino, lo, inicios[k + 1] - lo);
+                }
+                inicios[novos++] = lo;
+            }
+            inicios[novos] = fim;
+            totalRuns = novos;
+            Object[] tmp = origem;
+            origem = destino;
+            destino = tmp;
+        }
+        if (origem != a) {
+            System.arraycopy(origem, inicio, a, inicio, n);
+        }
+    }
+
+    /**
+     * Intercala os intervalos ordenados origem[lo, meio) e origem[meio, hi) em destino[lo, hi).
+     * Em empate, o elemento da esquerda vem primeiro (estabilidade).
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void intercalar(Object[] origem, Object[] destino, int lo, int meio, int hi, Comparator<? super T> comparator) {
+        // Runs já em sequência: basta copiar
+        if (comparator.compare((T) origem[meio - 1], (T) origem[meio]) <= 0) {
+            System.arraycopy(origem, lo, destino, lo, hi - lo);
+            return;
+        }
+        int i = lo, j = meio, k = lo;
+        while (i < meio && j < hi) {
+            if (comparator.compare((T) origem[i], (T) origem[j]) <= 0) {
+                destino[k++] = origem[i++];
+            } else {
+                destino[k++] = origem[j++];
+            }
+        }
+        if (i < meio) System.arraycopy(origem, i, destino, k, meio - i);
+        if (j < hi) System.arraycopy(origem, j, destino, k, hi - j);
+    }
+
+    /**
+     * Retorna o fim do run natural que começa em inicio. Runs estritamente
+     * decrescentes são invertidos (a desigualdade estrita preserva a estabilidade).
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> int encontrarRun(Object[] a, int inicio, int fim, Comparator<? super T> comparator) {
+        int j = inicio + 1;
+        if (j == fim) return fim;
+        if (comparator.compare((T) a[j], (T) a[inicio]) < 0) {
+            while (j + 1 < fim && comparator.compare((T) a[j + 1], (T) a[j]) < 0) j++;
+            inverter(a, inicio, j);
+        } else {
+            while (j + 1 < fim && comparator.compare((T) a[j + 1], (T) a[j]) >= 0) j++;
+        }
+        return j + 1;
+    }
+
+    private static void inverter(Object[] a, int lo, int hi) {
+        while (lo < hi) {
+            Object tmp = a[lo];
+            a[lo++] = a[hi];
+            a[hi--] = tmp;
+        }
+    }
+
+    /**
+     * Ordena a[lo, hi) por inserção binária, sabendo que a[lo, ordenadoAte) já está ordenado.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void insercaoBinaria(Object[] a, int lo, int hi, int ordenadoAte, Comparator<? super T> comparator) {
+        for (int i = ordenadoAte; i < hi; i++) {
+            Object pivo = a[i];
+            int esq = lo, dir = i;
+            // Busca a posição após o último elemento <= pivo (mantém estabilidade)
+            while (esq < dir) {
+                int meio = (esq + dir) >>> 1;
+                if (comparator.compare((T) pivo, (T) a[meio]) < 0) {
+                    dir = meio;
+                } else {
+                    esq = meio + 1;
+                }
+            }
+            System.arraycopy(a, esq, a, esq + 1, i - esq);
+            a[esq] = pivo;
+        }
+    }
+}
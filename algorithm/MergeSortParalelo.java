@@ -0,0 +1,220 @@
+package algorithm;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementação paralela e estável de Merge Sort baseada em ForkJoinPool.
+ *
+ * A lista é dividida recursivamente; partições abaixo do limiar são ordenadas
+ * sequencialmente com o motor de {@link MergeSortAdaptativo} e as intercalações
+ * também são feitas em paralelo. O resultado é idêntico ao de {@link MergeSort}.
+ *
+ * Retorna o tempo de execução em nanos (para profiling).
+ *
+ * Um pool dedicado, criado pelo construtor com paralelismo, é encerrado por {@link #close()};
+ * pools recebidos de fora (inclusive o comum) continuam com quem os criou.
+ */
+public class MergeSortParalelo<T> implements Ordenacao<T>, AutoCloseable {
+
+    // Tamanho abaixo do qual a ordenação/intercalação é feita sequencialmente
+    public static final int LIMIAR_PADRAO = 8192;
+
+    private final ForkJoinPool pool;
+    private final int limiar;
+
+    // Verdadeiro se o pool foi criado por esta instância (e deve ser encerrado por ela)
+    private final boolean poolProprio;
+
+    /**
+     * Cria o ordenador usando o pool comum da JVM.
+     */
+    public MergeSortParalelo() {
+        this(ForkJoinPool.commonPool(), LIMIAR_PADRAO);
+    }
+
+    /**
+     * Cria o ordenador com um pool dedicado.
+     * @param paralelismo número de threads de trabalho
+     */
+    public MergeSortParalelo(int paralelismo) {
+        this(new ForkJoinPool(paralelismo), LIMIAR_PADRAO, true);
+    }
+
+    /**
+     * @param pool pool onde as tarefas serão executadas
+     * @param limiar tamanho mínimo de partição para dividir o trabalho
+     */
+    public MergeSortParalelo(ForkJoinPool pool, int limiar) {
+        this(pool, limiar, false);
+    }
+
+    private MergeSortParalelo(ForkJoinPool pool, int limiar, boolean poolProprio) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool não pode ser nulo");
+        }
+        if (limiar < 2) {
+            throw new IllegalArgumentException("limiar deve ser pelo menos 2");
+        }
+        this.pool = pool;
+        this.limiar = limiar;
+        this.poolProprio = poolProprio;
+    }
+
+    /**
+     * Encerra o pool dedicado, se esta instância o criou; pools externos não são afetados.
+     */
+    @Override
+    public void close() {
+        if (poolProprio) {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long ordenar(List<T> lista, Comparator<T> comparator) {
+        if (lista == null || comparator == null) {
+            throw new IllegalArgumentException("lista e comparator não podem ser nulos");
+        }
+        long horaInicio = System.nanoTime();
+        int n = lista.size();
+        if (n > 1) {
+            Object[] dados = lista.toArray();
+            Object[] aux = new Object[n];
+            if (n <= limiar || pool.getParallelism() == 1) {
+                MergeSortAdaptativo.ordenarFaixa(dados, 0, n, aux, comparator);
+            } else {
+                pool.invoke(new Ordena<>(dados, aux, 0, n, false, comparator, limiar));
+            }
+
+            ListIterator<T> it = lista.listIterator();
+            for (Object elemento : dados) {
+                it.next();
+                it.set((T) elemento);
+            }
+        }
+        long horaFim = System.nanoTime();
+        return horaFim - horaInicio;
+    }
+
+    /**
+     * Ordena dados[lo, hi). Se paraAux, o resultado fica em aux[lo, hi); senão, em dados[lo, hi).
+     * As metades são ordenadas no array oposto ao destino, evitando cópias de volta.
+     */
+    private static final class Ordena<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] dados, aux;
+        private final int lo, hi;
+        private final boolean paraAux;
+        private final Comparator<? super T> comparator;
+        private final int limiar;
+
+        Ordena(Object[] dados, Object[] aux, int lo, int hi, boolean paraAux, Comparator<? super T> comparator, int limiar) {
+            this.dados = dados;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.paraAux = paraAux;
+            this.comparator = comparator;
+            this.limiar = limiar;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= limiar) {
+                MergeSortAdaptativo.ordenarFaixa(dados, lo, hi, aux, comparator);
+                if (paraAux) {
+                    System.arraycopy(dados, lo, aux, lo, hi - lo);
+                }
+                return;
+            }
+            int meio = (lo + hi) >>> 1;
+            invokeAll(new Ordena<>(dados, aux, lo, meio, !paraAux, comparator, limiar),
+                      new Ordena<>(dados, aux, meio, hi, !paraAux, comparator, limiar));
+            Object[] origem = paraAux ? dados : aux;
+            Object[] destino = paraAux ? aux : dados;
+            new Intercala<>(origem, destino, lo, meio, meio, hi, lo, comparator, limiar).compute();
+        }
+    }
+
+    /**
+     * Intercala origem[lo1, hi1) e origem[lo2, hi2) em destino a partir de saida.
+     * Divide pelo elemento central da maior metade, buscando na outra o ponto de corte
+     * que preserva a estabilidade (empates da esquerda sempre antes dos da direita).
+     */
+    private static final class Intercala<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] origem, destino;
+        private final int lo1, hi1, lo2, hi2, saida;
+        private final Comparator<? super T> comparator;
+        private final int limiar;
+
+        Intercala(Object[] origem, Object[] destino, int lo1, int hi1, int lo2, int hi2, int saida,
+                  Comparator<? super T> comparator, int limiar) {
+            this.origem = origem;
+            this.destino = destino;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.saida = saida;
+            this.comparator = comparator;
+            this.limiar = limiar;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            int tam1 = hi1 - lo1, tam2 = hi2 - lo2;
+            if (tam1 + tam2 <= limiar || tam1 == 0 || tam2 == 0) {
+                intercalarSequencial();
+                return;
+            }
+            int m1, m2;
+            if (tam1 >= tam2) {
+                m1 = (lo1 + hi1) >>> 1;
+                T pivo = (T) origem[m1];
+                // primeiro da direita >= pivo
+                int a = lo2, b = hi2;
+                while (a < b) {
+                    int m = (a + b) >>> 1;
+                    if (comparator.compare((T) origem[m], pivo) < 0) a = m + 1; else b = m;
+                }
+                m2 = a;
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                T pivo = (T) origem[m2];
+                // primeiro da esquerda > pivo
+                int a = lo1, b = hi1;
+                while (a < b) {
+                    int m = (a + b) >>> 1;
+                    if (comparator.compare((T) origem[m], pivo) <= 0) a = m + 1; else b = m;
+                }
+                m1 = a;
+            }
+            int saidaDireita = saida + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new Intercala<>(origem, destino, lo1, m1, lo2, m2, saida, comparator, limiar),
+                      new Intercala<>(origem, destino, m1, hi1, m2, hi2, saidaDireita, comparator, limiar));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void intercalarSequencial() {
+            int i = lo1, j = lo2, k = saida;
+            while (i < hi1 && j < hi2) {
+                if (comparator.compare((T) origem[i], (T) origem[j]) <= 0) {
+                    destino[k++] = origem[i++];
+                } else {
+                    destino[k++] = origem[j++];
+                }
+            }
+            if (i < hi1) System.arraycopy(origem, i, destino, k, hi1 - i);
+            if (j < hi2) System.arraycopy(origem, j, destino, k, hi2 - j);
+        }
+    }
+}
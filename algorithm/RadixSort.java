@@ -0,0 +1,176 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ordenação estável por chaves primitivas (LSD Radix Sort), complementar a {@link Ordenacao}.
+ *
+ * Em vez de chamar um Comparator a cada comparação, extrai a chave de cada elemento
+ * uma única vez para um array primitivo (long[] para double, int[] para int), ordena
+ * esse array junto com um array de índices e permuta a lista uma única vez no final.
+ * A ordem produzida é a mesma de Comparator.comparingDouble / comparingInt.
+ *
+ * Retorna o tempo de execução em nanos (para profiling).
+ */
+public class RadixSort<T> {
+
+    private static final int BITS_DIGITO = 8;
+    private static final int BASE = 1 << BITS_DIGITO;
+    private static final int MASCARA = BASE - 1;
+
+    /**
+     * Ordena a lista pela chave double extraída (ex.: Produto::getPreco).
+     * @return O tempo de execução em nanosegundos.
+     */
+    public long ordenarPorDouble(List<T> lista, ToDoubleFunction<? super T> extratorChave) {
+        if (lista == null || extratorChave == null) {
+            throw new IllegalArgumentException("lista e extrator de chave não podem ser nulos");
+        }
+        long horaInicio = System.nanoTime();
+        int n = lista.size();
+        if (n > 1) {
+            Object[] dados = lista.toArray();
+            long[] chaves = new long[n];
+            for (int i = 0; i < n; i++) {
+                @SuppressWarnings("unchecked")
+                T elemento = (T) dados[i];
+                chaves[i] = bitsOrdenaveis(extratorChave.applyAsDouble(elemento));
+            }
+            int[] indices = ordenarIndices(chaves);
+            permutar(lista, dados, indices);
+        }
+        long horaFim = System.nanoTime();
+        return horaFim - horaInicio;
+    }
+
+    /**
+     * Ordena a lista pela chave int extraída (ex.: Produto::getEstoque).
+     * @return O tempo de execução em nanosegundos.
+     */
+    public long ordenarPorInt(List<T> lista, ToIntFunction<? super T> extratorChave) {
+        if (lista == null || extratorChave == null) {
+            throw new IllegalArgumentException("lista e extrator de chave não podem ser nulos");
+        }
+        long horaInicio = System.nanoTime();
+        int n = lista.size();
+        if (n > 1) {
+            Object[] dados = lista.toArray();
+            int[] chaves = new int[n];
+            for (int i = 0; i < n; i++) {
+                @SuppressWarnings("unchecked")
+                T elemento = (T) dados[i];
+                // inverte o bit de sinal: a ordem sem sinal passa a ser a ordem com sinal
+                chaves[i] = extratorChave.applyAsInt(elemento) ^ Integer.MIN_VALUE;
+            }
+            int[] indices = ordenarIndices(chaves);
+            permutar(lista, dados, indices);
+        }
+        long horaFim = System.nanoTime();
+        return horaFim - horaInicio;
+    }
+
+    /**
+     * Converte um double em bits cuja ordem sem sinal coincide com Double.compare
+     * (negativos antes de -0.0, -0.0 antes de 0.0 e NaN por último).
+     */
+    static long bitsOrdenaveis(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * LSD Radix Sort sem sinal sobre chaves de 64 bits.
+     * Retorna os índices originais na ordem estável das chaves.
+     */
+    private static int[] ordenarIndices(long[] chaves) {
+        int n = chaves.length;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        long[] chavesAux = new long[n];
+        int[] indicesAux = new int[n];
+        int[] contagem = new int[BASE];
+
+        for (int deslocamento = 0; deslocamento < Long.SIZE; deslocamento += BITS_DIGITO) {
+            Arrays.fill(contagem, 0);
+            for (int i = 0; i < n; i++) {
+                contagem[(int) (chaves[i] >>> deslocamento) & MASCARA]++;
+            }
+            // Todas as chaves têm o mesmo dígito nesta posição: passada desnecessária
+            if (contagem[(int) (chaves[0] >>> deslocamento) & MASCARA] == n) {
+                continue;
+            }
+            int soma = 0;
+            for (int d = 0; d < BASE; d++) {
+                int c = contagem[d];
+                contagem[d] = soma;
+                soma += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = contagem[(int) (chaves[i] >>> deslocamento) & MASCARA]++;
+                chavesAux[pos] = chaves[i];
+                indicesAux[pos] = indices[i];
+            }
+            long[] tmpChaves = chaves;
+            chaves = chavesAux;
+            chavesAux = tmpChaves;
+            int[] tmpIndices = indices;
+            indices = indicesAux;
+            indicesAux = tmpIndices;
+        }
+        return indices;
+    }
+
+    /**
+     * LSD Radix Sort sem sinal sobre chaves de 32 bits.
+     * Retorna os índices originais na ordem estável das chaves.
+     */
+    private static int[] ordenarIndices(int[] chaves) {
+        int n = chaves.length;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        int[] chavesAux = new int[n];
+        int[] indicesAux = new int[n];
+        int[] contagem = new int[BASE];
+
+        for (int deslocamento = 0; deslocamento < Integer.SIZE; deslocamento += BITS_DIGITO) {
+            Arrays.fill(contagem, 0);
+            for (int i = 0; i < n; i++) {
+                contagem[(chaves[i] >>> deslocamento) & MASCARA]++;
+            }
+            if (contagem[(chaves[0] >>> deslocamento) & MASCARA] == n) {
+                continue;
+            }
+            int soma = 0;
+            for (int d = 0; d < BASE; d++) {
+                int c = contagem[d];
+                contagem[d] = soma;
+                soma += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = contagem[(chaves[i] >>> deslocamento) & MASCARA]++;
+                chavesAux[pos] = chaves[i];
+                indicesAux[pos] = indices[i];
+            }
+            int[] tmpChaves = chaves;
+            chaves = chavesAux;
+            chavesAux = tmpChaves;
+            int[] tmpIndices = indices;
+            indices = indicesAux;
+            indicesAux = tmpIndices;
+        }
+        return indices;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void permutar(List<T> lista, Object[] dados, int[] indices) {
+        ListIterator<T> it = lista.listIterator();
+        for (int indice : indices) {
+            it.next();
+            it.set((T) dados[indice]);
+        }
+    }
+}
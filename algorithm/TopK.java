@@ -0,0 +1,314 @@
+package algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * Seleção dos k menores (ou maiores) elementos sem ordenar a coleção inteira,
+ * ex.: "10 produtos mais baratos".
+ *
+ * Os elementos são percorridos uma única vez e mantidos em um heap limitado a k
+ * (o pior dos k no topo): O(n log k) de tempo e O(k) de memória, em vez do
+ * O(n log n) e da cópia de n elementos de uma ordenação completa seguida de corte.
+ * Listas de acesso aleatório grandes são divididas em partições processadas em
+ * paralelo (ForkJoinPool), cujos k melhores são intercalados no final.
+ *
+ * O resultado é estável: igual aos k primeiros de uma ordenação estável
+ * (empates ficam na ordem de percurso).
+ *
+ * Um pool dedicado, criado pelo construtor com paralelismo, é encerrado por {@link #close()};
+ * pools recebidos de fora (inclusive o comum) continuam com quem os criou.
+ *
+ * @param <T> tipo de elementos
+ */
+public class TopK<T> implements AutoCloseable {
+
+    // Tamanho abaixo do qual a partição é percorrida sequencialmente
+    public static final int LIMIAR_PADRAO = 16384;
+
+    private final ForkJoinPool pool;
+    private final int limiar;
+
+    // Verdadeiro se o pool foi criado por esta instância (e deve ser encerrado por ela)
+    private final boolean poolProprio;
+
+    /**
+     * Cria o seletor usando o pool comum da JVM.
+     */
+    public TopK() {
+        this(ForkJoinPool.commonPool(), LIMIAR_PADRAO);
+    }
+
+    /**
+     * Cria o seletor com um pool dedicado.
+     * @param paralelismo número de threads de trabalho
+     */
+    public TopK(int paralelismo) {
+        this(new ForkJoinPool(paralelismo), LIMIAR_PADRAO, true);
+    }
+
+    /**
+     * @param pool pool onde as tarefas serão executadas
+     * @param limiar tamanho mínimo de partição para dividir o trabalho
+     */
+    public TopK(ForkJoinPool pool, int limiar) {
+        this(pool, limiar, false);
+    }
+
+    private TopK(ForkJoinPool pool, int limiar, boolean poolProprio) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool não pode ser nulo");
+        }
+        if (limiar < 2) {
+            throw new IllegalArgumentException("limiar deve ser pelo menos 2");
+        }
+        this.pool = pool;
+        this.limiar = limiar;
+        this.poolProprio = poolProprio;
+    }
+
+    /**
+     * Encerra o pool dedicado, se esta instância o criou; pools externos não são afetados.
+     */
+    @Override
+    public void close() {
+        if (poolProprio) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Os k menores elementos segundo o comparator, em ordem crescente.
+     * Não altera nem copia a coleção de origem.
+     * @param itens elementos a percorrer (listas de acesso aleatório são divididas em paralelo)
+     * @param k quantidade máxima de elementos no resultado
+     * @param comparator critério de comparação
+     * @return nova lista com até k elementos
+     */
+    public List<T> menores(Iterable<? extends T> itens, int k, Comparator<? super T> comparator) {
+        if (itens == null || comparator == null) {
+            throw new IllegalArgumentException("itens e comparator não podem ser nulos");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("k não pode ser negativo");
+        }
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        if (itens instanceof List && itens instanceof RandomAccess) {
+            List<? extends T> lista = (List<? extends T>) itens;
+            if (lista.size() > limiar && pool.getParallelism() > 1) {
+                return pool.invoke(new Seleciona<T>(lista, 0, lista.size(), k, comparator, limiar)).ordenados();
+            }
+            Selecao<T> selecao = new Selecao<>(k, comparator);
+            for (int i = 0; i < lista.size(); i++) {
+                selecao.adicionar(lista.get(i));
+            }
+            return selecao.ordenados();
+        }
+        Selecao<T> selecao = new Selecao<>(k, comparator);
+        for (T item : itens) {
+            selecao.adicionar(item);
+        }
+        return selecao.ordenados();
+    }
+
+    /**
+     * Os k maiores elementos segundo o comparator, em ordem decrescente.
+     */
+    public List<T> maiores(Iterable<? extends T> itens, int k, Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("itens e comparator não podem ser nulos");
+        }
+        return menores(itens, k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Coletor dos k menores elementos de um Stream (inclusive paralelo), em ordem crescente.
+     */
+    public static <T> Collector<T, ?, List<T>> coletarMenores(int k, Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("comparator não pode ser nulo");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("k não pode ser negativo");
+        }
+        return Collector.of(() -> new Selecao<T>(k, comparator), Selecao::adicionar,
+                Selecao::combinar, Selecao::ordenados);
+    }
+
+    /**
+     * Coletor dos k maiores elementos de um Stream, em ordem decrescente.
+     */
+    public static <T> Collector<T, ?, List<T>> coletarMaiores(int k, Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("comparator não pode ser nulo");
+        }
+        return coletarMenores(k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Heap máximo limitado a k elementos: o topo é o pior dos selecionados, o único
+     * que pode ser substituído. Cada elemento guarda a sua ordem de chegada, usada
+     * como desempate para manter a seleção estável.
+     */
+    private static final class Selecao<T> {
+        private final int k;
+        private final Comparator<? super T> comparator;
+        private Object[] elementos;
+        private long[] ordens;
+        private int tamanho;
+        // elementos já oferecidos (ordem de chegada do próximo)
+        private long vistos;
+
+        Selecao(int k, Comparator<? super T> comparator) {
+            this.k = k;
+            this.comparator = comparator;
+            int inicial = Math.min(k, 64);
+            this.elementos = new Object[inicial];
+            this.ordens = new long[inicial];
+        }
+
+        void adicionar(T item) {
+            adicionar(item, vistos++);
+        }
+
+        void adicionar(T item, long ordem) {
+            if (tamanho < k) {
+                if (tamanho == elementos.length) {
+                    int novo = (int) Math.min(k, 2L * elementos.length);
+                    elementos = Arrays.copyOf(elementos, novo);
+                    ordens = Arrays.copyOf(ordens, novo);
+                }
+                subir(tamanho++, item, ordem);
+            } else if (k > 0 && pior(elementos[0], ordens[0], item, ordem)) {
+                descer(0, item, ordem);
+            }
+        }
+
+        // a está depois de b no resultado (pior)
+        @SuppressWarnings("unchecked")
+        private boolean pior(Object a, long ordemA, Object b, long ordemB) {
+            int c = comparator.compare((T) a, (T) b);
+            return c > 0 || (c == 0 && ordemA > ordemB);
+        }
+
+        private void subir(int i, Object item, long ordem) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!pior(item, ordem, elementos[pai], ordens[pai])) {
+                    break;
+                }
+                elementos[i] = elementos[pai];
+                ordens[i] = ordens[pai];
+                i = pai;
+            }
+            elementos[i] = item;
+            ordens[i] = ordem;
+        }
+
+        private void descer(int i, Object item, long ordem) {
+            int metade = tamanho >>> 1;
+            while (i < metade) {
+                int filho = 2 * i + 1;
+                int direito = filho + 1;
+                if (direito < tamanho && pior(elementos[direito], ordens[direito], elementos[filho], ordens[filho])) {
+                    filho = direito;
+                }
+                if (!pior(elementos[filho], ordens[filho], item, ordem)) {
+                    break;
+                }
+                elementos[i] = elementos[filho];
+                ordens[i] = ordens[filho];
+                i = filho;
+            }
+            elementos[i] = item;
+            ordens[i] = ordem;
+        }
+
+        @SuppressWarnings("unchecked")
+        T elemento(int i) {
+            return (T) elementos[i];
+        }
+
+        /**
+         * Junta a seleção de elementos que chegaram depois dos desta (partição à direita).
+         */
+        Selecao<T> combinar(Selecao<T> direita) {
+            for (int i = 0; i < direita.tamanho; i++) {
+                adicionar(direita.elemento(i), vistos + direita.ordens[i]);
+            }
+            vistos += direita.vistos;
+            return this;
+        }
+
+        /**
+         * Os selecionados do melhor para o pior; esvazia o heap.
+         */
+        @SuppressWarnings("unchecked")
+        List<T> ordenados() {
+            Object[] saida = new Object[tamanho];
+            for (int i = tamanho - 1; i >= 0; i--) {
+                // retira o topo (pior) e reposiciona o último
+                saida[i] = elementos[0];
+                int ultimo = --tamanho;
+                if (ultimo > 0) {
+                    descer(0, elementos[ultimo], ordens[ultimo]);
+                }
+                elementos[ultimo] = null;
+            }
+            return new ArrayList<>((List<T>) Arrays.asList(saida));
+        }
+    }
+
+    /**
+     * Seleciona os k melhores de lista[lo, hi), dividindo a faixa enquanto for maior que o limiar.
+     * A ordem de chegada é a posição na lista, então a junção das metades preserva a estabilidade.
+     */
+    private static final class Seleciona<T> extends RecursiveTask<Selecao<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends T> lista;
+        private final int lo, hi, k;
+        private final Comparator<? super T> comparator;
+        private final int limiar;
+
+        Seleciona(List<? extends T> lista, int lo, int hi, int k, Comparator<? super T> comparator, int limiar) {
+            this.lista = lista;
+            this.lo = lo;
+            this.hi = hi;
+            this.k = k;
+            this.comparator = comparator;
+            this.limiar = limiar;
+        }
+
+        @Override
+        protected Selecao<T> compute() {
+            if (hi - lo <= limiar) {
+                Selecao<T> selecao = new Selecao<>(k, comparator);
+                for (int i = lo; i < hi; i++) {
+                    selecao.adicionar(lista.get(i), i);
+                }
+                return selecao;
+            }
+            int meio = (lo + hi) >>> 1;
+            Seleciona<T> esquerda = new Seleciona<>(lista, lo, meio, k, comparator, limiar);
+            Seleciona<T> direita = new Seleciona<>(lista, meio, hi, k, comparator, limiar);
+            esquerda.fork();
+            Selecao<T> resultadoDireita = direita.compute();
+            Selecao<T> resultado = esquerda.join();
+            // as ordens já são posições absolutas na lista
+            for (int i = 0; i < resultadoDireita.tamanho; i++) {
+                resultado.adicionar(resultadoDireita.elemento(i), resultadoDireita.ordens[i]);
+            }
+            return resultado;
+        }
+    }
+}
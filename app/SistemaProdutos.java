@@ -2,19 +2,40 @@ package app;
 
 import algorithm.ArvoreAVL;
 import algorithm.ArvoreBusca;
-import algorithm.MergeSort;
+import algorithm.MergeSortParalelo;
 import algorithm.Ordenacao;
+import algorithm.RadixSort;
+import algorithm.TopK;
 import exception.ExcecaoNegocio;
+import index.AgregadosCatalogo;
+import index.BitmapCompacto;
+import index.Consulta;
+import index.GerenciadorIndices;
+import index.IndiceBitmap;
+import index.IndiceTexto;
+import index.PlanejadorConsultas;
+import metrica.ArvoreMedida;
+import metrica.OrdenacaoMedida;
+import metrica.RegistroMetricas;
+import metrica.RepositorioMedido;
+import model.ConstrutorProduto;
 import model.InfoProd;
 import model.Produto;
 import model.ProdutoAlimenticio;
 import model.ProdutoArtesanal;
+import model.RelatorioValidacao;
+import repository.IndiceOrdenado;
+import repository.RepositorioCache;
 import repository.RepositorioHash;
+import repository.RepositorioIndexado;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Classe principal do Sistema de Gerenciamento de Produtos Naturais.
@@ -24,13 +45,57 @@ import java.util.concurrent.TimeUnit;
 public class SistemaProdutos {
 
     // Repositório de produtos, utiliza HashMap para indexação por ID.
-    private final RepositorioHash<Produto> repositorioProdutos = new RepositorioHash<>(Produto::getId);
+    // A fachada indexada mantém os índices consistentes em cadastros, substituições e remoções.
+    private final RepositorioIndexado<Produto> repositorioProdutos =
+            new RepositorioIndexado<>(new RepositorioHash<>(Produto::getId), Produto::getId);
 
     // Índice adicional utilizando Árvore AVL (binária balanceada) para indexação rápida e ordenada por nome.
-    private final ArvoreBusca<String, Produto> indicePorNome = new ArvoreAVL<>();
+    // Para catálogos grandes, ArvoreBMais (nós largos, folhas encadeadas) pode substituí-la diretamente.
+    // Cada nome guarda o grupo de produtos com esse nome, então nomes repetidos não se sobrepõem.
+    private final ArvoreBusca<String, Set<Produto>> arvorePorNome = new ArvoreAVL<>();
+    private final IndiceOrdenado<String, Produto> indicePorNome = new IndiceOrdenado<>(arvorePorNome, Produto::getNome);
+
+    // Índices secundários dos atributos anotados com @Indexado (categoria, produtor, preço, estoque).
+    private final GerenciadorIndices<Produto> indicesSecundarios = new GerenciadorIndices<>(Produto.class);
+
+    // Índices bitmap para atributos de baixa cardinalidade; filtros combinados viram AND/OR/ANDNOT.
+    private final IndiceBitmap<Produto> indicesBitmap = new IndiceBitmap<Produto>(Produto::getId)
+            .adicionarAtributo("categoria", Produto::getCategoria)
+            .adicionarAtributo("produtorLocal", Produto::getProdutorLocal)
+            .adicionarAtributo("semEstoque", produto -> produto.getEstoque() == 0);
+
+    // Busca textual em nome e produtor, sem diferenciar acentos e maiúsculas (trie + trigramas).
+    private final IndiceTexto<Produto> indiceTexto = new IndiceTexto<Produto>(Produto::getId)
+            .adicionarCampo(Produto::getNome)
+            .adicionarCampo(Produto::getProdutorLocal);
+
+    // Totais do painel (quantidade, estoque, valor, faixa de preço) por categoria e produtor,
+    // atualizados a cada escrita em vez de recalculados sobre listarTodos().
+    private final AgregadosCatalogo agregados = new AgregadosCatalogo();
+
+    // Consultas declarativas: o planejador escolhe o índice mais barato para cada uma.
+    private final PlanejadorConsultas planejador = new PlanejadorConsultas(repositorioProdutos)
+            .comIndiceNome(indicePorNome)
+            .comIndicesSecundarios(indicesSecundarios)
+            .comIndiceBitmap(indicesBitmap);
+
+    public SistemaProdutos() {
+        repositorioProdutos.adicionarIndice(indicePorNome);
+        repositorioProdutos.adicionarIndice(indicesSecundarios);
+        repositorioProdutos.adicionarIndice(indicesBitmap);
+        repositorioProdutos.adicionarIndice(indiceTexto);
+        repositorioProdutos.adicionarIndice(agregados);
+    }
+
+    // Instância do algorittmo de ordenação. Aqui usamos o MergeSort paralelo (Fork/Join),
+    // que recai no MergeSort adaptativo sequencial para listas pequenas.
+    private final Ordenacao<Produto> ordenacao = new MergeSortParalelo<>();
+
+    // Ordenação por chaves primitivas (preço, estoque) sem Comparator.
+    private final RadixSort<Produto> ordenacaoPorChave = new RadixSort<>();
 
-    // Instância do algorittmo de ordenação. Aqui usamos o MergeSort.
-    private final Ordenacao<Produto> ordenacao = new MergeSort<>();
+    // Seleção dos k primeiros (heap limitado) quando só o início da ordenação interessa.
+    private final TopK<Produto> topK = new TopK<>();
 
     /**
      * Método main: ponto de entrada do sistema.
@@ -55,15 +120,32 @@ public class SistemaProdutos {
 
         // 5. Demonstra as ordenações usando MergeSort, com análise de desempenho.
         sistema.demonstrarOrdenacaoEProfiling();
+
+        // 6. Demonstra consultas pelos índices secundários (@Indexado), sem varrer o catálogo.
+        sistema.demonstrarIndicesSecundarios();
+
+        // 7. Demonstra a busca textual (sem acentos, por trecho e autocompletar).
+        sistema.demonstrarBuscaTextual();
+
+        // 8. Demonstra consultas declarativas e o plano escolhido para cada uma.
+        sistema.demonstrarConsultas();
+
+        // 9. Demonstra os agregados do painel, mantidos a cada escrita.
+        sistema.demonstrarAgregados();
+
+        // 10. Demonstra o cache de leitura (W-TinyLFU) à frente do repositório.
+        sistema.demonstrarCache();
+
+        // 11. Demonstra as métricas de latência (percentis por operação).
+        sistema.demonstrarMetricas();
     }
 
     /**
-     * Cadastra um produto no repositório principal e também o insere no índice por nome (AVL).
+     * Cadastra um produto no repositório principal; a fachada também o insere no índice por nome (AVL).
      * @param produto Produto a ser cadastrado
      */
     private void cadastrarProduto(Produto produto) {
         repositorioProdutos.cadastrar(produto);
-        indicePorNome.inserir(produto.getNome(), produto);
     }
 
     /**
@@ -118,6 +200,15 @@ public class SistemaProdutos {
         } catch (ExcecaoNegocio e) {
             System.err.println("ERRO ESPERADO (Estoque inválido): " + e.getMessage());
         }
+
+        // Validação sem exceções: todas as violações do registro vão para um relatório reutilizável
+        RelatorioValidacao relatorio = new RelatorioValidacao();
+        Produto invalido = new ConstrutorProduto()
+                .artesanal("Argila").id("X003").nome(" ").preco(0).categoria("Teste").estoque(-5).produtorLocal("Local")
+                .tentarConstruir(relatorio);
+        System.out.println("\n[VALIDAÇÃO SEM EXCEÇÕES (ConstrutorProduto)] Produto criado: " + (invalido != null)
+                + ", violações: " + relatorio.quantidade());
+        relatorio.getViolacoes().forEach(violacao -> System.out.println(" - " + violacao));
     }
 
     /**
@@ -157,7 +248,7 @@ public class SistemaProdutos {
     /**
      * Realiza e demonstra operações básicas de CRUD:
      * - Consulta de um produto pelo ID
-     * - Listagem de todos os produtos
+     * - Listagem de todos os produtos (Stream, sem cópia) e paginada por ID (keyset)
      * - Remoção de produto
      * - Nova listagem para conferir a alteração
      */
@@ -170,44 +261,67 @@ public class SistemaProdutos {
         Produto produtoBuscado = repositorioProdutos.buscar("C003");
         System.out.println("\n[CONSULTA] ID C003: " + (produtoBuscado != null ? produtoBuscado.getNome() : "Não encontrado"));
 
-        // Listagem de todos os produtos (desordenados)
+        // Listagem de todos os produtos (desordenados), percorrendo o repositório sem copiá-lo
         System.out.println("\n[LISTAGEM DE TODOS (HashMap)]: ");
-        repositorioProdutos.listarTodos().forEach(System.out::println);
+        repositorioProdutos.stream().forEach(System.out::println);
+
+        // Paginação por ID (keyset): cada página continua após o último ID da anterior
+        System.out.println("\n[LISTAGEM PAGINADA POR ID (2 por página)]:");
+        String ultimoId = null;
+        int numeroPagina = 1;
+        for (List<Produto> pagina = repositorioProdutos.paginar(null, 2); !pagina.isEmpty();
+             pagina = repositorioProdutos.paginar(ultimoId, 2)) {
+            ultimoId = pagina.get(pagina.size() - 1).getId();
+            System.out.println(" Página " + numeroPagina++ + ":");
+            pagina.forEach(produto -> System.out.println("  - " + produto.getId() + " " + produto.getNome()));
+        }
 
-        // Remoção de um produto específico
+        // Remoção de um produto específico (também sai do índice por nome)
         repositorioProdutos.remover("A004");
         System.out.println("\n[REMOÇÃO] Produto de ID A004 removido.");
 
         // Listagem após remoção para conferência
         System.out.println("\n[LISTAGEM APÓS REMOÇÃO]:");
-        repositorioProdutos.listarTodos().forEach(System.out::println);
+        repositorioProdutos.stream().forEach(System.out::println);
     }
 
     /**
      * Demonstra as operações ligadas à árvore AVL:
      * - Busca de produto pelo nome
      * - Listagem ordenada (em ordem) dos produtos
+     * - Busca por prefixo e por intervalo de nomes
      */
     private void demonstrarArvoreAvl() {
         System.out.println("\n\n##########################################################");
         System.out.println("### 4. DEMONSTRAÇÃO DA ÁRVORE AVL (ÍNDICE POR NOME)");
         System.out.println("##########################################################");
 
-        // Busca do produto pelo nome na árvore AVL (ordenada)
-        Produto produtoEncontrado = indicePorNome.buscar("Mel Orgânico");
-        System.out.println("\n[BUSCA AVL] Nome 'Mel Orgânico': " + (produtoEncontrado != null ? produtoEncontrado.getId() : "Não encontrado"));
+        // Busca dos produtos pelo nome na árvore AVL (ordenada)
+        List<Produto> produtosEncontrados = indicePorNome.buscar("Mel Orgânico");
+        System.out.println("\n[BUSCA AVL] Nome 'Mel Orgânico': " + (!produtosEncontrados.isEmpty()
+                ? produtosEncontrados.stream().map(Produto::getId).collect(Collectors.joining(", ")) : "Não encontrado"));
 
         // Listagem em ordem dos produtos (in-order traversal)
         System.out.println("\n[IMPRESSÃO EM ORDEM (Ordenado por nome - AVL)]: ");
         List<Produto> produtosOrdenados = indicePorNome.listarEmOrdem();
         produtosOrdenados.forEach(produto -> System.out.println(" - " + produto.getNome() + " (ID: " + produto.getId() + ")"));
+
+        // Busca por prefixo (autocompletar) e por intervalo [de, ate), sem percorrer a árvore inteira
+        System.out.println("\n[BUSCA POR PREFIXO 'Ca' (AVL)]: ");
+        IndiceOrdenado.listarPorPrefixo(indicePorNome, "Ca", 10)
+                .forEach(produto -> System.out.println(" - " + produto.getNome()));
+
+        System.out.println("\n[INTERVALO DE NOMES ['M', 'T') (AVL)]: ");
+        indicePorNome.listarIntervalo("M", "T")
+                .forEach(produto -> System.out.println(" - " + produto.getNome()));
     }
 
     /**
      * Demonstra ordenações usando MergeSort e imprime o tempo gasto em cada estratégia de comparação:
      * - Por nome do produto
-     * - Por preço do produto
+     * - Por preço do produto (RadixSort sobre a chave primitiva)
      * - Por categoria do produto
+     * - Apenas os primeiros por preço e por estoque (TopK, sem ordenação completa)
      * Também compara os tempos e destaca a eficiência da travessia in-order da AVL.
      */
     private void demonstrarOrdenacaoEProfiling() {
@@ -215,6 +329,7 @@ public class SistemaProdutos {
         System.out.println("### 5. DEMONSTRAÇÃO DE ORDENAÇÃO E PROFILING (MergeSort)");
         System.out.println("##########################################################");
 
+        // Uma única cópia, ordenada no lugar por cada estratégia
         List<Produto> listaProdutos = repositorioProdutos.listarTodos();
 
         // Ordenação por nome (alfabética)
@@ -227,19 +342,16 @@ public class SistemaProdutos {
         long tempoMsNome = TimeUnit.NANOSECONDS.toMillis(tempoNome);
         System.out.println("\n[TEMPO DE ORDENAÇÃO POR NOME] " + tempoMsNome + " ms.");
 
-        // Ordenação por preço (crescente)
-        listaProdutos = repositorioProdutos.listarTodos();
-        Comparator<Produto> comparadorPorPreco = Comparator.comparingDouble(Produto::getPreco);
-        long tempoPreco = ordenacao.ordenar(listaProdutos, comparadorPorPreco);
+        // Ordenação por preço (crescente), usando a chave primitiva double
+        long tempoPreco = ordenacaoPorChave.ordenarPorDouble(listaProdutos, Produto::getPreco);
 
-        System.out.println("\n[ORDENAÇÃO POR PREÇO (MergeSort)]: ");
+        System.out.println("\n[ORDENAÇÃO POR PREÇO (RadixSort)]: ");
         listaProdutos.forEach(produto -> System.out.println(" - R$" + String.format("%.2f", produto.getPreco()) + " - " + produto.getNome()));
 
         long tempoMsPreco = TimeUnit.NANOSECONDS.toMillis(tempoPreco);
         System.out.println("\n[TEMPO DE ORDENAÇÃO POR PREÇO] " + tempoMsPreco + " ms.");
 
-        // Ordenação por categoria (alfabética)
-        listaProdutos = repositorioProdutos.listarTodos();
+        // Ordenação por categoria (alfabética); a ordenação é estável, então dentro da categoria vale o preço
         Comparator<Produto> comparadorPorCategoria = Comparator.comparing(Produto::getCategoria);
         long tempoCategoria = ordenacao.ordenar(listaProdutos, comparadorPorCategoria);
 
@@ -249,9 +361,169 @@ public class SistemaProdutos {
         long tempoMsCategoria = TimeUnit.NANOSECONDS.toMillis(tempoCategoria);
         System.out.println("\n[TEMPO DE ORDENAÇÃO POR CATEGORIA] " + tempoMsCategoria + " ms.");
 
+        // Apenas os primeiros colocados: seleção em O(n log k) direto do repositório, sem cópia nem ordenação
+        System.out.println("\n[3 MAIS BARATOS (TopK)]: ");
+        repositorioProdutos.stream().collect(TopK.coletarMenores(3, Comparator.comparingDouble(Produto::getPreco)))
+                .forEach(produto -> System.out.println(" - R$" + String.format("%.2f", produto.getPreco()) + " - " + produto.getNome()));
+
+        System.out.println("\n[3 MENORES ESTOQUES (TopK)]: ");
+        topK.menores(listaProdutos, 3, Comparator.comparingInt(Produto::getEstoque))
+                .forEach(produto -> System.out.println(" - Estoque: " + produto.getEstoque() + " - " + produto.getNome()));
+
         // Comparação entre ordenação externa e a ordenação da própria árvore AVL
         System.out.println("\n[COMPARAÇÃO ENTRE ORDENAÇÕES NOMINAIS]:");
         System.out.println("1. Ordenação externa (MergeSort) por nome levou " + tempoMsNome + " ms.");
         System.out.println("2. Listagem ordenada da AVL (em ordem) é O(n), pois mantém ordenação nas inserções.");
     }
+
+    /**
+     * Demonstra os índices secundários gerados a partir da anotação @Indexado:
+     * - Busca por igualdade em índice hash (produtor)
+     * - Busca por intervalo em índice ordenado (preço)
+     * - Filtro combinado com índices bitmap (categoria AND produtor AND NOT sem estoque)
+     */
+    private void demonstrarIndicesSecundarios() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 6. DEMONSTRAÇÃO DE ÍNDICES SECUNDÁRIOS (@Indexado)");
+        System.out.println("##########################################################");
+
+        System.out.println("\nAtributos indexados: " + indicesSecundarios.camposIndexados());
+
+        // Consulta por igualdade no índice hash, em vez de filtrar listarTodos()
+        System.out.println("\n[PRODUTOR = 'Fazenda Pura' (índice hash)]: ");
+        indicesSecundarios.buscar("produtorLocal", "Fazenda Pura")
+                .forEach(produto -> System.out.println(" - " + produto.getNome()));
+
+        // Consulta por intervalo [20, 50) no índice ordenado de preço
+        System.out.println("\n[PREÇO ENTRE R$20,00 E R$50,00 (índice ordenado)]: ");
+        indicesSecundarios.buscarIntervalo("preco", 20, 50)
+                .forEach(produto -> System.out.println(" - R$" + String.format("%.2f", produto.getPreco()) + " - " + produto.getNome()));
+
+        // Filtro combinado: interseção e diferença de bitmaps, sem percorrer o catálogo
+        System.out.println("\n[ALIMENTÍCIO E 'Fazenda Pura' E COM ESTOQUE (índices bitmap)]: ");
+        BitmapCompacto filtro = indicesBitmap.bitmap("categoria", "Alimentício")
+                .and(indicesBitmap.bitmap("produtorLocal", "Fazenda Pura"))
+                .andNot(indicesBitmap.bitmap("semEstoque", true));
+        System.out.println("Encontrados: " + filtro.cardinalidade());
+        indicesBitmap.materializar(filtro)
+                .forEach(produto -> System.out.println(" - " + produto.getNome() + " (estoque: " + produto.getEstoque() + ")"));
+    }
+
+    /**
+     * Demonstra a busca textual do índice de texto:
+     * - Consulta sem acentos e em minúsculas ("mel organico")
+     * - Busca por trecho de palavra ("ramica", "terra")
+     * - Autocompletar por prefixos de palavras ("caf go")
+     */
+    private void demonstrarBuscaTextual() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 7. DEMONSTRAÇÃO DE BUSCA TEXTUAL (trie e trigramas)");
+        System.out.println("##########################################################");
+
+        for (String consulta : new String[] {"mel organico", "ramica", "terra"}) {
+            System.out.println("\n[BUSCA '" + consulta + "']: ");
+            indiceTexto.buscar(consulta)
+                    .forEach(produto -> System.out.println(" - " + produto.getNome() + " (" + produto.getProdutorLocal() + ")"));
+        }
+
+        System.out.println("\n[AUTOCOMPLETAR 'caf go']: ");
+        indiceTexto.autocompletar("caf go", 5)
+                .forEach(produto -> System.out.println(" - " + produto.getNome()));
+
+        System.out.println("\n[SUGESTÕES DE TERMOS 'sa']: " + indiceTexto.sugerirTermos("sa", 5));
+    }
+
+    /**
+     * Demonstra consultas declarativas executadas pelo planejador, com o plano (EXPLAIN) de cada uma:
+     * - Filtros combinados de categoria e produtor
+     * - Intervalo de preço com ordenação e limite
+     * - Prefixo de nome
+     */
+    private void demonstrarConsultas() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 8. DEMONSTRAÇÃO DE CONSULTAS (planejador por custo)");
+        System.out.println("##########################################################");
+
+        Consulta[] consultas = {
+                new Consulta().categoria("Alimentício").produtorLocal("Fazenda Pura"),
+                new Consulta().precoEntre(10.0, 50.0).ordenarPorDecrescente(Consulta.Ordem.PRECO).limite(2),
+                new Consulta().estoqueEntre(1, null).ordenarPor(Consulta.Ordem.NOME).limite(3),
+                new Consulta().nomeComPrefixo("Ca")
+        };
+        for (Consulta consulta : consultas) {
+            PlanejadorConsultas.Plano plano = planejador.planejar(consulta);
+            System.out.println("\n[PLANO] " + plano);
+            plano.executar().forEach(produto -> System.out.println(" - " + produto.getNome()
+                    + " (R$" + String.format("%.2f", produto.getPreco()) + ", estoque: " + produto.getEstoque() + ")"));
+        }
+    }
+
+    /**
+     * Demonstra os agregados materializados (sem varrer o catálogo):
+     * - Totais do catálogo
+     * - Totais por categoria e por produtor
+     */
+    private void demonstrarAgregados() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 9. DEMONSTRAÇÃO DE AGREGADOS (painel)");
+        System.out.println("##########################################################");
+
+        System.out.println("\n[CATÁLOGO]: " + agregados.total());
+
+        System.out.println("\n[POR CATEGORIA]: ");
+        agregados.porCategoria().forEach((categoria, resumo) -> System.out.println(" - " + categoria + ": " + resumo));
+
+        System.out.println("\n[POR PRODUTOR]: ");
+        agregados.porProdutor().forEach((produtor, resumo) -> System.out.println(" - " + produtor + ": " + resumo));
+    }
+
+    /**
+     * Demonstra o cache de leitura com capacidade para 2 produtos: os mais acessados
+     * permanecem, e as estatísticas mostram acertos, falhas e expulsões.
+     */
+    private void demonstrarCache() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 10. DEMONSTRAÇÃO DE CACHE DE LEITURA (W-TinyLFU)");
+        System.out.println("##########################################################");
+
+        // Em produção, a origem seria um repositório lento (ex.: em disco ou remoto)
+        RepositorioCache<Produto> cache = new RepositorioCache<>(repositorioProdutos, Produto::getId, 2);
+        String[] acessos = {"A001", "A001", "C003", "A001", "B005", "A001", "C003", "B005", "A001"};
+        for (String id : acessos) {
+            Produto produto = cache.buscar(id);
+            System.out.println(" - buscar(" + id + "): " + (produto == null ? "não encontrado" : produto.getNome()));
+        }
+        System.out.println("\n[ESTATÍSTICAS DO CACHE]: " + cache.estatisticas());
+    }
+
+    /**
+     * Demonstra os decoradores de métricas: o repositório, o índice por nome e a ordenação
+     * são envolvidos sem alteração no código que os usa, e cada operação ganha contagem
+     * e percentis de latência (p50/p99/p99.9). Em produção, registrarJmx expõe os mesmos
+     * valores como MBeans e iniciarRelatorioPeriodico os imprime a cada intervalo.
+     */
+    private void demonstrarMetricas() {
+        System.out.println("\n\n##########################################################");
+        System.out.println("### 11. DEMONSTRAÇÃO DE MÉTRICAS DE LATÊNCIA");
+        System.out.println("##########################################################");
+
+        try (RegistroMetricas metricas = new RegistroMetricas()) {
+            RepositorioMedido<Produto> repositorio = new RepositorioMedido<>(repositorioProdutos, metricas, "produtos");
+            ArvoreMedida<String, Set<Produto>> arvore = new ArvoreMedida<>(arvorePorNome, metricas, "indiceNome");
+            OrdenacaoMedida<Produto> ordenacaoMedida = new OrdenacaoMedida<>(ordenacao, metricas, "mergeSortParalelo");
+
+            List<Produto> produtos = repositorio.listarTodos();
+            for (int i = 0; i < 1000; i++) {
+                Produto produto = produtos.get(i % produtos.size());
+                repositorio.buscar(produto.getId());
+                arvore.buscar(produto.getNome());
+                arvore.buscarTeto("M");
+            }
+            for (int i = 0; i < 10; i++) {
+                ordenacaoMedida.ordenar(new ArrayList<>(produtos), Comparator.comparing(Produto::getNome));
+            }
+
+            System.out.println(metricas.relatorio());
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import index.AgregadosCatalogo;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Totais de uma categoria para o painel: agregados materializados contra a varredura
+ * do catálogo a cada atualização; e o custo de manter os agregados a cada escrita,
+ * com escritores concorrentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class AgregadosCatalogoBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private AgregadosCatalogo agregados;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        agregados = new AgregadosCatalogo();
+        produtos.forEach(agregados::indexar);
+    }
+
+    @Benchmark
+    public AgregadosCatalogo.Resumo lerAgregados() {
+        return agregados.categoria("Bebidas");
+    }
+
+    @Benchmark
+    public double varrerCatalogo() {
+        long quantidade = 0, estoque = 0;
+        double valor = 0, minimo = Double.MAX_VALUE, maximo = -Double.MAX_VALUE;
+        for (Produto produto : produtos) {
+            if ("Bebidas".equals(produto.getCategoria())) {
+                quantidade++;
+                estoque += produto.getEstoque();
+                valor += produto.getPreco() * produto.getEstoque();
+                minimo = Math.min(minimo, produto.getPreco());
+                maximo = Math.max(maximo, produto.getPreco());
+            }
+        }
+        return quantidade + estoque + valor + minimo + maximo;
+    }
+
+    // Substituição de um produto por ele mesmo: retira e inclui nos três grupos
+    @Benchmark
+    @Threads(4)
+    public void atualizarConcorrente(Cursor cursor) {
+        Produto produto = produtos.get(cursor.proximo(produtos.size()));
+        agregados.desindexar(produto);
+        agregados.indexar(produto);
+    }
+
+    /**
+     * Posição de cada thread no catálogo.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int posicao;
+
+        int proximo(int tamanho) {
+            posicao = (posicao + 7919) % tamanho;
+            return posicao;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import algorithm.ArvoreAVL;
+import algorithm.ArvoreBMais;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks do índice por nome: {@link ArvoreAVL} e {@link ArvoreBMais} comparadas com java.util.TreeMap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class ArvoreBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private ArvoreAVL<String, Produto> avl;
+    private ArvoreBMais<String, Produto> bMais;
+    private TreeMap<String, Produto> treeMap;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        avl = new ArvoreAVL<>();
+        bMais = new ArvoreBMais<>();
+        treeMap = new TreeMap<>();
+        for (Produto produto : produtos) {
+            avl.inserir(produto.getNome(), produto);
+            bMais.inserir(produto.getNome(), produto);
+            treeMap.put(produto.getNome(), produto);
+        }
+    }
+
+    private Produto proximo() {
+        Produto produto = produtos.get(cursor);
+        if (++cursor == tamanho) cursor = 0;
+        return produto;
+    }
+
+    @Benchmark
+    public Produto buscarAvl() {
+        return avl.buscar(proximo().getNome());
+    }
+
+    @Benchmark
+    public Produto buscarBMais() {
+        return bMais.buscar(proximo().getNome());
+    }
+
+    @Benchmark
+    public Produto buscarTreeMap() {
+        return treeMap.get(proximo().getNome());
+    }
+
+    /**
+     * Reinserção de chave existente (percorre o caminho completo até a folha).
+     */
+    @Benchmark
+    public void inserirAvl() {
+        Produto produto = proximo();
+        avl.inserir(produto.getNome(), produto);
+    }
+
+    @Benchmark
+    public void inserirBMais() {
+        Produto produto = proximo();
+        bMais.inserir(produto.getNome(), produto);
+    }
+
+    @Benchmark
+    public void inserirTreeMap() {
+        Produto produto = proximo();
+        treeMap.put(produto.getNome(), produto);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listarEmOrdemAvl(Blackhole bh) {
+        bh.consume(avl.listarEmOrdem());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listarEmOrdemBMais(Blackhole bh) {
+        bh.consume(bMais.listarEmOrdem());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listarEmOrdemTreeMap(Blackhole bh) {
+        bh.consume(new ArrayList<>(treeMap.values()));
+    }
+
+    /**
+     * Página de 20 itens no meio do catálogo: O(log n + 20) com estatísticas de ordem.
+     */
+    @Benchmark
+    public void paginaProfundaAvl(Blackhole bh) {
+        bh.consume(avl.pagina(tamanho / 2, 20));
+    }
+
+    /**
+     * Mesma página pela abordagem antiga: lista completa seguida de subList.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void paginaProfundaListarEmOrdem(Blackhole bh) {
+        List<Produto> todos = avl.listarEmOrdem();
+        bh.consume(new ArrayList<>(todos.subList(tamanho / 2, Math.min(tamanho, tamanho / 2 + 20))));
+    }
+
+    /**
+     * Construção completa do índice a partir do catálogo.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArvoreAVL<String, Produto> construirAvl() {
+        ArvoreAVL<String, Produto> arvore = new ArvoreAVL<>();
+        for (Produto produto : produtos) {
+            arvore.inserir(produto.getNome(), produto);
+        }
+        return arvore;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArvoreBMais<String, Produto> construirBMais() {
+        ArvoreBMais<String, Produto> arvore = new ArvoreBMais<>();
+        for (Produto produto : produtos) {
+            arvore.inserir(produto.getNome(), produto);
+        }
+        return arvore;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TreeMap<String, Produto> construirTreeMap() {
+        TreeMap<String, Produto> mapa = new TreeMap<>();
+        for (Produto produto : produtos) {
+            mapa.put(produto.getNome(), produto);
+        }
+        return mapa;
+    }
+}
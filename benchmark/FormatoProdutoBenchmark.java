@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.FormatoProduto;
+import model.Produto;
+import model.VisaoProdutoBinaria;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Varredura de um dump binário ({@link FormatoProduto}) somando preço x estoque:
+ * leitura direta com {@link VisaoProdutoBinaria} contra a decodificação de cada produto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class FormatoProdutoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    private ByteBuffer dump;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Produto> produtos = GeradorProdutos.gerar(tamanho);
+        int bytes = 0;
+        for (Produto produto : produtos) {
+            bytes += FormatoProduto.codificar(produto).length;
+        }
+        dump = ByteBuffer.allocateDirect(bytes);
+        for (Produto produto : produtos) {
+            FormatoProduto.codificar(produto, dump);
+        }
+        dump.flip();
+    }
+
+    @Benchmark
+    public double valorEmEstoqueVisao() {
+        VisaoProdutoBinaria visao = new VisaoProdutoBinaria();
+        double total = 0;
+        for (int posicao = 0; posicao < dump.limit(); posicao = visao.proximo()) {
+            visao.apontar(dump, posicao);
+            total += visao.getPreco() * visao.getEstoque();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double valorEmEstoqueDecodificando() {
+        ByteBuffer leitura = dump.duplicate();
+        double total = 0;
+        while (leitura.hasRemaining()) {
+            Produto produto = FormatoProduto.decodificar(leitura);
+            total += produto.getPreco() * produto.getEstoque();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import exception.ExcecaoNegocio;
+import model.Produto;
+import model.ProdutoAlimenticio;
+import model.ProdutoArtesanal;
+
+/**
+ * Gerador determinístico de catálogos sintéticos para os benchmarks.
+ * Alterna produtos alimentícios e artesanais com preços, estoques,
+ * categorias e produtores pseudoaleatórios (semente fixa, reprodutível).
+ */
+public final class GeradorProdutos {
+
+    private static final String[] CATEGORIAS_ALIMENTICIAS = {"Alimentício", "Bebidas", "Orgânicos"};
+    private static final String[] CATEGORIAS_ARTESANAIS = {"Higiene", "Decoração", "Utilidades"};
+    private static final String[] PRODUTORES = {"Fazenda Pura", "Sítio do Vovô", "Ateliê da Terra", "Barro Arte", "Horta Viva"};
+    private static final String[] MATERIAIS = {"Argila", "Óleos Essenciais", "Madeira", "Palha"};
+
+    public static final long SEMENTE = 42L;
+
+    private GeradorProdutos() {
+    }
+
+    /**
+     * Gera n produtos com IDs "P0000000".."Pn" em ordem aleatória de nomes.
+     */
+    public static List<Produto> gerar(int n) {
+        return gerar(n, SEMENTE);
+    }
+
+    public static List<Produto> gerar(int n, long semente) {
+        SplittableRandom random = new SplittableRandom(semente);
+        List<Produto> produtos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            produtos.add(gerarProduto(i, random));
+        }
+        return produtos;
+    }
+
+    /**
+     * Identificador do i-ésimo produto gerado.
+     */
+    public static String id(int i) {
+        return String.format("P%08d", i);
+    }
+
+    private static Produto gerarProduto(int i, SplittableRandom random) {
+        String id = id(i);
+        // nome com prefixo aleatório para que a ordem por nome não coincida com a de inserção
+        String nome = "Produto " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36) + " " + i;
+        double preco = 1 + random.nextInt(100_000) / 100.0;
+        int estoque = random.nextInt(1_000);
+        String produtor = PRODUTORES[random.nextInt(PRODUTORES.length)];
+        try {
+            if ((i & 1) == 0) {
+                String categoria = CATEGORIAS_ALIMENTICIAS[random.nextInt(CATEGORIAS_ALIMENTICIAS.length)];
+                String validade = String.format("2026-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+                return new ProdutoAlimenticio(id, nome, preco, categoria, estoque, produtor, validade);
+            }
+            String categoria = CATEGORIAS_ARTESANAIS[random.nextInt(CATEGORIAS_ARTESANAIS.length)];
+            String material = MATERIAIS[random.nextInt(MATERIAIS.length)];
+            return new ProdutoArtesanal(id, nome, preco, categoria, estoque, produtor, material);
+        } catch (ExcecaoNegocio e) {
+            // preço e estoque gerados são sempre válidos
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import algorithm.ArvoreAVL;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.ImportadorProdutos;
+import repository.IndiceOrdenado;
+import repository.RepositorioHash;
+import repository.RepositorioIndexado;
+
+/**
+ * Carga de um catálogo em um repositório com índice por nome (AVL): cadastros um a um
+ * contra {@link RepositorioIndexado#cadastrarLote(List)} e a importação paralela de
+ * arquivos CSV e binário com {@link ImportadorProdutos}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class ImportadorProdutosBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private Path csv;
+    private Path binario;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        produtos = GeradorProdutos.gerar(tamanho);
+        csv = Files.createTempFile("catalogo", ".csv");
+        binario = Files.createTempFile("catalogo", ".bin");
+        ImportadorProdutos.exportarCsv(produtos, csv);
+        ImportadorProdutos.exportarBinario(produtos, binario);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(binario);
+    }
+
+    private static RepositorioIndexado<Produto> novoRepositorio() {
+        RepositorioIndexado<Produto> repositorio = new RepositorioIndexado<>(new RepositorioHash<>(Produto::getId), Produto::getId);
+        repositorio.adicionarIndice(new IndiceOrdenado<>(new ArvoreAVL<>(), Produto::getNome));
+        return repositorio;
+    }
+
+    @Benchmark
+    public RepositorioIndexado<Produto> cadastrarUmAUm() {
+        RepositorioIndexado<Produto> repositorio = novoRepositorio();
+        for (Produto produto : produtos) {
+            repositorio.cadastrar(produto);
+        }
+        return repositorio;
+    }
+
+    @Benchmark
+    public RepositorioIndexado<Produto> cadastrarLote() {
+        RepositorioIndexado<Produto> repositorio = novoRepositorio();
+        repositorio.cadastrarLote(produtos);
+        return repositorio;
+    }
+
+    @Benchmark
+    public ImportadorProdutos.Resultado importarCsv() throws IOException {
+        return new ImportadorProdutos().importarCsv(csv, novoRepositorio());
+    }
+
+    @Benchmark
+    public ImportadorProdutos.Resultado importarBinario() throws IOException {
+        return new ImportadorProdutos().importarBinario(binario, novoRepositorio());
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import index.BitmapCompacto;
+import index.IndiceBitmap;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filtro combinado (categoria AND produtor AND NOT estoque baixo): índices bitmap
+ * contra a varredura linear do catálogo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class IndiceBitmapBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private IndiceBitmap<Produto> indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        indice = new IndiceBitmap<Produto>(Produto::getId)
+                .adicionarAtributo("categoria", Produto::getCategoria)
+                .adicionarAtributo("produtorLocal", Produto::getProdutorLocal)
+                .adicionarAtributo("estoqueBaixo", produto -> produto.getEstoque() < 100);
+        produtos.forEach(indice::indexar);
+    }
+
+    @Benchmark
+    public int contarBitmap() {
+        return indice.bitmap("categoria", "Alimentício")
+                .and(indice.bitmap("produtorLocal", "Fazenda Pura"))
+                .andNot(indice.bitmap("estoqueBaixo", true))
+                .cardinalidade();
+    }
+
+    @Benchmark
+    public int contarVarredura() {
+        int total = 0;
+        for (Produto produto : produtos) {
+            if ("Alimentício".equals(produto.getCategoria())
+                    && "Fazenda Pura".equals(produto.getProdutorLocal())
+                    && produto.getEstoque() >= 100) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<Produto> listarBitmap() {
+        BitmapCompacto filtro = indice.bitmap("categoria", "Alimentício")
+                .and(indice.bitmap("produtorLocal", "Fazenda Pura"))
+                .andNot(indice.bitmap("estoqueBaixo", true));
+        List<Produto> resultado = new ArrayList<>(filtro.cardinalidade());
+        indice.materializar(filtro).forEach(resultado::add);
+        return resultado;
+    }
+}
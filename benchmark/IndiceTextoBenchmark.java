@@ -0,0 +1,77 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import index.IndiceTexto;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Busca por trecho do nome e autocompletar: índice textual (trigramas e trie)
+ * contra a varredura linear com o texto normalizado a cada comparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class IndiceTextoBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private IndiceTexto<Produto> indice;
+    private String trecho;
+    private String prefixo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        indice = new IndiceTexto<Produto>(Produto::getId)
+                .adicionarCampo(Produto::getNome)
+                .adicionarCampo(Produto::getProdutorLocal);
+        produtos.forEach(indice::indexar);
+        // "Produto <sufixo aleatório> <i>": consulta pelo meio e pelo início do sufixo de um item
+        String sufixo = produtos.get(tamanho / 2).getNome().split(" ")[1];
+        trecho = sufixo.substring(1, Math.min(sufixo.length(), 5));
+        prefixo = "produto " + sufixo.substring(0, Math.min(sufixo.length(), 3));
+    }
+
+    @Benchmark
+    public List<Produto> buscarIndice() {
+        return indice.buscar(trecho);
+    }
+
+    @Benchmark
+    public List<Produto> buscarVarredura() {
+        String consulta = IndiceTexto.normalizar(trecho);
+        List<Produto> encontrados = new ArrayList<>();
+        for (Produto produto : produtos) {
+            if (IndiceTexto.normalizar(produto.getNome()).contains(consulta)
+                    || IndiceTexto.normalizar(produto.getProdutorLocal()).contains(consulta)) {
+                encontrados.add(produto);
+            }
+        }
+        return encontrados;
+    }
+
+    @Benchmark
+    public List<Produto> autocompletarIndice() {
+        return indice.autocompletar(prefixo, 10);
+    }
+}
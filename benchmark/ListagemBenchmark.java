@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.Repositorio;
+import repository.RepositorioCompacto;
+import repository.RepositorioHash;
+
+/**
+ * Varredura do catálogo (soma do estoque): cópia via listarTodos() contra stream()
+ * sequencial e paralelo sobre o próprio armazenamento, e uma página por ID no meio
+ * do catálogo. Rodar com -prof gc para ver a alocação de cada varredura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class ListagemBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamanho;
+
+    // hash (HashMap) ou compacto (array denso)
+    @Param({"hash", "compacto"})
+    public String tipo;
+
+    private Repositorio<Produto> repositorio;
+    private String idMeio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repositorio = "hash".equals(tipo)
+                ? new RepositorioHash<>(Produto::getId)
+                : new RepositorioCompacto<>(Produto::getId, tamanho);
+        List<Produto> produtos = GeradorProdutos.gerar(tamanho);
+        produtos.forEach(repositorio::cadastrar);
+        idMeio = GeradorProdutos.id(tamanho / 2);
+    }
+
+    @Benchmark
+    public long listarTodos() {
+        long soma = 0;
+        for (Produto produto : repositorio.listarTodos()) {
+            soma += produto.getEstoque();
+        }
+        return soma;
+    }
+
+    @Benchmark
+    public long stream() {
+        return repositorio.stream().mapToLong(Produto::getEstoque).sum();
+    }
+
+    @Benchmark
+    public long streamParalelo() {
+        return repositorio.stream().parallel().mapToLong(Produto::getEstoque).sum();
+    }
+
+    @Benchmark
+    public List<Produto> paginar() {
+        return repositorio.paginar(idMeio, 100);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import metrica.HistogramaLatencia;
+import metrica.RegistroMetricas;
+import metrica.RepositorioMedido;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioConcorrente;
+
+/**
+ * Custo da medição: buscar(id) direto em um {@link RepositorioConcorrente} contra o
+ * mesmo repositório envolvido por {@link RepositorioMedido}, medindo todas as chamadas
+ * ou 1 de cada 64, e o registro isolado no histograma. Rodar com -t 1 e -t 4 (ou mais) para ver a disputa entre threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class MetricasBenchmark {
+
+    @Param({"1000", "100000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private RepositorioConcorrente<Produto> direto;
+    private RepositorioMedido<Produto> medido;
+    private RepositorioMedido<Produto> amostrado;
+    private HistogramaLatencia histograma;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        direto = new RepositorioConcorrente<>(Produto::getId, tamanho);
+        produtos.forEach(direto::cadastrar);
+        RegistroMetricas registro = new RegistroMetricas();
+        medido = new RepositorioMedido<>(direto, registro, "produtos");
+        histograma = registro.operacao("benchmark.registrar");
+        amostrado = new RepositorioMedido<>(direto, new RegistroMetricas(64), "produtos");
+    }
+
+    private String idAleatorio() {
+        return produtos.get(ThreadLocalRandom.current().nextInt(tamanho)).getId();
+    }
+
+    @Benchmark
+    public Produto buscarDireto() {
+        return direto.buscar(idAleatorio());
+    }
+
+    @Benchmark
+    public Produto buscarMedido() {
+        return medido.buscar(idAleatorio());
+    }
+
+    @Benchmark
+    public Produto buscarAmostrado() {
+        return amostrado.buscar(idAleatorio());
+    }
+
+    @Benchmark
+    public void registrar() {
+        histograma.registrar(ThreadLocalRandom.current().nextInt(1_000_000));
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import algorithm.MergeSort;
+import algorithm.MergeSortAdaptativo;
+import algorithm.MergeSortParalelo;
+import algorithm.RadixSort;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de ordenação por preço: {@link MergeSort} (referência) contra List.sort
+ * e os demais motores do pacote algorithm. Cada invocação ordena uma cópia nova
+ * da lista embaralhada, de modo que nenhum motor recebe entrada já ordenada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class OrdenacaoBenchmark {
+
+    private static final Comparator<Produto> POR_PRECO = Comparator.comparingDouble(Produto::getPreco);
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> original;
+    private List<Produto> lista;
+
+    private final MergeSort<Produto> mergeSort = new MergeSort<>();
+    private final MergeSortAdaptativo<Produto> mergeSortAdaptativo = new MergeSortAdaptativo<>();
+    private final MergeSortParalelo<Produto> mergeSortParalelo = new MergeSortParalelo<>();
+    private final RadixSort<Produto> radixSort = new RadixSort<>();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        original = GeradorProdutos.gerar(tamanho);
+    }
+
+    @Setup(Level.Invocation)
+    public void copiar() {
+        lista = new ArrayList<>(original);
+    }
+
+    @Benchmark
+    public List<Produto> mergeSort() {
+        mergeSort.ordenar(lista, POR_PRECO);
+        return lista;
+    }
+
+    @Benchmark
+    public List<Produto> listSort() {
+        lista.sort(POR_PRECO);
+        return lista;
+    }
+
+    @Benchmark
+    public List<Produto> mergeSortAdaptativo() {
+        mergeSortAdaptativo.ordenar(lista, POR_PRECO);
+        return lista;
+    }
+
+    @Benchmark
+    public List<Produto> mergeSortParalelo() {
+        mergeSortParalelo.ordenar(lista, POR_PRECO);
+        return lista;
+    }
+
+    @Benchmark
+    public List<Produto> radixSort() {
+        radixSort.ordenarPorDouble(lista, Produto::getPreco);
+        return lista;
+    }
+}
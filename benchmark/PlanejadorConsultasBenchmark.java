@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import algorithm.ArvoreAVL;
+import index.Consulta;
+import index.GerenciadorIndices;
+import index.IndiceBitmap;
+import index.PlanejadorConsultas;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.IndiceOrdenado;
+import repository.RepositorioHash;
+import repository.RepositorioIndexado;
+
+/**
+ * Consultas típicas do catálogo pelo {@link PlanejadorConsultas} contra a forma atual:
+ * listarTodos(), filtro manual e ordenação completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class PlanejadorConsultasBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamanho;
+
+    // 0: categoria AND produtor AND faixa de preço; 1: 10 mais baratos; 2: categoria por nome, 10 primeiros
+    @Param({"0", "1", "2"})
+    public int tipo;
+
+    private RepositorioIndexado<Produto> repositorio;
+    private PlanejadorConsultas planejador;
+    private Consulta consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repositorio = new RepositorioIndexado<>(new RepositorioHash<>(Produto::getId), Produto::getId);
+        IndiceOrdenado<String, Produto> indiceNome = new IndiceOrdenado<>(new ArvoreAVL<>(), Produto::getNome);
+        GerenciadorIndices<Produto> indicesSecundarios = new GerenciadorIndices<>(Produto.class);
+        IndiceBitmap<Produto> indiceBitmap = new IndiceBitmap<Produto>(Produto::getId)
+                .adicionarAtributo("categoria", Produto::getCategoria)
+                .adicionarAtributo("produtorLocal", Produto::getProdutorLocal);
+        repositorio.adicionarIndice(indiceNome);
+        repositorio.adicionarIndice(indicesSecundarios);
+        repositorio.adicionarIndice(indiceBitmap);
+        repositorio.cadastrarLote(GeradorProdutos.gerar(tamanho));
+        planejador = new PlanejadorConsultas(repositorio)
+                .comIndiceNome(indiceNome)
+                .comIndicesSecundarios(indicesSecundarios)
+                .comIndiceBitmap(indiceBitmap);
+        switch (tipo) {
+            case 0:
+                consulta = new Consulta().categoria("Bebidas").produtorLocal("Horta Viva").precoEntre(100.0, 110.0);
+                break;
+            case 1:
+                consulta = new Consulta().ordenarPor(Consulta.Ordem.PRECO).limite(10);
+                break;
+            default:
+                consulta = new Consulta().categoria("Bebidas").ordenarPor(Consulta.Ordem.NOME).limite(10);
+        }
+    }
+
+    @Benchmark
+    public List<Produto> planejador() {
+        return planejador.executar(consulta);
+    }
+
+    @Benchmark
+    public List<Produto> filtroManual() {
+        List<Produto> resultado = repositorio.listarTodos().stream()
+                .filter(consulta::aceita)
+                .collect(Collectors.toList());
+        if (consulta.getOrdem() != null) {
+            resultado.sort(consulta.getOrdem().comparador());
+        }
+        return resultado.subList(0, Math.min(resultado.size(), consulta.getLimite()));
+    }
+}
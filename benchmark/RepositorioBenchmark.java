@@ -0,0 +1,86 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import repository.RepositorioHash;
+
+/**
+ * Benchmarks das operações de {@link RepositorioHash} sobre catálogos de 1K a 10M produtos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class RepositorioBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private RepositorioHash<Produto> repositorio;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        repositorio = new RepositorioHash<>(Produto::getId);
+        produtos.forEach(repositorio::cadastrar);
+    }
+
+    private Produto proximo() {
+        Produto produto = produtos.get(cursor);
+        if (++cursor == tamanho) cursor = 0;
+        return produto;
+    }
+
+    @Benchmark
+    public Produto buscar() {
+        return repositorio.buscar(proximo().getId());
+    }
+
+    @Benchmark
+    public Produto buscarInexistente() {
+        return repositorio.buscar("X-inexistente");
+    }
+
+    /**
+     * Remove e recadastra o mesmo produto, mantendo o tamanho do catálogo estável.
+     */
+    @Benchmark
+    public void removerECadastrar() {
+        Produto produto = proximo();
+        repositorio.remover(produto.getId());
+        repositorio.cadastrar(produto);
+    }
+
+    /**
+     * Substituição de um produto já existente (cadastrar sobre ID presente).
+     */
+    @Benchmark
+    public void cadastrar() {
+        repositorio.cadastrar(proximo());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listarTodos(Blackhole bh) {
+        bh.consume(repositorio.listarTodos());
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioCache;
+import repository.RepositorioHash;
+
+/**
+ * buscar(id) com acessos concentrados (distribuição Zipf) sobre um repositório lento
+ * ({@link RepositorioLento}): direto na origem contra o {@link RepositorioCache} com
+ * capacidade para 1% do catálogo. A taxa de acerto é impressa ao fim de cada rodada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Threads(4)
+public class RepositorioCacheBenchmark {
+
+    private static final int TAMANHO = 100_000;
+    private static final int SEQUENCIA = 1 << 20;
+
+    // Expoente da distribuição Zipf: quanto maior, mais concentrados os acessos
+    @Param({"0.8", "1.0"})
+    public double assimetria;
+
+    // Latência de cada leitura na origem
+    @Param({"50"})
+    public long latenciaMicros;
+
+    private RepositorioLento<Produto> origem;
+    private RepositorioCache<Produto> cache;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        RepositorioHash<Produto> base = new RepositorioHash<>(Produto::getId);
+        List<Produto> produtos = GeradorProdutos.gerar(TAMANHO);
+        produtos.forEach(base::cadastrar);
+        origem = new RepositorioLento<>(base, latenciaMicros);
+        cache = new RepositorioCache<>(origem, Produto::getId, TAMANHO / 100);
+
+        // sequência de IDs pré-sorteada pela inversa da distribuição acumulada
+        double[] acumulada = new double[TAMANHO];
+        double soma = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            soma += 1 / Math.pow(i + 1, assimetria);
+            acumulada[i] = soma;
+        }
+        SplittableRandom random = new SplittableRandom(GeradorProdutos.SEMENTE);
+        ids = new String[SEQUENCIA];
+        for (int i = 0; i < SEQUENCIA; i++) {
+            double alvo = random.nextDouble() * soma;
+            int lo = 0, hi = TAMANHO - 1;
+            while (lo < hi) {
+                int meio = (lo + hi) >>> 1;
+                if (acumulada[meio] < alvo) lo = meio + 1; else hi = meio;
+            }
+            ids[i] = GeradorProdutos.id(lo);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void relatar() {
+        RepositorioCache.Estatisticas estatisticas = cache.estatisticas();
+        if (estatisticas.getAcertos() + estatisticas.getFalhas() > 0) {
+            System.out.println("\n[cache] " + estatisticas);
+        }
+    }
+
+    @Benchmark
+    public Produto origemDireta(Cursor cursor) {
+        return origem.buscar(ids[cursor.proximo()]);
+    }
+
+    @Benchmark
+    public Produto comCache(Cursor cursor) {
+        return cache.buscar(ids[cursor.proximo()]);
+    }
+
+    /**
+     * Posição de cada thread na sequência de IDs.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int posicao = (int) (Thread.currentThread().getId() * 7919);
+
+        int proximo() {
+            posicao = (posicao + 1) & (SEQUENCIA - 1);
+            return posicao;
+        }
+    }
+}
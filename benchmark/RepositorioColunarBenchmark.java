@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioColunar;
+
+/**
+ * Agregações sobre preço e estoque: colunas primitivas de {@link RepositorioColunar}
+ * contra a iteração sobre objetos Produto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class RepositorioColunarBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private RepositorioColunar colunar;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        colunar = new RepositorioColunar(tamanho);
+        produtos.forEach(colunar::cadastrar);
+    }
+
+    @Benchmark
+    public double valorEmEstoqueColunar() {
+        return colunar.valorEmEstoque();
+    }
+
+    @Benchmark
+    public double valorEmEstoqueObjetos() {
+        double total = 0;
+        for (Produto produto : produtos) {
+            total += produto.getPreco() * produto.getEstoque();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int contarPorFaixaDePrecoColunar() {
+        return colunar.contarPorFaixaDePreco(100, 500);
+    }
+
+    @Benchmark
+    public int contarPorFaixaDePrecoObjetos() {
+        int total = 0;
+        for (Produto produto : produtos) {
+            if (produto.getPreco() >= 100 && produto.getPreco() < 500) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int contarPorCategoriaColunar() {
+        return colunar.contarPorCategoria("Bebidas");
+    }
+
+    @Benchmark
+    public int contarPorCategoriaObjetos() {
+        int total = 0;
+        for (Produto produto : produtos) {
+            if ("Bebidas".equals(produto.getCategoria())) {
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioCompacto;
+import repository.RepositorioHash;
+
+/**
+ * Busca por ID em {@link RepositorioCompacto} (índice fora do heap) e em {@link RepositorioHash}.
+ * Para observar o efeito no coletor, rodar com -prof gc e comparar as pausas entre os dois.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class RepositorioCompactoBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private RepositorioCompacto<Produto> compacto;
+    private RepositorioHash<Produto> hash;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        compacto = new RepositorioCompacto<>(Produto::getId, tamanho);
+        hash = new RepositorioHash<>(Produto::getId);
+        for (Produto produto : produtos) {
+            compacto.cadastrar(produto);
+            hash.cadastrar(produto);
+        }
+    }
+
+    // IDs em ordem pseudoaleatória, para não favorecer a localidade de nenhuma das estruturas
+    private String proximoId() {
+        cursor = (int) ((cursor + 7919L) % tamanho);
+        return produtos.get(cursor).getId();
+    }
+
+    @Benchmark
+    public Produto buscarCompacto() {
+        return compacto.buscar(proximoId());
+    }
+
+    @Benchmark
+    public Produto buscarHash() {
+        return hash.buscar(proximoId());
+    }
+
+    @Benchmark
+    public Produto buscarInexistenteCompacto() {
+        return compacto.buscar("X-inexistente");
+    }
+
+    @Benchmark
+    public Produto buscarInexistenteHash() {
+        return hash.buscar("X-inexistente");
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioConcorrente;
+import repository.RepositorioHash;
+
+/**
+ * Vazão de {@link RepositorioConcorrente} com várias threads, comparada a um
+ * {@link RepositorioHash} protegido por lock global.
+ * Rodar variando as threads para medir a escalabilidade: -t 1, -t 4, -t 16 ...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class RepositorioConcorrenteBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private RepositorioConcorrente<Produto> concorrente;
+    private RepositorioHash<Produto> comLockGlobal;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+        concorrente = new RepositorioConcorrente<>(Produto::getId, tamanho);
+        comLockGlobal = new RepositorioHash<>(Produto::getId);
+        for (Produto produto : produtos) {
+            concorrente.cadastrar(produto);
+            comLockGlobal.cadastrar(produto);
+        }
+    }
+
+    private Produto aleatorio() {
+        return produtos.get(ThreadLocalRandom.current().nextInt(tamanho));
+    }
+
+    @Benchmark
+    public Produto buscarConcorrente() {
+        return concorrente.buscar(aleatorio().getId());
+    }
+
+    @Benchmark
+    public Produto buscarLockGlobal() {
+        synchronized (comLockGlobal) {
+            return comLockGlobal.buscar(aleatorio().getId());
+        }
+    }
+
+    // Carga mista: 3 leitores para cada escritor
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(3)
+    public Produto mistoLeitura() {
+        return concorrente.buscar(aleatorio().getId());
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(1)
+    public void mistoEscrita() {
+        concorrente.cadastrar(aleatorio());
+    }
+
+    @Benchmark
+    @Group("mistoLockGlobal")
+    @GroupThreads(3)
+    public Produto mistoLockGlobalLeitura() {
+        synchronized (comLockGlobal) {
+            return comLockGlobal.buscar(aleatorio().getId());
+        }
+    }
+
+    @Benchmark
+    @Group("mistoLockGlobal")
+    @GroupThreads(1)
+    public void mistoLockGlobalEscrita() {
+        synchronized (comLockGlobal) {
+            comLockGlobal.cadastrar(aleatorio());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.RepositorioConcorrente;
+import repository.RepositorioDuravel;
+import repository.SerializadorProduto;
+
+/**
+ * Vazão de escrita do {@link RepositorioDuravel} (cada operação espera o fsync).
+ * Rodar variando as threads para ver o efeito do group commit: -t 1, -t 4, -t 16 ...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class RepositorioDuravelBenchmark {
+
+    @Param({"100000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private Path diretorio;
+    private RepositorioDuravel<Produto> repositorio;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        produtos = GeradorProdutos.gerar(tamanho);
+        diretorio = Files.createTempDirectory("repositorio-duravel");
+        repositorio = new RepositorioDuravel<>(diretorio, new RepositorioConcorrente<>(Produto::getId), Produto::getId,
+                new SerializadorProduto());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        repositorio.close();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(arquivo -> arquivo.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void cadastrar() {
+        repositorio.cadastrar(produtos.get(ThreadLocalRandom.current().nextInt(tamanho)));
+    }
+}
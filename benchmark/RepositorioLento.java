@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import repository.Repositorio;
+
+/**
+ * Substituto local de um repositório lento (disco ou rede): delega a outro repositório
+ * e acrescenta uma latência fixa a cada operação, em espera ativa para não depender
+ * da granularidade do sleep. Conta as leituras que chegaram até ele.
+ */
+public class RepositorioLento<T> implements Repositorio<T> {
+
+    private final Repositorio<T> repositorio;
+    private final long latenciaNanos;
+    private final LongAdder leituras = new LongAdder();
+
+    /**
+     * @param repositorio repositório que guarda os itens
+     * @param latenciaMicros latência acrescentada a cada operação, em microssegundos
+     */
+    public RepositorioLento(Repositorio<T> repositorio, long latenciaMicros) {
+        this.repositorio = repositorio;
+        this.latenciaNanos = TimeUnit.MICROSECONDS.toNanos(latenciaMicros);
+    }
+
+    private void esperar() {
+        long fim = System.nanoTime() + latenciaNanos;
+        while (System.nanoTime() < fim) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void cadastrar(T item) {
+        esperar();
+        repositorio.cadastrar(item);
+    }
+
+    @Override
+    public T buscar(String id) {
+        leituras.increment();
+        esperar();
+        return repositorio.buscar(id);
+    }
+
+    @Override
+    public void remover(String id) {
+        esperar();
+        repositorio.remover(id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        esperar();
+        return repositorio.listarTodos();
+    }
+
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        esperar();
+        return repositorio.paginar(aposId, limite);
+    }
+
+    @Override
+    public int tamanho() {
+        return repositorio.tamanho();
+    }
+
+    /**
+     * Leituras (buscar) recebidas desde a criação.
+     */
+    public long getLeituras() {
+        return leituras.sum();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import algorithm.MergeSortParalelo;
+import algorithm.TopK;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Os k produtos mais baratos: cópia e ordenação completa seguida de corte contra
+ * {@link TopK} (heap limitado, sequencial e em partições paralelas) e o coletor
+ * sobre Stream. A lista de origem não é alterada, então não há cópia por invocação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class TopKBenchmark {
+
+    private static final Comparator<Produto> POR_PRECO = Comparator.comparingDouble(Produto::getPreco);
+
+    @Param({"100000", "1000000", "5000000"})
+    public int tamanho;
+
+    @Param({"10", "1000"})
+    public int k;
+
+    private List<Produto> produtos;
+
+    private final MergeSortParalelo<Produto> mergeSortParalelo = new MergeSortParalelo<>();
+    private final TopK<Produto> topKSequencial = new TopK<>(1);
+    private final TopK<Produto> topKParalelo = new TopK<>();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        produtos = GeradorProdutos.gerar(tamanho);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        topKSequencial.close();
+    }
+
+    @Benchmark
+    public List<Produto> ordenarECortar() {
+        List<Produto> copia = new ArrayList<>(produtos);
+        mergeSortParalelo.ordenar(copia, POR_PRECO);
+        return new ArrayList<>(copia.subList(0, k));
+    }
+
+    @Benchmark
+    public List<Produto> topKSequencial() {
+        return topKSequencial.menores(produtos, k, POR_PRECO);
+    }
+
+    @Benchmark
+    public List<Produto> topKParalelo() {
+        return topKParalelo.menores(produtos, k, POR_PRECO);
+    }
+
+    @Benchmark
+    public List<Produto> coletorStreamParalelo() {
+        return produtos.parallelStream().collect(TopK.coletarMenores(k, POR_PRECO));
+    }
+}
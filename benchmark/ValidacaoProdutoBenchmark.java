@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import exception.ExcecaoNegocio;
+import model.ConstrutorProduto;
+import model.Produto;
+import model.ProdutoAlimenticio;
+import model.RelatorioValidacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Criação de produtos a partir de registros com uma fração de preços inválidos:
+ * construtor com ExcecaoNegocio (stack trace) contra {@link ConstrutorProduto},
+ * com relatório de validação ou com a exceção sem pilha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoProdutoBenchmark {
+
+    // Percentual de registros inválidos
+    @Param({"0", "5", "10"})
+    public int invalidos;
+
+    private static final int REGISTROS = 100_000;
+
+    private String[] ids;
+    private double[] precos;
+    private final ConstrutorProduto construtor = new ConstrutorProduto();
+    private final RelatorioValidacao relatorio = new RelatorioValidacao();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ids = new String[REGISTROS];
+        precos = new double[REGISTROS];
+        for (int i = 0; i < REGISTROS; i++) {
+            ids[i] = GeradorProdutos.id(i);
+            precos[i] = (i % 100 < invalidos) ? -1 : 10;
+        }
+    }
+
+    @Benchmark
+    public int construtorComExcecao() {
+        int rejeitados = 0;
+        for (int i = 0; i < REGISTROS; i++) {
+            try {
+                new ProdutoAlimenticio(ids[i], "Produto", precos[i], "Bebidas", 1, "Horta Viva", "2026-01-01");
+            } catch (ExcecaoNegocio e) {
+                rejeitados++;
+            }
+        }
+        return rejeitados;
+    }
+
+    @Benchmark
+    public int construtorComRelatorio() {
+        int rejeitados = 0;
+        for (int i = 0; i < REGISTROS; i++) {
+            relatorio.limpar();
+            Produto produto = construtor.limpar().alimenticio("2026-01-01").id(ids[i]).nome("Produto")
+                    .preco(precos[i]).categoria("Bebidas").estoque(1).produtorLocal("Horta Viva")
+                    .tentarConstruir(relatorio);
+            if (produto == null) {
+                rejeitados++;
+            }
+        }
+        return rejeitados;
+    }
+
+    @Benchmark
+    public int construtorComExcecaoSemPilha() {
+        int rejeitados = 0;
+        for (int i = 0; i < REGISTROS; i++) {
+            try {
+                construtor.limpar().alimenticio("2026-01-01").id(ids[i]).nome("Produto")
+                        .preco(precos[i]).categoria("Bebidas").estoque(1).produtorLocal("Horta Viva")
+                        .construir();
+            } catch (ExcecaoNegocio e) {
+                rejeitados++;
+            }
+        }
+        return rejeitados;
+    }
+}
@@ -14,4 +14,13 @@ public class ExcecaoNegocio extends Exception {
     public ExcecaoNegocio(String mensagem) {
         super(mensagem);
     }
+
+    /**
+     * Construtor para subclasses que dispensam o stack trace (ver {@link ExcecaoNegocioSemPilha}).
+     * @param mensagem mensagem detalhada explicando o motivo do erro
+     * @param comPilha se false, o stack trace não é capturado nem pode ser definido depois
+     */
+    protected ExcecaoNegocio(String mensagem, boolean comPilha) {
+        super(mensagem, null, false, comPilha);
+    }
 }
@@ -0,0 +1,21 @@
+package exception;
+
+/**
+ * Variante de {@link ExcecaoNegocio} sem stack trace, para caminhos quentes (ex.: importação
+ * em massa) que precisam lançar a exceção com frequência.
+ *
+ * Criar a exceção não percorre a pilha de chamadas nem guarda exceções suprimidas, o que
+ * a torna quase tão barata quanto um objeto comum. Como é uma ExcecaoNegocio, os blocos
+ * catch existentes continuam funcionando; só o stack trace fica vazio.
+ */
+public class ExcecaoNegocioSemPilha extends ExcecaoNegocio {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cria uma exceção de negócio sem stack trace.
+     * @param mensagem mensagem detalhada explicando o motivo do erro
+     */
+    public ExcecaoNegocioSemPilha(String mensagem) {
+        super(mensagem, false);
+    }
+}
@@ -0,0 +1,242 @@
+package index;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.Produto;
+import repository.IndiceRepositorio;
+
+/**
+ * Agregados materializados do catálogo: quantidade de produtos, estoque total,
+ * valor do estoque (preço * estoque) e preço mínimo/máximo, no total, por categoria
+ * e por produtor.
+ *
+ * Registrado em um {@link repository.RepositorioIndexado}, é atualizado a cada
+ * cadastrar/remover/substituição em O(1) por grupo. O preço mínimo/máximo custa
+ * O(log p), sendo p a quantidade de preços distintos do grupo. As leituras não
+ * percorrem o catálogo: o custo é o mesmo com 10 ou 10 milhões de produtos.
+ *
+ * A atualização é segura com escritores concorrentes e sem um lock comum:
+ * - contagens e estoque usam LongAdder (contadores distribuídos em células);
+ * - o valor do estoque é uma soma compensada (Neumaier) distribuída em faixas por thread,
+ *   para que somas e subtrações sucessivas de valores fracionários não acumulem erro;
+ * - os preços de cada grupo ficam em um multiconjunto ordenado (ConcurrentSkipListMap).
+ * Leituras feitas durante escritas podem refletir parte de uma atualização.
+ */
+public class AgregadosCatalogo implements IndiceRepositorio<Produto> {
+
+    /**
+     * Valores agregados de um grupo em um instante (cópia imutável).
+     */
+    public static final class Resumo {
+        private final long quantidade;
+        private final long estoqueTotal;
+        private final double valorEstoque;
+        private final double precoMinimo;
+        private final double precoMaximo;
+
+        Resumo(long quantidade, long estoqueTotal, double valorEstoque, double precoMinimo, double precoMaximo) {
+            this.quantidade = quantidade;
+            this.estoqueTotal = estoqueTotal;
+            this.valorEstoque = valorEstoque;
+            this.precoMinimo = precoMinimo;
+            this.precoMaximo = precoMaximo;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        public long getEstoqueTotal() {
+            return estoqueTotal;
+        }
+
+        /** Soma de preço * estoque. */
+        public double getValorEstoque() {
+            return valorEstoque;
+        }
+
+        /** Menor preço do grupo, ou NaN se o grupo estiver vazio. */
+        public double getPrecoMinimo() {
+            return precoMinimo;
+        }
+
+        /** Maior preço do grupo, ou NaN se o grupo estiver vazio. */
+        public double getPrecoMaximo() {
+            return precoMaximo;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d produtos, estoque %d, valor R$%.2f, preço R$%.2f a R$%.2f",
+                    quantidade, estoqueTotal, valorEstoque, precoMinimo, precoMaximo);
+        }
+    }
+
+    private static final Resumo VAZIO = new Resumo(0, 0, 0.0, Double.NaN, Double.NaN);
+
+    // Faixas da soma compensada: potência de 2, ao menos duas por processador
+    private static final int FAIXAS = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1);
+
+    /**
+     * Soma compensada de Neumaier distribuída em faixas: cada thread soma na faixa
+     * escolhida pelo seu ID, de modo que escritores em threads diferentes raramente
+     * disputam o mesmo lock. A leitura junta as faixas, também com compensação.
+     */
+    private static final class SomaCompensada {
+
+        private static final class Faixa {
+            double soma;
+            double compensacao;
+            // espaçamento para que faixas vizinhas não dividam a mesma linha de cache
+            @SuppressWarnings("unused")
+            long p1, p2, p3, p4, p5, p6;
+
+            synchronized void somar(double valor) {
+                double total = soma + valor;
+                if (Math.abs(soma) >= Math.abs(valor)) {
+                    compensacao += (soma - total) + valor;
+                } else {
+                    compensacao += (valor - total) + soma;
+                }
+                soma = total;
+            }
+        }
+
+        private final Faixa[] faixas = new Faixa[FAIXAS];
+
+        SomaCompensada() {
+            for (int i = 0; i < faixas.length; i++) {
+                faixas[i] = new Faixa();
+            }
+        }
+
+        void somar(double valor) {
+            faixas[(int) Thread.currentThread().getId() & (FAIXAS - 1)].somar(valor);
+        }
+
+        double valor() {
+            double soma = 0, compensacao = 0;
+            for (Faixa faixa : faixas) {
+                double parcial, compensacaoParcial;
+                synchronized (faixa) {
+                    parcial = faixa.soma;
+                    compensacaoParcial = faixa.compensacao;
+                }
+                double total = soma + parcial;
+                if (Math.abs(soma) >= Math.abs(parcial)) {
+                    compensacao += (soma - total) + parcial;
+                } else {
+                    compensacao += (parcial - total) + soma;
+                }
+                soma = total;
+                compensacao += compensacaoParcial;
+            }
+            return soma + compensacao;
+        }
+    }
+
+    // Agregados de um grupo (total, uma categoria ou um produtor)
+    private static final class Agregado {
+        final LongAdder quantidade = new LongAdder();
+        final LongAdder estoque = new LongAdder();
+        final SomaCompensada valor = new SomaCompensada();
+        // preço -> quantidade de produtos do grupo com esse preço
+        final ConcurrentSkipListMap<Double, Long> precos = new ConcurrentSkipListMap<>();
+
+        void adicionar(Produto produto, int sinal) {
+            quantidade.add(sinal);
+            estoque.add((long) sinal * produto.getEstoque());
+            valor.somar(sinal * produto.getPreco() * produto.getEstoque());
+            precos.compute(produto.getPreco(), (preco, total) -> {
+                long novo = (total == null ? 0 : total) + sinal;
+                return (novo == 0) ? null : novo;
+            });
+        }
+
+        Resumo resumo() {
+            Map.Entry<Double, Long> minimo = precos.firstEntry();
+            Map.Entry<Double, Long> maximo = precos.lastEntry();
+            return new Resumo(quantidade.sum(), estoque.sum(), valor.valor(),
+                    (minimo == null) ? Double.NaN : minimo.getKey(),
+                    (maximo == null) ? Double.NaN : maximo.getKey());
+        }
+    }
+
+    private final Agregado total = new Agregado();
+    private final ConcurrentHashMap<String, Agregado> porCategoria = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Agregado> porProdutor = new ConcurrentHashMap<>();
+
+    @Override
+    public void indexar(Produto produto) {
+        atualizar(produto, 1);
+    }
+
+    @Override
+    public void desindexar(Produto produto) {
+        atualizar(produto, -1);
+    }
+
+    private void atualizar(Produto produto, int sinal) {
+        total.adicionar(produto, sinal);
+        // grupos vazios são mantidos: removê-los disputaria com escritores do mesmo grupo
+        if (produto.getCategoria() != null) {
+            porCategoria.computeIfAbsent(produto.getCategoria(), c -> new Agregado()).adicionar(produto, sinal);
+        }
+        if (produto.getProdutorLocal() != null) {
+            porProdutor.computeIfAbsent(produto.getProdutorLocal(), p -> new Agregado()).adicionar(produto, sinal);
+        }
+    }
+
+    /**
+     * Agregados de todo o catálogo.
+     */
+    public Resumo total() {
+        return total.resumo();
+    }
+
+    /**
+     * Agregados dos produtos da categoria (vazios se não houver nenhum).
+     */
+    public Resumo categoria(String categoria) {
+        Agregado agregado = (categoria == null) ? null : porCategoria.get(categoria);
+        return (agregado == null) ? VAZIO : agregado.resumo();
+    }
+
+    /**
+     * Agregados dos produtos do produtor (vazios se não houver nenhum).
+     */
+    public Resumo produtor(String produtorLocal) {
+        Agregado agregado = (produtorLocal == null) ? null : porProdutor.get(produtorLocal);
+        return (agregado == null) ? VAZIO : agregado.resumo();
+    }
+
+    /**
+     * Agregados de cada categoria com produtos, em ordem alfabética.
+     */
+    public Map<String, Resumo> porCategoria() {
+        return resumos(porCategoria);
+    }
+
+    /**
+     * Agregados de cada produtor com produtos, em ordem alfabética.
+     */
+    public Map<String, Resumo> porProdutor() {
+        return resumos(porProdutor);
+    }
+
+    private static Map<String, Resumo> resumos(ConcurrentHashMap<String, Agregado> grupos) {
+        Map<String, Resumo> resultado = new LinkedHashMap<>();
+        grupos.keySet().stream().sorted().forEach(chave -> {
+            Resumo resumo = grupos.get(chave).resumo();
+            if (resumo.getQuantidade() > 0) {
+                resultado.put(chave, resumo);
+            }
+        });
+        return Collections.unmodifiableMap(resultado);
+    }
+}
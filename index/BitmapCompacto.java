@@ -0,0 +1,493 @@
+package index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de inteiros não negativos em bitmap compactado (formato no estilo Roaring).
+ *
+ * O espaço de 32 bits é dividido em blocos de 65536 valores, identificados pelos 16 bits
+ * mais altos. Cada bloco não vazio é um contêiner: um array ordenado de char (até 4096
+ * valores, esparso) ou um bitmap de 1024 longs (denso). As operações AND, OR e ANDNOT
+ * trabalham bloco a bloco e, nos blocos densos, palavra a palavra (64 valores por instrução).
+ *
+ * As operações lógicas devolvem novos bitmaps e nunca alteram os operandos.
+ */
+public final class BitmapCompacto {
+
+    // Acima deste tamanho, um contêiner em array passa a ser bitmap (4096 chars = 8 KB = tamanho do bitmap)
+    static final int LIMITE_ARRAY = 4096;
+    private static final int PALAVRAS = 1024;
+
+    // --- contêineres ---
+
+    private abstract static class Conteiner {
+        abstract int cardinalidade();
+        abstract boolean contem(char valor);
+        abstract Conteiner adicionar(char valor);
+        abstract Conteiner remover(char valor);
+        abstract Conteiner copiar();
+        abstract void paraCada(int base, IntConsumer acao);
+        abstract long[] comoBits();
+
+        // devolve a representação mais compacta para a cardinalidade atual (ou null se vazio)
+        static Conteiner otimizar(long[] bits, int card) {
+            if (card == 0) return null;
+            if (card > LIMITE_ARRAY) return new ConteinerBitmap(bits, card);
+            char[] valores = new char[card];
+            int k = 0;
+            for (int w = 0; w < PALAVRAS; w++) {
+                long palavra = bits[w];
+                while (palavra != 0) {
+                    valores[k++] = (char) ((w << 6) + Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+            return new ConteinerArray(valores, card);
+        }
+    }
+
+    private static final class ConteinerArray extends Conteiner {
+        char[] valores;
+        int card;
+
+        ConteinerArray(char[] valores, int card) {
+            this.valores = valores;
+            this.card = card;
+        }
+
+        @Override
+        int cardinalidade() {
+            return card;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return Arrays.binarySearch(valores, 0, card, valor) >= 0;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            int pos = Arrays.binarySearch(valores, 0, card, valor);
+            if (pos >= 0) return this;
+            if (card == LIMITE_ARRAY) {
+                return new ConteinerBitmap(comoBits(), card).adicionar(valor);
+            }
+            pos = -pos - 1;
+            if (card == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_ARRAY, Math.max(4, card * 2)));
+            }
+            System.arraycopy(valores, pos, valores, pos + 1, card - pos);
+            valores[pos] = valor;
+            card++;
+            return this;
+        }
+
+        @Override
+        Conteiner remover(char valor) {
+            int pos = Arrays.binarySearch(valores, 0, card, valor);
+            if (pos < 0) return this;
+            System.arraycopy(valores, pos + 1, valores, pos, card - pos - 1);
+            card--;
+            return (card == 0) ? null : this;
+        }
+
+        @Override
+        Conteiner copiar() {
+            return new ConteinerArray(Arrays.copyOf(valores, card), card);
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer acao) {
+            for (int i = 0; i < card; i++) {
+                acao.accept(base | valores[i]);
+            }
+        }
+
+        @Override
+        long[] comoBits() {
+            long[] bits = new long[PALAVRAS];
+            for (int i = 0; i < card; i++) {
+                char v = valores[i];
+                bits[v >>> 6] |= 1L << v;
+            }
+            return bits;
+        }
+    }
+
+    private static final class ConteinerBitmap extends Conteiner {
+        final long[] bits;
+        int card;
+
+        ConteinerBitmap(long[] bits, int card) {
+            this.bits = bits;
+            this.card = card;
+        }
+
+        @Override
+        int cardinalidade() {
+            return card;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return (bits[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            long antes = bits[valor >>> 6];
+            long depois = antes | (1L << valor);
+            if (antes != depois) {
+                bits[valor >>> 6] = depois;
+                card++;
+            }
+            return this;
+        }
+
+        @Override
+        Conteiner remover(char valor) {
+            long antes = bits[valor >>> 6];
+            long depois = antes & ~(1L << valor);
+            if (antes == depois) return this;
+            bits[valor >>> 6] = depois;
+            card--;
+            return (card <= LIMITE_ARRAY) ? otimizar(bits, card) : this;
+        }
+
+        @Override
+        Conteiner copiar() {
+            return new ConteinerBitmap(bits.clone(), card);
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer acao) {
+            for (int w = 0; w < PALAVRAS; w++) {
+                long palavra = bits[w];
+                while (palavra != 0) {
+                    acao.accept(base | (w << 6) + Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+        }
+
+        @Override
+        long[] comoBits() {
+            return bits;
+        }
+    }
+
+    // --- operações entre contêineres ---
+
+    private static Conteiner and(Conteiner a, Conteiner b) {
+        if (a instanceof ConteinerArray && b instanceof ConteinerArray) {
+            ConteinerArray x = (ConteinerArray) a, y = (ConteinerArray) b;
+            char[] out = new char[Math.min(x.card, y.card)];
+            int i = 0, j = 0, k = 0;
+            while (i < x.card && j < y.card) {
+                char vx = x.valores[i], vy = y.valores[j];
+                if (vx < vy) i++;
+                else if (vx > vy) j++;
+                else { out[k++] = vx; i++; j++; }
+            }
+            return (k == 0) ? null : new ConteinerArray(out, k);
+        }
+        if (a instanceof ConteinerArray || b instanceof ConteinerArray) {
+            ConteinerArray x = (ConteinerArray) ((a instanceof ConteinerArray) ? a : b);
+            Conteiner y = (x == a) ? b : a;
+            char[] out = new char[x.card];
+            int k = 0;
+            for (int i = 0; i < x.card; i++) {
+                if (y.contem(x.valores[i])) out[k++] = x.valores[i];
+            }
+            return (k == 0) ? null : new ConteinerArray(out, k);
+        }
+        long[] bx = a.comoBits(), by = b.comoBits();
+        long[] out = new long[PALAVRAS];
+        int card = 0;
+        for (int w = 0; w < PALAVRAS; w++) {
+            out[w] = bx[w] & by[w];
+            card += Long.bitCount(out[w]);
+        }
+        return Conteiner.otimizar(out, card);
+    }
+
+    private static Conteiner or(Conteiner a, Conteiner b) {
+        if (a instanceof ConteinerArray && b instanceof ConteinerArray
+                && a.cardinalidade() + b.cardinalidade() <= LIMITE_ARRAY) {
+            ConteinerArray x = (ConteinerArray) a, y = (ConteinerArray) b;
+            char[] out = new char[x.card + y.card];
+            int i = 0, j = 0, k = 0;
+            while (i < x.card && j < y.card) {
+                char vx = x.valores[i], vy = y.valores[j];
+                if (vx < vy) out[k++] = x.valores[i++];
+                else if (vx > vy) out[k++] = y.valores[j++];
+                else { out[k++] = vx; i++; j++; }
+            }
+            while (i < x.card) out[k++] = x.valores[i++];
+            while (j < y.card) out[k++] = y.valores[j++];
+            return new ConteinerArray(out, k);
+        }
+        long[] bx = a.comoBits(), by = b.comoBits();
+        long[] out = new long[PALAVRAS];
+        int card = 0;
+        for (int w = 0; w < PALAVRAS; w++) {
+            out[w] = bx[w] | by[w];
+            card += Long.bitCount(out[w]);
+        }
+        return Conteiner.otimizar(out, card);
+    }
+
+    private static Conteiner andNot(Conteiner a, Conteiner b) {
+        if (a instanceof ConteinerArray) {
+            ConteinerArray x = (ConteinerArray) a;
+            char[] out = new char[x.card];
+            int k = 0;
+            for (int i = 0; i < x.card; i++) {
+                if (!b.contem(x.valores[i])) out[k++] = x.valores[i];
+            }
+            return (k == 0) ? null : new ConteinerArray(out, k);
+        }
+        long[] bx = a.comoBits(), by = b.comoBits();
+        long[] out = new long[PALAVRAS];
+        int card = 0;
+        for (int w = 0; w < PALAVRAS; w++) {
+            out[w] = bx[w] & ~by[w];
+            card += Long.bitCount(out[w]);
+        }
+        return Conteiner.otimizar(out, card);
+    }
+
+    // --- estrutura de primeiro nível: chaves (16 bits altos) ordenadas e seus contêineres ---
+
+    private char[] chaves;
+    private Conteiner[] conteineres;
+    private int tamanho;
+
+    public BitmapCompacto() {
+        this(new char[4], new Conteiner[4], 0);
+    }
+
+    private BitmapCompacto(char[] chaves, Conteiner[] conteineres, int tamanho) {
+        this.chaves = chaves;
+        this.conteineres = conteineres;
+        this.tamanho = tamanho;
+    }
+
+    private int posicao(char chave) {
+        return Arrays.binarySearch(chaves, 0, tamanho, chave);
+    }
+
+    private static void validar(int valor) {
+        if (valor < 0) throw new IllegalArgumentException("valor deve ser não negativo: " + valor);
+    }
+
+    /**
+     * Adiciona o valor ao conjunto.
+     */
+    public void adicionar(int valor) {
+        validar(valor);
+        char alto = (char) (valor >>> 16);
+        int pos = posicao(alto);
+        if (pos >= 0) {
+            conteineres[pos] = conteineres[pos].adicionar((char) valor);
+            return;
+        }
+        pos = -pos - 1;
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            conteineres = Arrays.copyOf(conteineres, tamanho * 2);
+        }
+        System.arraycopy(chaves, pos, chaves, pos + 1, tamanho - pos);
+        System.arraycopy(conteineres, pos, conteineres, pos + 1, tamanho - pos);
+        chaves[pos] = alto;
+        conteineres[pos] = new ConteinerArray(new char[]{(char) valor}, 1);
+        tamanho++;
+    }
+
+    /**
+     * Remove o valor do conjunto, se presente.
+     */
+    public void remover(int valor) {
+        if (valor < 0) return;
+        int pos = posicao((char) (valor >>> 16));
+        if (pos < 0) return;
+        Conteiner c = conteineres[pos].remover((char) valor);
+        if (c != null) {
+            conteineres[pos] = c;
+            return;
+        }
+        System.arraycopy(chaves, pos + 1, chaves, pos, tamanho - pos - 1);
+        System.arraycopy(conteineres, pos + 1, conteineres, pos, tamanho - pos - 1);
+        tamanho--;
+        conteineres[tamanho] = null;
+    }
+
+    public boolean contem(int valor) {
+        if (valor < 0) return false;
+        int pos = posicao((char) (valor >>> 16));
+        return pos >= 0 && conteineres[pos].contem((char) valor);
+    }
+
+    /**
+     * Quantidade de valores no conjunto.
+     */
+    public int cardinalidade() {
+        int total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += conteineres[i].cardinalidade();
+        }
+        return total;
+    }
+
+    public boolean vazio() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Interseção (AND) com outro bitmap.
+     */
+    public BitmapCompacto and(BitmapCompacto outro) {
+        BitmapCompacto r = new BitmapCompacto(new char[Math.max(1, Math.min(tamanho, outro.tamanho))],
+                new Conteiner[Math.max(1, Math.min(tamanho, outro.tamanho))], 0);
+        int i = 0, j = 0;
+        while (i < tamanho && j < outro.tamanho) {
+            char a = chaves[i], b = outro.chaves[j];
+            if (a < b) i++;
+            else if (a > b) j++;
+            else {
+                r.anexar(a, and(conteineres[i++], outro.conteineres[j++]));
+            }
+        }
+        return r;
+    }
+
+    /**
+     * União (OR) com outro bitmap.
+     */
+    public BitmapCompacto or(BitmapCompacto outro) {
+        BitmapCompacto r = new BitmapCompacto(new char[Math.max(1, tamanho + outro.tamanho)],
+                new Conteiner[Math.max(1, tamanho + outro.tamanho)], 0);
+        int i = 0, j = 0;
+        while (i < tamanho || j < outro.tamanho) {
+            if (j == outro.tamanho || (i < tamanho && chaves[i] < outro.chaves[j])) {
+                r.anexar(chaves[i], conteineres[i++].copiar());
+            } else if (i == tamanho || outro.chaves[j] < chaves[i]) {
+                r.anexar(outro.chaves[j], outro.conteineres[j++].copiar());
+            } else {
+                r.anexar(chaves[i], or(conteineres[i++], outro.conteineres[j++]));
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Diferença (AND NOT): valores deste bitmap ausentes no outro.
+     * A negação de um atributo é expressa como universo.andNot(atributo).
+     */
+    public BitmapCompacto andNot(BitmapCompacto outro) {
+        BitmapCompacto r = new BitmapCompacto(new char[Math.max(1, tamanho)], new Conteiner[Math.max(1, tamanho)], 0);
+        int i = 0, j = 0;
+        while (i < tamanho) {
+            if (j == outro.tamanho || chaves[i] < outro.chaves[j]) {
+                r.anexar(chaves[i], conteineres[i++].copiar());
+            } else if (outro.chaves[j] < chaves[i]) {
+                j++;
+            } else {
+                r.anexar(chaves[i], andNot(conteineres[i++], outro.conteineres[j++]));
+            }
+        }
+        return r;
+    }
+
+    // acrescenta ao final (chaves chegam em ordem crescente nas operações)
+    private void anexar(char chave, Conteiner c) {
+        if (c == null) return;
+        chaves[tamanho] = chave;
+        conteineres[tamanho++] = c;
+    }
+
+    /**
+     * Cópia independente deste bitmap.
+     */
+    public BitmapCompacto copiar() {
+        BitmapCompacto r = new BitmapCompacto(Arrays.copyOf(chaves, Math.max(1, tamanho)),
+                new Conteiner[Math.max(1, tamanho)], tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            r.conteineres[i] = conteineres[i].copiar();
+        }
+        return r;
+    }
+
+    /**
+     * Aplica a ação a cada valor, em ordem crescente.
+     */
+    public void paraCada(IntConsumer acao) {
+        for (int i = 0; i < tamanho; i++) {
+            conteineres[i].paraCada(chaves[i] << 16, acao);
+        }
+    }
+
+    /**
+     * Iterador preguiçoso dos valores em ordem crescente.
+     */
+    public PrimitiveIterator.OfInt iterador() {
+        return new PrimitiveIterator.OfInt() {
+            private int bloco = -1;
+            private int base;
+            private Conteiner atual;
+            private int posicao;     // índice no array ou palavra no bitmap
+            private long palavra;    // bits restantes da palavra atual (bitmap)
+            private int proximo = -1;
+
+            {
+                avancar();
+            }
+
+            private void avancar() {
+                while (true) {
+                    if (atual instanceof ConteinerArray) {
+                        ConteinerArray a = (ConteinerArray) atual;
+                        if (posicao < a.card) {
+                            proximo = base | a.valores[posicao++];
+                            return;
+                        }
+                    } else if (atual instanceof ConteinerBitmap) {
+                        long[] bits = ((ConteinerBitmap) atual).bits;
+                        while (palavra == 0 && posicao < PALAVRAS) {
+                            palavra = bits[posicao++];
+                        }
+                        if (palavra != 0) {
+                            proximo = base | ((posicao - 1) << 6) + Long.numberOfTrailingZeros(palavra);
+                            palavra &= palavra - 1;
+                            return;
+                        }
+                    }
+                    if (++bloco >= tamanho) {
+                        proximo = -1;
+                        return;
+                    }
+                    atual = conteineres[bloco];
+                    base = chaves[bloco] << 16;
+                    posicao = 0;
+                    palavra = 0;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return proximo >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (proximo < 0) throw new NoSuchElementException();
+                int valor = proximo;
+                avancar();
+                return valor;
+            }
+        };
+    }
+}
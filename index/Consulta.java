@@ -0,0 +1,190 @@
+package index;
+
+import java.util.Comparator;
+
+import model.Produto;
+
+/**
+ * Consulta declarativa sobre produtos: filtros, ordenação e limite. Não diz como
+ * buscar; o {@link PlanejadorConsultas} escolhe o caminho de acesso mais barato.
+ *
+ * <pre>
+ * Consulta c = new Consulta()
+ *         .categoria("Alimentício")
+ *         .precoEntre(10.0, 50.0)
+ *         .ordenarPor(Consulta.Ordem.PRECO)
+ *         .limite(10);
+ * </pre>
+ *
+ * Intervalos são [de, ate), como em {@link GerenciadorIndices#buscarIntervalo}; um limite
+ * nulo deixa o intervalo aberto daquele lado. Filtros não informados não restringem.
+ */
+public final class Consulta {
+
+    /**
+     * Atributos de ordenação do resultado.
+     */
+    public enum Ordem {
+        NOME(Comparator.comparing(Produto::getNome)),
+        PRECO(Comparator.comparingDouble(Produto::getPreco)),
+        ESTOQUE(Comparator.comparingInt(Produto::getEstoque));
+
+        private final Comparator<Produto> comparador;
+
+        Ordem(Comparator<Produto> comparador) {
+            this.comparador = comparador;
+        }
+
+        public Comparator<Produto> comparador() {
+            return comparador;
+        }
+    }
+
+    private String id;
+    private String categoria;
+    private String produtorLocal;
+    private Double precoDe;
+    private Double precoAte;
+    private Integer estoqueDe;
+    private Integer estoqueAte;
+    private String prefixoNome;
+    private Ordem ordem;
+    private boolean decrescente;
+    private int limite = Integer.MAX_VALUE;
+
+    public Consulta id(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public Consulta categoria(String categoria) {
+        this.categoria = categoria;
+        return this;
+    }
+
+    public Consulta produtorLocal(String produtorLocal) {
+        this.produtorLocal = produtorLocal;
+        return this;
+    }
+
+    /**
+     * Preço em [de, ate).
+     */
+    public Consulta precoEntre(Double de, Double ate) {
+        this.precoDe = de;
+        this.precoAte = ate;
+        return this;
+    }
+
+    /**
+     * Estoque em [de, ate).
+     */
+    public Consulta estoqueEntre(Integer de, Integer ate) {
+        this.estoqueDe = de;
+        this.estoqueAte = ate;
+        return this;
+    }
+
+    /**
+     * Nome começando com o prefixo (diferencia maiúsculas, como o índice por nome).
+     */
+    public Consulta nomeComPrefixo(String prefixo) {
+        this.prefixoNome = prefixo;
+        return this;
+    }
+
+    /**
+     * Resultado em ordem crescente do atributo.
+     */
+    public Consulta ordenarPor(Ordem ordem) {
+        this.ordem = ordem;
+        this.decrescente = false;
+        return this;
+    }
+
+    /**
+     * Resultado em ordem decrescente do atributo.
+     */
+    public Consulta ordenarPorDecrescente(Ordem ordem) {
+        this.ordem = ordem;
+        this.decrescente = true;
+        return this;
+    }
+
+    /**
+     * Quantidade máxima de itens no resultado.
+     */
+    public Consulta limite(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        this.limite = limite;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public String getProdutorLocal() {
+        return produtorLocal;
+    }
+
+    public Double getPrecoDe() {
+        return precoDe;
+    }
+
+    public Double getPrecoAte() {
+        return precoAte;
+    }
+
+    public Integer getEstoqueDe() {
+        return estoqueDe;
+    }
+
+    public Integer getEstoqueAte() {
+        return estoqueAte;
+    }
+
+    public String getPrefixoNome() {
+        return prefixoNome;
+    }
+
+    public Ordem getOrdem() {
+        return ordem;
+    }
+
+    public boolean isDecrescente() {
+        return decrescente;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    boolean filtraPreco() {
+        return precoDe != null || precoAte != null;
+    }
+
+    boolean filtraEstoque() {
+        return estoqueDe != null || estoqueAte != null;
+    }
+
+    /**
+     * Verdadeiro se o produto satisfaz todos os filtros da consulta.
+     */
+    public boolean aceita(Produto produto) {
+        return (id == null || id.equals(produto.getId()))
+                && (categoria == null || categoria.equals(produto.getCategoria()))
+                && (produtorLocal == null || produtorLocal.equals(produto.getProdutorLocal()))
+                && (precoDe == null || produto.getPreco() >= precoDe)
+                && (precoAte == null || produto.getPreco() < precoAte)
+                && (estoqueDe == null || produto.getEstoque() >= estoqueDe)
+                && (estoqueAte == null || produto.getEstoque() < estoqueAte)
+                && (prefixoNome == null || (produto.getNome() != null && produto.getNome().startsWith(prefixoNome)));
+    }
+}
@@ -0,0 +1,302 @@
+package index;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import algorithm.ArvoreAVL;
+import model.Indexado;
+import repository.IndiceOrdenado;
+import repository.IndiceRepositorio;
+
+/**
+ * Mantém índices secundários para os atributos marcados com {@link Indexado}.
+ *
+ * Os atributos são descobertos por reflexão uma única vez, na construção. A leitura
+ * de cada atributo usa uma Function gerada com LambdaMetafactory a partir do getter
+ * público (ou um MethodHandle direto para o atributo, se não houver getter), sem
+ * reflexão a cada chamada. Índices HASH usam HashMap; índices ORDENADO usam ArvoreAVL
+ * e aceitam consultas de intervalo.
+ *
+ * Registrado em um {@link repository.RepositorioIndexado}, é atualizado a cada cadastrar/remover.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+public class GerenciadorIndices<T> implements IndiceRepositorio<T> {
+
+    // Índice de um atributo: valor do atributo -> itens com esse valor
+    private static final class Campo<T> {
+        final String nome;
+        final Indexado.Tipo tipo;
+        final Class<?> tipoValor;
+        final Function<T, Object> leitor;
+        final Map<Object, Set<T>> hash;
+        @SuppressWarnings("rawtypes")
+        final ArvoreAVL ordenado;
+
+        Campo(String nome, Indexado.Tipo tipo, Class<?> tipoValor, Function<T, Object> leitor) {
+            this.nome = nome;
+            this.tipo = tipo;
+            this.tipoValor = tipoValor;
+            this.leitor = leitor;
+            this.hash = (tipo == Indexado.Tipo.HASH) ? new HashMap<>() : null;
+            this.ordenado = (tipo == Indexado.Tipo.ORDENADO) ? new ArvoreAVL<>() : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<T> grupo(Object valor) {
+            return (hash != null) ? hash.get(valor) : (Set<T>) ordenado.buscar((Comparable<?>) valor);
+        }
+
+        @SuppressWarnings("unchecked")
+        void adicionar(T item) {
+            Object valor = leitor.apply(item);
+            if (valor == null) return;
+            Set<T> grupo = grupo(valor);
+            if (grupo == null) {
+                grupo = new LinkedHashSet<>();
+                if (hash != null) hash.put(valor, grupo); else ordenado.inserir((Comparable<?>) valor, grupo);
+            }
+            grupo.add(item);
+        }
+
+        // Agrupa o lote por valor em um HashMap e, nos índices ORDENADO, carrega os valores novos
+        // na árvore de uma vez (ordenados), em vez de uma busca na árvore por item
+        @SuppressWarnings("unchecked")
+        void adicionarLote(List<T> itens) {
+            if (hash != null) {
+                for (T item : itens) {
+                    adicionar(item);
+                }
+                return;
+            }
+            Map<Object, Set<T>> novos = new HashMap<>();
+            for (T item : itens) {
+                Object valor = leitor.apply(item);
+                if (valor != null) {
+                    novos.computeIfAbsent(valor, v -> new LinkedHashSet<>()).add(item);
+                }
+            }
+            List<Comparable<Object>> chaves = new ArrayList<>(novos.size());
+            for (Map.Entry<Object, Set<T>> entrada : novos.entrySet()) {
+                Set<T> existente = grupo(entrada.getKey());
+                if (existente != null) {
+                    existente.addAll(entrada.getValue());
+                } else {
+                    chaves.add((Comparable<Object>) entrada.getKey());
+                }
+            }
+            Collections.sort(chaves);
+            List<Set<T>> grupos = new ArrayList<>(chaves.size());
+            for (Object chave : chaves) {
+                grupos.add(novos.get(chave));
+            }
+            ordenado.carregarOrdenado(chaves, grupos);
+        }
+
+        @SuppressWarnings("unchecked")
+        void retirar(T item) {
+            Object valor = leitor.apply(item);
+            if (valor == null) return;
+            Set<T> grupo = grupo(valor);
+            if (grupo != null && grupo.remove(item) && grupo.isEmpty()) {
+                // remove a entrada vazia: memória proporcional apenas aos itens vivos
+                if (hash != null) hash.remove(valor); else ordenado.remover((Comparable<?>) valor);
+            }
+        }
+
+        // converte números para o tipo do atributo (ex.: 25 -> 25.0 para preço)
+        Object normalizar(Object valor) {
+            if (valor instanceof Number && valor.getClass() != tipoValor) {
+                Number numero = (Number) valor;
+                if (tipoValor == Double.class) return numero.doubleValue();
+                if (tipoValor == Integer.class) return numero.intValue();
+                if (tipoValor == Long.class) return numero.longValue();
+                if (tipoValor == Float.class) return numero.floatValue();
+            }
+            return valor;
+        }
+    }
+
+    private final Map<String, Campo<T>> campos = new LinkedHashMap<>();
+
+    /**
+     * Descobre os atributos anotados com @Indexado na classe e em suas superclasses.
+     * @param tipo classe das entidades indexadas
+     */
+    public GerenciadorIndices(Class<T> tipo) {
+        for (Class<?> classe = tipo; classe != null && classe != Object.class; classe = classe.getSuperclass()) {
+            for (Field field : classe.getDeclaredFields()) {
+                Indexado indexado = field.getAnnotation(Indexado.class);
+                if (indexado != null) {
+                    Class<?> tipoValor = MethodType.methodType(field.getType()).wrap().returnType();
+                    campos.put(field.getName(), new Campo<>(field.getName(), indexado.tipo(), tipoValor, criarLeitor(classe, field)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gera a função de leitura do atributo: getter público via LambdaMetafactory
+     * ou, na falta dele, um MethodHandle de acesso direto ao atributo.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> criarLeitor(Class<?> dono, Field field) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        String nome = field.getName();
+        String sufixo = Character.toUpperCase(nome.charAt(0)) + nome.substring(1);
+        try {
+            try {
+                Method getter = dono.getMethod("get" + sufixo);
+                if (getter.getReturnType() == field.getType()) {
+                    MethodHandle alvo = lookup.unreflect(getter);
+                    CallSite site = LambdaMetafactory.metafactory(
+                            lookup,
+                            "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            alvo,
+                            alvo.type().wrap().changeReturnType(MethodType.methodType(field.getType()).wrap().returnType()));
+                    return (Function<T, Object>) site.getTarget().invoke();
+                }
+            } catch (NoSuchMethodException e) {
+                // sem getter público: usa o atributo diretamente
+            }
+            MethodHandle acesso = MethodHandles.privateLookupIn(dono, lookup)
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return item -> {
+                try {
+                    return acesso.invokeExact(item);
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Falha ao ler o atributo " + nome, t);
+                }
+            };
+        } catch (Throwable t) {
+            throw new IllegalStateException("Não foi possível gerar o leitor do atributo " + nome, t);
+        }
+    }
+
+    private Campo<T> campo(String nome) {
+        Campo<T> campo = campos.get(nome);
+        if (campo == null) {
+            throw new IllegalArgumentException("Atributo não indexado: " + nome);
+        }
+        return campo;
+    }
+
+    @Override
+    public void indexar(T item) {
+        for (Campo<T> campo : campos.values()) {
+            campo.adicionar(item);
+        }
+    }
+
+    @Override
+    public void desindexar(T item) {
+        for (Campo<T> campo : campos.values()) {
+            campo.retirar(item);
+        }
+    }
+
+    @Override
+    public void indexarLote(List<T> itens) {
+        for (Campo<T> campo : campos.values()) {
+            campo.adicionarLote(itens);
+        }
+    }
+
+    /**
+     * Nomes dos atributos indexados, na ordem de declaração.
+     */
+    public Set<String> camposIndexados() {
+        return Collections.unmodifiableSet(campos.keySet());
+    }
+
+    /**
+     * Tipo do índice do atributo, ou null se o atributo não for indexado.
+     */
+    public Indexado.Tipo tipoIndice(String nomeCampo) {
+        Campo<T> campo = campos.get(nomeCampo);
+        return (campo == null) ? null : campo.tipo;
+    }
+
+    /**
+     * Itens cujo atributo é igual ao valor: O(1) para HASH, O(log n) para ORDENADO (mais o tamanho do resultado).
+     * @param nomeCampo nome do atributo anotado
+     * @param valor valor procurado
+     * @return lista (possivelmente vazia) dos itens encontrados
+     */
+    public List<T> buscar(String nomeCampo, Object valor) {
+        Campo<T> campo = campo(nomeCampo);
+        Set<T> grupo = (valor == null) ? null : campo.grupo(campo.normalizar(valor));
+        return (grupo == null) ? new ArrayList<>() : new ArrayList<>(grupo);
+    }
+
+    /**
+     * Quantidade de itens cujo atributo é igual ao valor, sem materializar a lista.
+     */
+    public int contar(String nomeCampo, Object valor) {
+        Campo<T> campo = campo(nomeCampo);
+        Set<T> grupo = (valor == null) ? null : campo.grupo(campo.normalizar(valor));
+        return (grupo == null) ? 0 : grupo.size();
+    }
+
+    /**
+     * Itens com o atributo no intervalo [de, ate), em ordem crescente do atributo.
+     * Disponível apenas para índices ORDENADO; limites nulos deixam o intervalo aberto.
+     */
+    public List<T> buscarIntervalo(String nomeCampo, Object de, Object ate) {
+        List<T> resultado = new ArrayList<>();
+        Iterator<Set<T>> grupos = grupos(nomeCampo, de, ate);
+        while (grupos.hasNext()) {
+            resultado.addAll(grupos.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Percorre, sob demanda, os itens com o atributo no intervalo [de, ate), em ordem
+     * crescente do atributo; parar no meio não custa o restante do intervalo.
+     * Não deve ser usado durante escritas no índice.
+     */
+    public Iterator<T> iteradorIntervalo(String nomeCampo, Object de, Object ate) {
+        return IndiceOrdenado.achatar(grupos(nomeCampo, de, ate));
+    }
+
+    /**
+     * Quantidade de itens com o atributo no intervalo [de, ate), contando no máximo até
+     * 'maximo' (estimativas de custo que só precisam saber se o intervalo é pequeno).
+     */
+    public int contarIntervalo(String nomeCampo, Object de, Object ate, int maximo) {
+        int total = 0;
+        Iterator<Set<T>> grupos = grupos(nomeCampo, de, ate);
+        while (total < maximo && grupos.hasNext()) {
+            total += grupos.next().size();
+        }
+        return Math.min(total, maximo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<Set<T>> grupos(String nomeCampo, Object de, Object ate) {
+        Campo<T> campo = campo(nomeCampo);
+        if (campo.tipo != Indexado.Tipo.ORDENADO) {
+            throw new IllegalArgumentException("Atributo sem índice ordenado: " + nomeCampo);
+        }
+        return campo.ordenado.iterador((Comparable<?>) campo.normalizar(de), (Comparable<?>) campo.normalizar(ate));
+    }
+}
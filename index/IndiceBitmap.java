@@ -0,0 +1,194 @@
+package index;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.Function;
+
+import repository.IndiceRepositorio;
+
+/**
+ * Índices bitmap para atributos de baixa cardinalidade (ex.: categoria, produtor).
+ *
+ * Cada item recebe um ordinal denso (ordinais liberados por remoções são reaproveitados)
+ * e cada valor distinto de cada atributo registrado mantém um {@link BitmapCompacto}
+ * com os ordinais dos itens que o possuem. Filtros combinados viram operações
+ * AND/OR/ANDNOT entre bitmaps, sem percorrer o catálogo:
+ *
+ * <pre>
+ * BitmapCompacto r = idx.bitmap("categoria", "Alimentício")
+ *         .and(idx.bitmap("produtor", "Fazenda Pura"))
+ *         .andNot(idx.bitmap("semEstoque", true));
+ * for (Produto p : idx.materializar(r)) { ... }
+ * </pre>
+ *
+ * Registrado em um {@link repository.RepositorioIndexado}, é atualizado a cada cadastrar/remover.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+public class IndiceBitmap<T> implements IndiceRepositorio<T> {
+
+    // Atributo indexado: valor -> bitmap de ordinais
+    private static final class Atributo<T> {
+        final Function<T, ?> extrator;
+        final Map<Object, BitmapCompacto> bitmaps = new HashMap<>();
+
+        Atributo(Function<T, ?> extrator) {
+            this.extrator = extrator;
+        }
+    }
+
+    private final Function<T, String> extratorId;
+    private final Map<String, Atributo<T>> atributos = new LinkedHashMap<>();
+
+    // ID -> ordinal e ordinal -> item
+    private final TabelaOrdinais<T> ordinais = new TabelaOrdinais<>();
+
+    // Ordinais de todos os itens vivos (universo para a negação)
+    private final BitmapCompacto vivos = new BitmapCompacto();
+
+    /**
+     * @param extratorId função que extrai o identificador único de cada entidade
+     */
+    public IndiceBitmap(Function<T, String> extratorId) {
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+    }
+
+    /**
+     * Registra um atributo a ser indexado. Deve ser chamado antes de indexar itens
+     * (isto é, antes de registrar o índice no repositório).
+     * @param nome nome usado nas consultas
+     * @param extrator função que extrai o valor do atributo (ex.: Produto::getCategoria,
+     *                 ou um predicado como p -> p.getEstoque() == 0)
+     */
+    public IndiceBitmap<T> adicionarAtributo(String nome, Function<T, ?> extrator) {
+        if (!ordinais.vazia()) {
+            throw new IllegalStateException("Atributos devem ser registrados antes da indexação.");
+        }
+        atributos.put(Objects.requireNonNull(nome, "O nome não pode ser nulo."),
+                new Atributo<>(Objects.requireNonNull(extrator, "O extrator não pode ser nulo.")));
+        return this;
+    }
+
+    @Override
+    public void indexar(T item) {
+        String id = extratorId.apply(item);
+        int existente = ordinais.ordinal(id);
+        if (existente != TabelaOrdinais.AUSENTE) {
+            // mesmo ID já indexado: substitui a versão anterior
+            desindexar(id, existente);
+        }
+        int ordinal = ordinais.alocar(id, item);
+        vivos.adicionar(ordinal);
+        for (Atributo<T> atributo : atributos.values()) {
+            Object valor = atributo.extrator.apply(item);
+            if (valor != null) {
+                atributo.bitmaps.computeIfAbsent(valor, v -> new BitmapCompacto()).adicionar(ordinal);
+            }
+        }
+    }
+
+    @Override
+    public void desindexar(T item) {
+        String id = extratorId.apply(item);
+        int ordinal = ordinais.ordinal(id);
+        if (ordinal != TabelaOrdinais.AUSENTE && ordinais.item(ordinal) == item) {
+            desindexar(id, ordinal);
+        }
+    }
+
+    private void desindexar(String id, int ordinal) {
+        T item = ordinais.item(ordinal);
+        for (Atributo<T> atributo : atributos.values()) {
+            Object valor = atributo.extrator.apply(item);
+            BitmapCompacto bitmap = (valor == null) ? null : atributo.bitmaps.get(valor);
+            if (bitmap != null) {
+                bitmap.remover(ordinal);
+                if (bitmap.vazio()) {
+                    atributo.bitmaps.remove(valor);
+                }
+            }
+        }
+        vivos.remover(ordinal);
+        ordinais.liberar(id, ordinal);
+    }
+
+    /**
+     * Bitmap dos itens cujo atributo tem o valor dado (vazio se não houver).
+     * O bitmap devolvido é uma cópia: pode ser combinado e guardado livremente.
+     */
+    public BitmapCompacto bitmap(String atributo, Object valor) {
+        Atributo<T> a = atributos.get(atributo);
+        if (a == null) {
+            throw new IllegalArgumentException("Atributo não indexado: " + atributo);
+        }
+        BitmapCompacto bitmap = a.bitmaps.get(valor);
+        return (bitmap == null) ? new BitmapCompacto() : bitmap.copiar();
+    }
+
+    /**
+     * Bitmap de todos os itens vivos; base para negações (todos().andNot(x)).
+     */
+    public BitmapCompacto todos() {
+        return vivos.copiar();
+    }
+
+    /**
+     * Nomes dos atributos registrados, na ordem de registro.
+     */
+    public Set<String> atributos() {
+        return Collections.unmodifiableSet(atributos.keySet());
+    }
+
+    /**
+     * Valores distintos atualmente indexados para o atributo.
+     */
+    public Set<Object> valores(String atributo) {
+        Atributo<T> a = atributos.get(atributo);
+        if (a == null) {
+            throw new IllegalArgumentException("Atributo não indexado: " + atributo);
+        }
+        return Collections.unmodifiableSet(a.bitmaps.keySet());
+    }
+
+    /**
+     * Converte um bitmap de resultado em itens, de forma preguiçosa (um item por next()).
+     * Deve ser usado antes de novas escritas no índice: ordinais removidos são ignorados,
+     * mas um ordinal reaproveitado passaria a apontar para outro item.
+     */
+    public Iterable<T> materializar(BitmapCompacto resultado) {
+        return () -> new Iterator<T>() {
+            private final PrimitiveIterator.OfInt ordinaisResultado = resultado.iterador();
+            private T proximo = buscarProximo();
+
+            private T buscarProximo() {
+                while (ordinaisResultado.hasNext()) {
+                    T item = ordinais.item(ordinaisResultado.nextInt());
+                    if (item != null) {
+                        return item;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return proximo != null;
+            }
+
+            @Override
+            public T next() {
+                if (proximo == null) throw new NoSuchElementException();
+                T item = proximo;
+                proximo = buscarProximo();
+                return item;
+            }
+        };
+    }
+}
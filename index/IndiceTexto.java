@@ -0,0 +1,476 @@
+package index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.Function;
+
+import repository.IndiceRepositorio;
+
+/**
+ * Índice de busca textual (ex.: nome e produtor de produtos), sem diferenciar acentos
+ * nem maiúsculas: "mel organico" encontra "Mel Orgânico".
+ *
+ * Os textos são normalizados (decomposição Unicode sem marcas diacríticas, minúsculas,
+ * pontuação como espaço) e quebrados em palavras. Duas estruturas são mantidas:
+ * - Trie das palavras, para autocompletar por prefixo ("caf go" -> "Café Gourmet Moído").
+ * - Índice invertido de trigramas das palavras, para busca por trecho ("eleia" -> "Geleia").
+ *   Os candidatos são a interseção das listas dos trigramas da consulta, conferidos
+ *   depois no texto normalizado.
+ *
+ * Como no {@link IndiceBitmap}, cada item recebe um ordinal denso e as listas de postagem
+ * são {@link BitmapCompacto}: incluir ou retirar um ordinal desloca no máximo um contêiner
+ * de 4096 valores (ou liga um bit), em vez da lista inteira, e a interseção dos trigramas
+ * é feita bloco a bloco. Registrado em um {@link repository.RepositorioIndexado},
+ * acompanha cada cadastrar/remover.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+public class IndiceTexto<T> implements IndiceRepositorio<T> {
+
+    private static final int N = 3;
+
+    /**
+     * Nó da trie: filhos por caractere (arrays ordenados) e os itens em que a
+     * palavra que termina aqui aparece (null se nenhuma termina aqui).
+     */
+    private static final class NoTrie {
+        private static final char[] SEM_CHAVES = new char[0];
+        private static final NoTrie[] SEM_FILHOS = new NoTrie[0];
+
+        char[] chaves = SEM_CHAVES;
+        NoTrie[] filhos = SEM_FILHOS;
+        BitmapCompacto postagens;
+
+        NoTrie filho(char c) {
+            int posicao = Arrays.binarySearch(chaves, c);
+            return (posicao >= 0) ? filhos[posicao] : null;
+        }
+
+        NoTrie filhoOuNovo(char c) {
+            int posicao = Arrays.binarySearch(chaves, c);
+            if (posicao >= 0) {
+                return filhos[posicao];
+            }
+            posicao = -posicao - 1;
+            int n = chaves.length;
+            char[] novasChaves = new char[n + 1];
+            NoTrie[] novosFilhos = new NoTrie[n + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, posicao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            System.arraycopy(chaves, posicao, novasChaves, posicao + 1, n - posicao);
+            System.arraycopy(filhos, posicao, novosFilhos, posicao + 1, n - posicao);
+            novasChaves[posicao] = c;
+            novosFilhos[posicao] = new NoTrie();
+            chaves = novasChaves;
+            filhos = novosFilhos;
+            return novosFilhos[posicao];
+        }
+
+        void removerFilho(char c) {
+            int posicao = Arrays.binarySearch(chaves, c);
+            if (posicao < 0) return;
+            int n = chaves.length;
+            char[] novasChaves = new char[n - 1];
+            NoTrie[] novosFilhos = new NoTrie[n - 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, posicao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            System.arraycopy(chaves, posicao + 1, novasChaves, posicao, n - posicao - 1);
+            System.arraycopy(filhos, posicao + 1, novosFilhos, posicao, n - posicao - 1);
+            chaves = novasChaves;
+            filhos = novosFilhos;
+        }
+
+        boolean vazio() {
+            return postagens == null && chaves.length == 0;
+        }
+    }
+
+    private final Function<T, String> extratorId;
+    private final List<Function<T, String>> campos = new ArrayList<>();
+
+    private final NoTrie raiz = new NoTrie();
+    // trigrama (3 chars em um long) -> itens que o contêm
+    private final Map<Long, BitmapCompacto> trigramas = new HashMap<>();
+
+    // ID -> ordinal -> item e, por ordinal, o texto normalizado (campos separados por espaço)
+    private final TabelaOrdinais<T> ordinais = new TabelaOrdinais<>();
+    private String[] textos = new String[16];
+
+    /**
+     * @param extratorId função que extrai o identificador único de cada entidade
+     */
+    public IndiceTexto(Function<T, String> extratorId) {
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+    }
+
+    /**
+     * Registra um campo de texto a ser indexado (ex.: Produto::getNome). Deve ser chamado
+     * antes de indexar itens (isto é, antes de registrar o índice no repositório).
+     */
+    public IndiceTexto<T> adicionarCampo(Function<T, String> extrator) {
+        if (!ordinais.vazia()) {
+            throw new IllegalStateException("Campos devem ser registrados antes da indexação.");
+        }
+        campos.add(Objects.requireNonNull(extrator, "O extrator não pode ser nulo."));
+        return this;
+    }
+
+    // --- Normalização ---
+
+    /**
+     * Normaliza o texto para busca: remove acentos (decomposição NFD sem marcas), converte
+     * para minúsculas e troca qualquer caractere que não seja letra ou dígito por um espaço
+     * (espaços repetidos colapsados). Ex.: "Café  Gourmet-Moído" -> "cafe gourmet moido".
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 128;
+        }
+        String decomposto = ascii ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        boolean espaco = true;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalizado.append(Character.toLowerCase(c));
+                espaco = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && !espaco) {
+                normalizado.append(' ');
+                espaco = true;
+            }
+        }
+        int fim = normalizado.length();
+        if (fim > 0 && normalizado.charAt(fim - 1) == ' ') {
+            normalizado.setLength(fim - 1);
+        }
+        return normalizado.toString();
+    }
+
+    private static String[] palavras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    private static long trigrama(String palavra, int inicio) {
+        return ((long) palavra.charAt(inicio) << 32) | ((long) palavra.charAt(inicio + 1) << 16) | palavra.charAt(inicio + 2);
+    }
+
+    // Palavras distintas do texto, em ordem alfabética
+    private static String[] palavrasDistintas(String normalizado) {
+        String[] palavras = palavras(normalizado);
+        Arrays.sort(palavras);
+        int distintas = 0;
+        for (int i = 0; i < palavras.length; i++) {
+            if (i == 0 || !palavras[i].equals(palavras[distintas - 1])) {
+                palavras[distintas++] = palavras[i];
+            }
+        }
+        return Arrays.copyOf(palavras, distintas);
+    }
+
+    // Trigramas distintos das palavras, em um long[] ordenado (sem objetos por trigrama)
+    private static long[] trigramasDistintos(String[] palavras) {
+        int total = 0;
+        for (String palavra : palavras) {
+            total += Math.max(0, palavra.length() - N + 1);
+        }
+        long[] resultado = new long[total];
+        int n = 0;
+        for (String palavra : palavras) {
+            for (int i = 0; i + N <= palavra.length(); i++) {
+                resultado[n++] = trigrama(palavra, i);
+            }
+        }
+        Arrays.sort(resultado);
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || resultado[i] != resultado[distintos - 1]) {
+                resultado[distintos++] = resultado[i];
+            }
+        }
+        return Arrays.copyOf(resultado, distintos);
+    }
+
+    // --- IndiceRepositorio ---
+
+    @Override
+    public void indexar(T item) {
+        String id = extratorId.apply(item);
+        int existente = ordinais.ordinal(id);
+        if (existente != TabelaOrdinais.AUSENTE) {
+            // mesmo ID já indexado: substitui a versão anterior
+            desindexar(id, existente);
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Function<T, String> campo : campos) {
+            String normalizado = normalizar(campo.apply(item));
+            if (!normalizado.isEmpty()) {
+                if (texto.length() > 0) texto.append(' ');
+                texto.append(normalizado);
+            }
+        }
+        int ordinal = ordinais.alocar(id, item);
+        if (ordinal == textos.length) {
+            textos = Arrays.copyOf(textos, textos.length * 2);
+        }
+        textos[ordinal] = texto.toString();
+
+        String[] palavras = palavrasDistintas(textos[ordinal]);
+        for (String palavra : palavras) {
+            NoTrie no = raiz;
+            for (int i = 0; i < palavra.length(); i++) {
+                no = no.filhoOuNovo(palavra.charAt(i));
+            }
+            if (no.postagens == null) {
+                no.postagens = new BitmapCompacto();
+            }
+            no.postagens.adicionar(ordinal);
+        }
+        for (long trigrama : trigramasDistintos(palavras)) {
+            trigramas.computeIfAbsent(trigrama, t -> new BitmapCompacto()).adicionar(ordinal);
+        }
+    }
+
+    @Override
+    public void desindexar(T item) {
+        String id = extratorId.apply(item);
+        int ordinal = ordinais.ordinal(id);
+        if (ordinal != TabelaOrdinais.AUSENTE && ordinais.item(ordinal) == item) {
+            desindexar(id, ordinal);
+        }
+    }
+
+    private void desindexar(String id, int ordinal) {
+        String[] palavras = palavrasDistintas(textos[ordinal]);
+        for (String palavra : palavras) {
+            removerDaTrie(palavra, ordinal);
+        }
+        for (long trigrama : trigramasDistintos(palavras)) {
+            BitmapCompacto lista = trigramas.get(trigrama);
+            if (lista != null) {
+                lista.remover(ordinal);
+                if (lista.vazio()) {
+                    trigramas.remove(trigrama);
+                }
+            }
+        }
+        ordinais.liberar(id, ordinal);
+        textos[ordinal] = null;
+    }
+
+    // Remove o ordinal da palavra e poda os nós que ficaram sem palavras abaixo deles
+    private void removerDaTrie(String palavra, int ordinal) {
+        NoTrie[] caminho = new NoTrie[palavra.length() + 1];
+        caminho[0] = raiz;
+        for (int i = 0; i < palavra.length(); i++) {
+            caminho[i + 1] = caminho[i].filho(palavra.charAt(i));
+            if (caminho[i + 1] == null) return;
+        }
+        NoTrie fim = caminho[palavra.length()];
+        if (fim.postagens == null) return;
+        fim.postagens.remover(ordinal);
+        if (fim.postagens.vazio()) {
+            fim.postagens = null;
+        }
+        for (int i = palavra.length(); i > 0 && caminho[i].vazio(); i--) {
+            caminho[i - 1].removerFilho(palavra.charAt(i - 1));
+        }
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Quantidade de itens indexados.
+     */
+    public int tamanho() {
+        return ordinais.tamanho();
+    }
+
+    /**
+     * Itens cujo texto contém todas as palavras da consulta, cada uma como trecho de alguma
+     * palavra do item (ex.: "organ mel" ou "eleia"). Acentos e maiúsculas são ignorados.
+     * Palavras com ao menos 3 caracteres usam o índice de trigramas; se a consulta só tiver
+     * palavras menores, os textos são percorridos.
+     */
+    public List<T> buscar(String consulta) {
+        String[] termos = palavras(normalizar(consulta));
+        List<T> resultado = new ArrayList<>();
+        if (termos.length == 0) {
+            return resultado;
+        }
+        int[] candidatos = candidatos(termos);
+        if (candidatos == null) {
+            // nenhum termo com trigramas: confere todos os textos
+            for (int ordinal = 0; ordinal < ordinais.limite(); ordinal++) {
+                if (textos[ordinal] != null && contemTodos(textos[ordinal], termos)) {
+                    resultado.add(item(ordinal));
+                }
+            }
+            return resultado;
+        }
+        for (int ordinal : candidatos) {
+            if (contemTodos(textos[ordinal], termos)) {
+                resultado.add(item(ordinal));
+            }
+        }
+        return resultado;
+    }
+
+    // Interseção das listas dos trigramas de todos os termos, começando pela menor;
+    // null se nenhum termo tem trigramas
+    private int[] candidatos(String[] termos) {
+        List<BitmapCompacto> listas = new ArrayList<>();
+        for (String termo : termos) {
+            for (int i = 0; i + N <= termo.length(); i++) {
+                BitmapCompacto lista = trigramas.get(trigrama(termo, i));
+                if (lista == null) {
+                    return new int[0];
+                }
+                listas.add(lista);
+            }
+        }
+        if (listas.isEmpty()) {
+            return null;
+        }
+        listas.sort(Comparator.comparingInt(BitmapCompacto::cardinalidade));
+        BitmapCompacto resultado = listas.get(0);
+        for (int l = 1; l < listas.size() && !resultado.vazio(); l++) {
+            resultado = resultado.and(listas.get(l));
+        }
+        int[] ordinaisCandidatos = new int[resultado.cardinalidade()];
+        PrimitiveIterator.OfInt it = resultado.iterador();
+        for (int i = 0; i < ordinaisCandidatos.length; i++) {
+            ordinaisCandidatos[i] = it.nextInt();
+        }
+        return ordinaisCandidatos;
+    }
+
+    private static boolean contemTodos(String texto, String[] termos) {
+        for (String termo : termos) {
+            if (!texto.contains(termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Autocompletar: até 'limite' itens em que cada palavra da consulta é início de alguma
+     * palavra do item (ex.: "caf go" -> "Café Gourmet Moído").
+     */
+    public List<T> autocompletar(String prefixo, int limite) {
+        String[] termos = palavras(normalizar(prefixo));
+        List<T> resultado = new ArrayList<>();
+        if (termos.length == 0 || limite <= 0) {
+            return resultado;
+        }
+        // a menor subárvore entre os termos fornece os candidatos; os demais termos são
+        // conferidos no texto normalizado, até completar o limite
+        NoTrie no = null;
+        int menor = Integer.MAX_VALUE;
+        for (String termo : termos) {
+            NoTrie candidato = descer(termo);
+            if (candidato == null) {
+                return resultado;
+            }
+            // com um único termo não há o que comparar; a contagem para ao passar da menor
+            int postagens = (termos.length == 1) ? 0 : contarPostagens(candidato, menor);
+            if (postagens < menor) {
+                menor = postagens;
+                no = candidato;
+            }
+        }
+        Set<Integer> vistos = new LinkedHashSet<>();
+        coletarOrdinais(no, termos, vistos, limite);
+        for (int ordinal : vistos) {
+            resultado.add(item(ordinal));
+        }
+        return resultado;
+    }
+
+    /**
+     * Até 'limite' palavras indexadas (normalizadas) que começam com o prefixo, em ordem alfabética.
+     */
+    public List<String> sugerirTermos(String prefixo, int limite) {
+        String normalizado = normalizar(prefixo);
+        List<String> resultado = new ArrayList<>();
+        NoTrie no = descer(normalizado);
+        if (no != null && limite > 0) {
+            coletarTermos(no, new StringBuilder(normalizado), resultado, limite);
+        }
+        return resultado;
+    }
+
+    private NoTrie descer(String prefixo) {
+        NoTrie no = raiz;
+        for (int i = 0; i < prefixo.length() && no != null; i++) {
+            no = no.filho(prefixo.charAt(i));
+        }
+        return no;
+    }
+
+    private boolean coletarOrdinais(NoTrie no, String[] termos, Set<Integer> destino, int limite) {
+        if (no.postagens != null) {
+            PrimitiveIterator.OfInt it = no.postagens.iterador();
+            while (it.hasNext()) {
+                int ordinal = it.nextInt();
+                if (termos.length == 1 || iniciaPalavras(textos[ordinal], termos)) {
+                    destino.add(ordinal);
+                    if (destino.size() >= limite) return true;
+                }
+            }
+        }
+        for (NoTrie filho : no.filhos) {
+            if (coletarOrdinais(filho, termos, destino, limite)) return true;
+        }
+        return false;
+    }
+
+    private static int contarPostagens(NoTrie no, int maximo) {
+        int total = (no.postagens == null) ? 0 : no.postagens.cardinalidade();
+        for (int i = 0; i < no.filhos.length && total < maximo; i++) {
+            total += contarPostagens(no.filhos[i], maximo - total);
+        }
+        return total;
+    }
+
+    // Cada termo é início de alguma palavra do texto (palavras separadas por um espaço)
+    private static boolean iniciaPalavras(String texto, String[] termos) {
+        for (String termo : termos) {
+            if (!texto.startsWith(termo) && !texto.contains(" " + termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean coletarTermos(NoTrie no, StringBuilder palavra, List<String> destino, int limite) {
+        if (no.postagens != null) {
+            destino.add(palavra.toString());
+            if (destino.size() >= limite) return true;
+        }
+        for (int i = 0; i < no.chaves.length; i++) {
+            palavra.append(no.chaves[i]);
+            boolean completo = coletarTermos(no.filhos[i], palavra, destino, limite);
+            palavra.setLength(palavra.length() - 1);
+            if (completo) return true;
+        }
+        return false;
+    }
+
+    private T item(int ordinal) {
+        return ordinais.item(ordinal);
+    }
+}
@@ -0,0 +1,467 @@
+package index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import algorithm.ArvoreBusca;
+import algorithm.TopK;
+import model.Indexado;
+import model.Produto;
+import repository.IndiceOrdenado;
+import repository.Repositorio;
+
+/**
+ * Planejador e executor de {@link Consulta}s sobre o catálogo de produtos.
+ *
+ * Para cada consulta, os caminhos de acesso disponíveis são avaliados por custo:
+ * - busca por ID no repositório;
+ * - índices bitmap (categoria AND produtor) e índices hash de {@link GerenciadorIndices};
+ * - índices ordenados de preço e estoque (intervalo);
+ * - índice ordenado por nome (prefixo);
+ * - varredura completa.
+ * As estimativas vêm dos próprios índices (tamanho dos grupos, cardinalidade dos
+ * bitmaps, contagem limitada dos intervalos). O custo é o número de itens visitados
+ * mais o custo de ordenar o resultado. Um caminho que já entrega a ordem pedida
+ * dispensa a ordenação e, com limite, para cedo: visita cerca de
+ * limite / seletividade dos demais filtros.
+ *
+ * A execução é um Stream preguiçoso, puxado pelo consumidor. O caminho de acesso
+ * fornece os candidatos e todos os filtros são conferidos em cada um. Sem ordem
+ * vinda do índice, a ordenação com limite usa {@link TopK}. Caminhos com muitos
+ * candidatos em lista são percorridos em paralelo.
+ *
+ * Os índices não são sincronizados: consultas e escritas no catálogo não devem ser
+ * simultâneas, como nos próprios índices.
+ */
+public class PlanejadorConsultas {
+
+    /** Candidatos a partir dos quais um caminho em lista é percorrido em paralelo. */
+    public static final int LIMIAR_PARALELO = 50_000;
+
+    // Seletividade suposta para um filtro sem índice que a estime
+    private static final double SELETIVIDADE_PADRAO = 0.1;
+
+    private final Repositorio<Produto> repositorio;
+    private IndiceOrdenado<String, Produto> indiceNome;
+    private GerenciadorIndices<Produto> indicesSecundarios;
+    private IndiceBitmap<Produto> indiceBitmap;
+    private int limiarParalelo = LIMIAR_PARALELO;
+
+    /**
+     * @param repositorio catálogo (busca por ID e varredura completa)
+     */
+    public PlanejadorConsultas(Repositorio<Produto> repositorio) {
+        this.repositorio = Objects.requireNonNull(repositorio, "O repositório não pode ser nulo.");
+    }
+
+    /**
+     * Índice ordenado por nome, usado para prefixos e para a ordem por nome.
+     */
+    public PlanejadorConsultas comIndiceNome(IndiceOrdenado<String, Produto> indiceNome) {
+        this.indiceNome = indiceNome;
+        return this;
+    }
+
+    /**
+     * Índices de {@link Indexado}: hash (categoria, produtor) e ordenados (preço, estoque).
+     */
+    public PlanejadorConsultas comIndicesSecundarios(GerenciadorIndices<Produto> indicesSecundarios) {
+        this.indicesSecundarios = indicesSecundarios;
+        return this;
+    }
+
+    /**
+     * Índice bitmap com atributos "categoria" e/ou "produtorLocal".
+     */
+    public PlanejadorConsultas comIndiceBitmap(IndiceBitmap<Produto> indiceBitmap) {
+        this.indiceBitmap = indiceBitmap;
+        return this;
+    }
+
+    /**
+     * Candidatos a partir dos quais o percurso é paralelo (padrão: {@value #LIMIAR_PARALELO}).
+     */
+    public PlanejadorConsultas limiarParalelo(int limiarParalelo) {
+        if (limiarParalelo < 1) {
+            throw new IllegalArgumentException("O limiar deve ser positivo.");
+        }
+        this.limiarParalelo = limiarParalelo;
+        return this;
+    }
+
+    /**
+     * Executa a consulta e devolve o resultado em uma nova lista.
+     */
+    public List<Produto> executar(Consulta consulta) {
+        return planejar(consulta).executar();
+    }
+
+    // --- Planejamento ---
+
+    // Caminho de acesso candidato
+    private static final class Acesso {
+        final String descricao;
+        final long candidatos;
+        // ordem crescente entregue pelo caminho, ou null
+        final Consulta.Ordem ordem;
+        // filtros resolvidos pelo caminho (não entram na seletividade residual)
+        final int filtros;
+        // fonte em lista ou no armazenamento do repositório: divide bem em percursos paralelos
+        final boolean emLista;
+        final Supplier<Stream<Produto>> fonte;
+
+        Acesso(String descricao, long candidatos, Consulta.Ordem ordem, int filtros, boolean emLista,
+               Supplier<Stream<Produto>> fonte) {
+            this.descricao = descricao;
+            this.candidatos = candidatos;
+            this.ordem = ordem;
+            this.filtros = filtros;
+            this.emLista = emLista;
+            this.fonte = fonte;
+        }
+    }
+
+    // Filtros da consulta (bits de Acesso.filtros)
+    private static final int ID = 1, CATEGORIA = 2, PRODUTOR = 4, PRECO = 8, ESTOQUE = 16, NOME = 32;
+
+    /**
+     * Escolhe o caminho de acesso mais barato para a consulta, sem executá-la.
+     */
+    public Plano planejar(Consulta consulta) {
+        Objects.requireNonNull(consulta, "A consulta não pode ser nula.");
+        long n = repositorio.tamanho();
+        if (consulta.getLimite() == 0) {
+            return new Plano(consulta, new Acesso("nenhum (limite 0)", 0, null, 0, true, Stream::empty), 0, 0, false);
+        }
+
+        List<Acesso> acessos = new ArrayList<>();
+        // estimativa de itens que passam em cada filtro (-1 = ainda sem estimativa)
+        double[] estimativas = new double[NOME + 1];
+        Arrays.fill(estimativas, -1);
+        long melhor = n;
+
+        // Caminhos com estimativa exata e barata
+        if (consulta.getId() != null) {
+            String id = consulta.getId();
+            acessos.add(new Acesso("busca por ID '" + id + "'", 1, null, ID, true,
+                    () -> Stream.ofNullable(repositorio.buscar(id))));
+            estimativas[ID] = 1;
+            melhor = 1;
+        }
+        melhor = Math.min(melhor, acessarPorIgualdade(consulta, acessos, estimativas));
+
+        // Intervalos e prefixo: contagem limitada ao melhor já encontrado
+        if (consulta.filtraPreco()) {
+            melhor = Math.min(melhor, acessarPorIntervalo("preco", Consulta.Ordem.PRECO, PRECO,
+                    consulta.getPrecoDe(), consulta.getPrecoAte(), melhor, acessos, estimativas, n));
+        }
+        if (consulta.filtraEstoque()) {
+            melhor = Math.min(melhor, acessarPorIntervalo("estoque", Consulta.Ordem.ESTOQUE, ESTOQUE,
+                    consulta.getEstoqueDe(), consulta.getEstoqueAte(), melhor, acessos, estimativas, n));
+        }
+        if (consulta.getPrefixoNome() != null) {
+            acessarPorPrefixo(consulta.getPrefixoNome(), melhor, acessos, estimativas, n);
+        }
+
+        // Com ordem e limite, percorrer um índice já ordenado pode parar cedo
+        Consulta.Ordem ordem = consulta.getOrdem();
+        if (ordem != null && !consulta.isDecrescente() && consulta.getLimite() < Integer.MAX_VALUE) {
+            acessarEmOrdem(ordem, consulta, acessos, n);
+        }
+
+        acessos.add(new Acesso("varredura completa", n, null, 0, true,
+                () -> repositorio.stream()));
+
+        // Filtros informados sem estimativa de índice
+        int informados = filtrosInformados(consulta);
+        for (int filtro = ID; filtro <= NOME; filtro <<= 1) {
+            if ((informados & filtro) != 0 && estimativas[filtro] < 0) {
+                estimativas[filtro] = n * SELETIVIDADE_PADRAO;
+            }
+        }
+
+        Acesso escolhido = null;
+        double menorCusto = Double.MAX_VALUE;
+        long escolhidoVisitados = 0;
+        for (Acesso acesso : acessos) {
+            double seletividade = 1;
+            for (int filtro = ID; filtro <= NOME; filtro <<= 1) {
+                if ((informados & filtro) != 0 && (acesso.filtros & filtro) == 0 && n > 0) {
+                    seletividade *= Math.min(1.0, estimativas[filtro] / n);
+                }
+            }
+            boolean emOrdem = (ordem == null) || (acesso.ordem == ordem && !consulta.isDecrescente());
+            long visitados = acesso.candidatos;
+            if (emOrdem && consulta.getLimite() < Integer.MAX_VALUE) {
+                // o percurso para ao completar o limite
+                double necessarios = consulta.getLimite() / Math.max(seletividade, 1.0 / Math.max(n, 1));
+                visitados = (long) Math.min(acesso.candidatos, Math.ceil(necessarios));
+            }
+            double resultado = acesso.candidatos * seletividade;
+            double custo = visitados;
+            if (!emOrdem) {
+                double k = Math.min(resultado, consulta.getLimite());
+                custo += resultado * log2(k + 1);
+            }
+            if (custo < menorCusto) {
+                menorCusto = custo;
+                escolhido = acesso;
+                escolhidoVisitados = visitados;
+            }
+        }
+        boolean paralelo = escolhido.emLista && escolhido.candidatos >= limiarParalelo
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
+        return new Plano(consulta, escolhido, escolhidoVisitados, menorCusto, paralelo);
+    }
+
+    // Bitmap (AND dos filtros cobertos) e índices hash; devolve o menor número de candidatos
+    private long acessarPorIgualdade(Consulta consulta, List<Acesso> acessos, double[] estimativas) {
+        long melhor = Long.MAX_VALUE;
+        String categoria = consulta.getCategoria();
+        String produtor = consulta.getProdutorLocal();
+
+        if (indiceBitmap != null && (categoria != null || produtor != null)) {
+            BitmapCompacto daCategoria = bitmap("categoria", categoria, CATEGORIA, estimativas);
+            BitmapCompacto doProdutor = bitmap("produtorLocal", produtor, PRODUTOR, estimativas);
+            BitmapCompacto resultado;
+            String descricao;
+            int filtros;
+            if (daCategoria != null && doProdutor != null) {
+                resultado = daCategoria.and(doProdutor);
+                descricao = "índice bitmap categoria = '" + categoria + "' AND produtorLocal = '" + produtor + "'";
+                filtros = CATEGORIA | PRODUTOR;
+            } else if (daCategoria != null) {
+                resultado = daCategoria;
+                descricao = "índice bitmap categoria = '" + categoria + "'";
+                filtros = CATEGORIA;
+            } else {
+                resultado = doProdutor;
+                descricao = "índice bitmap produtorLocal = '" + produtor + "'";
+                filtros = PRODUTOR;
+            }
+            if (resultado != null) {
+                int cardinalidade = resultado.cardinalidade();
+                acessos.add(new Acesso(descricao, cardinalidade, null, filtros, false,
+                        () -> StreamSupport.stream(indiceBitmap.materializar(resultado).spliterator(), false)));
+                melhor = cardinalidade;
+            }
+        }
+        if (indicesSecundarios != null) {
+            melhor = Math.min(melhor, acessarPorHash("categoria", CATEGORIA, categoria, acessos, estimativas));
+            melhor = Math.min(melhor, acessarPorHash("produtorLocal", PRODUTOR, produtor, acessos, estimativas));
+        }
+        return melhor;
+    }
+
+    // Bitmap do atributo, se o filtro foi informado e o atributo está no índice bitmap
+    private BitmapCompacto bitmap(String atributo, String valor, int filtro, double[] estimativas) {
+        if (valor == null || !indiceBitmap.atributos().contains(atributo)) {
+            return null;
+        }
+        BitmapCompacto bitmap = indiceBitmap.bitmap(atributo, valor);
+        estimativas[filtro] = bitmap.cardinalidade();
+        return bitmap;
+    }
+
+    private long acessarPorHash(String campo, int filtro, String valor, List<Acesso> acessos, double[] estimativas) {
+        if (valor == null || indicesSecundarios.tipoIndice(campo) != Indexado.Tipo.HASH) {
+            return Long.MAX_VALUE;
+        }
+        int quantidade = indicesSecundarios.contar(campo, valor);
+        estimativas[filtro] = quantidade;
+        acessos.add(new Acesso("índice hash " + campo + " = '" + valor + "'", quantidade, null, filtro, true,
+                () -> indicesSecundarios.buscar(campo, valor).stream()));
+        return quantidade;
+    }
+
+    private long acessarPorIntervalo(String campo, Consulta.Ordem ordem, int filtro, Object de, Object ate,
+                                     long maximo, List<Acesso> acessos, double[] estimativas, long n) {
+        if (indicesSecundarios == null || indicesSecundarios.tipoIndice(campo) != Indexado.Tipo.ORDENADO) {
+            return Long.MAX_VALUE;
+        }
+        // intervalos maiores que o melhor caminho não precisam da contagem exata;
+        // como estimativa de seletividade, o valor limitado é pessimista (supõe filtro mais forte)
+        int quantidade = indicesSecundarios.contarIntervalo(campo, de, ate, (int) Math.min(maximo, Integer.MAX_VALUE));
+        estimativas[filtro] = quantidade;
+        long candidatos = (quantidade < maximo) ? quantidade : n;
+        acessos.add(new Acesso("índice ordenado " + campo + " em [" + texto(de) + ", " + texto(ate) + ")",
+                candidatos, ordem, filtro, false,
+                () -> stream(indicesSecundarios.iteradorIntervalo(campo, de, ate))));
+        return candidatos;
+    }
+
+    private void acessarPorPrefixo(String prefixo, long maximo, List<Acesso> acessos, double[] estimativas, long n) {
+        if (indiceNome == null) {
+            return;
+        }
+        String fim = ArvoreBusca.sucessorPrefixo(prefixo);
+        long quantidade = 0;
+        Iterator<Produto> it = indiceNome.iterador(prefixo, fim);
+        while (quantidade < maximo && it.hasNext()) {
+            it.next();
+            quantidade++;
+        }
+        estimativas[NOME] = quantidade;
+        acessos.add(new Acesso("índice por nome com prefixo '" + prefixo + "'", (quantidade < maximo) ? quantidade : n,
+                Consulta.Ordem.NOME, NOME, false, () -> stream(indiceNome.iterador(prefixo, fim))));
+    }
+
+    // Percurso completo de um índice ordenado pelo atributo da ordem pedida
+    private void acessarEmOrdem(Consulta.Ordem ordem, Consulta consulta, List<Acesso> acessos, long n) {
+        if (ordem == Consulta.Ordem.NOME && indiceNome != null && consulta.getPrefixoNome() == null) {
+            acessos.add(new Acesso("índice por nome (completo, em ordem)", n, ordem, 0, false,
+                    () -> stream(indiceNome.iterador(null, null))));
+        }
+        String campo = (ordem == Consulta.Ordem.PRECO) ? "preco" : (ordem == Consulta.Ordem.ESTOQUE) ? "estoque" : null;
+        boolean jaFiltrado = (ordem == Consulta.Ordem.PRECO) ? consulta.filtraPreco() : consulta.filtraEstoque();
+        if (campo != null && !jaFiltrado && indicesSecundarios != null
+                && indicesSecundarios.tipoIndice(campo) == Indexado.Tipo.ORDENADO) {
+            acessos.add(new Acesso("índice ordenado " + campo + " (completo, em ordem)", n, ordem, 0, false,
+                    () -> stream(indicesSecundarios.iteradorIntervalo(campo, null, null))));
+        }
+    }
+
+    private static int filtrosInformados(Consulta consulta) {
+        int filtros = 0;
+        if (consulta.getId() != null) filtros |= ID;
+        if (consulta.getCategoria() != null) filtros |= CATEGORIA;
+        if (consulta.getProdutorLocal() != null) filtros |= PRODUTOR;
+        if (consulta.filtraPreco()) filtros |= PRECO;
+        if (consulta.filtraEstoque()) filtros |= ESTOQUE;
+        if (consulta.getPrefixoNome() != null) filtros |= NOME;
+        return filtros;
+    }
+
+    private static <T> Stream<T> stream(Iterator<T> iterador) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador, Spliterator.ORDERED), false);
+    }
+
+    private static String texto(Object limite) {
+        return (limite == null) ? "-" : limite.toString();
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    /**
+     * Plano escolhido para uma consulta: caminho de acesso, estimativas e execução.
+     */
+    public static final class Plano {
+        private final Consulta consulta;
+        private final Acesso acesso;
+        private final long visitadosEstimados;
+        private final double custo;
+        private final boolean paralelo;
+
+        private Plano(Consulta consulta, Acesso acesso, long visitadosEstimados, double custo, boolean paralelo) {
+            this.consulta = consulta;
+            this.acesso = acesso;
+            this.visitadosEstimados = visitadosEstimados;
+            this.custo = custo;
+            this.paralelo = paralelo;
+        }
+
+        public String getAcesso() {
+            return acesso.descricao;
+        }
+
+        public long getVisitadosEstimados() {
+            return visitadosEstimados;
+        }
+
+        public double getCusto() {
+            return custo;
+        }
+
+        public boolean isParalelo() {
+            return paralelo;
+        }
+
+        /**
+         * Verdadeiro se o caminho de acesso já entrega a ordem pedida (sem ordenação).
+         */
+        public boolean isOrdenadoPeloAcesso() {
+            return consulta.getOrdem() != null && acesso.ordem == consulta.getOrdem() && !consulta.isDecrescente();
+        }
+
+        /**
+         * Resultado como Stream preguiçoso: nada é lido antes da operação terminal.
+         * Não deve ser consumido durante escritas no catálogo.
+         */
+        public Stream<Produto> stream() {
+            Consulta.Ordem ordem = consulta.getOrdem();
+            int limite = consulta.getLimite();
+            if (ordem != null && !isOrdenadoPeloAcesso()) {
+                Comparator<Produto> comparador = ordem.comparador();
+                if (limite < Integer.MAX_VALUE) {
+                    // seleção limitada: O(candidatos log limite), sem ordenar todos os candidatos
+                    Collector<Produto, ?, List<Produto>> selecao = consulta.isDecrescente()
+                            ? TopK.coletarMaiores(limite, comparador)
+                            : TopK.coletarMenores(limite, comparador);
+                    return StreamSupport.stream(() -> filtrados().collect(selecao).spliterator(),
+                            Spliterator.ORDERED | Spliterator.SIZED, false);
+                }
+                return filtrados().sorted(consulta.isDecrescente() ? comparador.reversed() : comparador);
+            }
+            Stream<Produto> resultado = filtrados();
+            return (limite < Integer.MAX_VALUE) ? resultado.limit(limite) : resultado;
+        }
+
+        private Stream<Produto> filtrados() {
+            Stream<Produto> candidatos = acesso.fonte.get();
+            if (paralelo) {
+                candidatos = candidatos.parallel();
+            }
+            return candidatos.filter(consulta::aceita);
+        }
+
+        /**
+         * Executa o plano e devolve o resultado em uma nova lista.
+         */
+        public List<Produto> executar() {
+            return stream().collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        /**
+         * Descrição legível do plano (para diagnóstico, como um EXPLAIN).
+         */
+        @Override
+        public String toString() {
+            StringBuilder texto = new StringBuilder(acesso.descricao)
+                    .append(" | ~").append(visitadosEstimados).append(" itens visitados");
+            Consulta.Ordem ordem = consulta.getOrdem();
+            if (ordem != null) {
+                if (isOrdenadoPeloAcesso()) {
+                    texto.append(" | ordem pelo índice");
+                } else if (consulta.getLimite() < Integer.MAX_VALUE) {
+                    texto.append(" | TopK(").append(consulta.getLimite()).append(") por ").append(ordem);
+                } else {
+                    texto.append(" | ordenação por ").append(ordem);
+                }
+                if (consulta.isDecrescente()) {
+                    texto.append(" decrescente");
+                }
+            }
+            if (consulta.getLimite() < Integer.MAX_VALUE) {
+                texto.append(" | limite ").append(consulta.getLimite());
+            }
+            if (paralelo) {
+                texto.append(" | paralelo");
+            }
+            return texto.append(" | custo ").append(Math.round(custo)).toString();
+        }
+    }
+}
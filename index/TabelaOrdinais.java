@@ -0,0 +1,82 @@
+package index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Associação ID -> ordinal -> item usada pelos índices que guardam ordinais em bitmaps
+ * ({@link IndiceBitmap}, {@link IndiceTexto}).
+ *
+ * Os ordinais são densos: os liberados por remoções são reaproveitados (pilha) antes de
+ * se criar um novo, de modo que os bitmaps não crescem com a rotatividade do catálogo.
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+final class TabelaOrdinais<T> {
+
+    static final int AUSENTE = -1;
+
+    private final Map<String, Integer> ordinais = new HashMap<>();
+    private Object[] itens = new Object[16];
+    // Ordinais livres para reaproveitamento (pilha)
+    private int[] livres = new int[16];
+    private int totalLivres;
+    private int proximoOrdinal;
+
+    /**
+     * Ordinal do ID, ou {@link #AUSENTE}.
+     */
+    int ordinal(String id) {
+        Integer ordinal = ordinais.get(id);
+        return (ordinal == null) ? AUSENTE : ordinal;
+    }
+
+    /**
+     * Item do ordinal, ou null se o ordinal estiver livre ou nunca tiver sido usado.
+     */
+    @SuppressWarnings("unchecked")
+    T item(int ordinal) {
+        return (ordinal < itens.length) ? (T) itens[ordinal] : null;
+    }
+
+    /**
+     * Associa o item (de ID ainda não associado) a um ordinal, reaproveitando um livre se houver.
+     */
+    int alocar(String id, T item) {
+        int ordinal = (totalLivres > 0) ? livres[--totalLivres] : proximoOrdinal++;
+        if (ordinal == itens.length) {
+            itens = Arrays.copyOf(itens, itens.length * 2);
+        }
+        itens[ordinal] = item;
+        ordinais.put(id, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Desfaz a associação do ID ao seu ordinal, que volta a ficar livre.
+     */
+    void liberar(String id, int ordinal) {
+        ordinais.remove(id);
+        itens[ordinal] = null;
+        if (totalLivres == livres.length) {
+            livres = Arrays.copyOf(livres, livres.length * 2);
+        }
+        livres[totalLivres++] = ordinal;
+    }
+
+    /**
+     * Limite exclusivo dos ordinais já usados: todo ordinal vivo é menor que ele.
+     */
+    int limite() {
+        return proximoOrdinal;
+    }
+
+    int tamanho() {
+        return ordinais.size();
+    }
+
+    boolean vazia() {
+        return ordinais.isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package metrica;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import algorithm.ArvoreBusca;
+
+/**
+ * Decorador que mede a latência das operações de uma {@link ArvoreBusca}, registrando-a
+ * em um {@link RegistroMetricas} como "&lt;nome&gt;.inserir", "&lt;nome&gt;.buscar" etc.
+ *
+ * Em iterador(de, ate) mede-se apenas a criação (posicionamento na árvore, O(log n));
+ * a leitura preguiçosa que vem depois fica com quem consome. listarIntervalo e
+ * listarEmOrdem medem o percurso completo.
+ *
+ * @param <K> tipo da chave (Comparable)
+ * @param <V> tipo do valor associado
+ */
+public class ArvoreMedida<K extends Comparable<K>, V> implements ArvoreBusca<K, V> {
+
+    private final ArvoreBusca<K, V> origem;
+
+    private final HistogramaLatencia inserir;
+    private final HistogramaLatencia buscar;
+    private final HistogramaLatencia remover;
+    private final HistogramaLatencia listarEmOrdem;
+    private final HistogramaLatencia buscarPiso;
+    private final HistogramaLatencia buscarTeto;
+    private final HistogramaLatencia iterador;
+    private final HistogramaLatencia listarIntervalo;
+    private final HistogramaLatencia carregarOrdenado;
+
+    /**
+     * @param origem árvore medida
+     * @param registro registro que recebe as medições
+     * @param nome prefixo dos nomes das operações (ex.: "arvoreNome")
+     */
+    public ArvoreMedida(ArvoreBusca<K, V> origem, RegistroMetricas registro, String nome) {
+        this.origem = Objects.requireNonNull(origem, "A árvore de origem não pode ser nula.");
+        Objects.requireNonNull(registro, "O registro de métricas não pode ser nulo.");
+        Objects.requireNonNull(nome, "O nome não pode ser nulo.");
+        this.inserir = registro.operacao(nome + ".inserir");
+        this.buscar = registro.operacao(nome + ".buscar");
+        this.remover = registro.operacao(nome + ".remover");
+        this.listarEmOrdem = registro.operacao(nome + ".listarEmOrdem");
+        this.buscarPiso = registro.operacao(nome + ".buscarPiso");
+        this.buscarTeto = registro.operacao(nome + ".buscarTeto");
+        this.iterador = registro.operacao(nome + ".iterador");
+        this.listarIntervalo = registro.operacao(nome + ".listarIntervalo");
+        this.carregarOrdenado = registro.operacao(nome + ".carregarOrdenado");
+    }
+
+    @Override
+    public void inserir(K chave, V valor) {
+        inserir.medir(() -> origem.inserir(chave, valor));
+    }
+
+    @Override
+    public V buscar(K chave) {
+        return buscar.medir(() -> origem.buscar(chave));
+    }
+
+    @Override
+    public V remover(K chave) {
+        return remover.medir(() -> origem.remover(chave));
+    }
+
+    @Override
+    public List<V> listarEmOrdem() {
+        return listarEmOrdem.medir(() -> origem.listarEmOrdem());
+    }
+
+    @Override
+    public V buscarPiso(K chave) {
+        return buscarPiso.medir(() -> origem.buscarPiso(chave));
+    }
+
+    @Override
+    public V buscarTeto(K chave) {
+        return buscarTeto.medir(() -> origem.buscarTeto(chave));
+    }
+
+    @Override
+    public Iterator<V> iterador(K de, K ate) {
+        return iterador.medir(() -> origem.iterador(de, ate));
+    }
+
+    @Override
+    public List<V> listarIntervalo(K de, K ate) {
+        return listarIntervalo.medir(() -> origem.listarIntervalo(de, ate));
+    }
+
+    @Override
+    public void carregarOrdenado(List<K> chaves, List<V> valores) {
+        carregarOrdenado.medir(() -> origem.carregarOrdenado(chaves, valores));
+    }
+}
@@ -0,0 +1,245 @@
+package metrica;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Histograma de latências no estilo HDR: faixas log-lineares com erro relativo
+ * abaixo de 1% (128 subfaixas por potência de 2), de 1 ns a ~68 s. Valores maiores
+ * caem na última faixa.
+ *
+ * O registro não usa locks: cada thread incrementa (CAS) um contador da sua faixa de
+ * memória, escolhida pelo ID da thread, de modo que threads diferentes raramente
+ * disputam a mesma linha de cache. Custa algumas dezenas de nanossegundos, sem alocação.
+ *
+ * Com amostragem N > 1, {@link #amostrar()} escolhe ao acaso 1 de cada N chamadas para
+ * medir; as demais são apenas contadas. Medir cada chamada custa duas leituras do relógio,
+ * que também impedem o processador de sobrepor faltas de cache de chamadas vizinhas:
+ * em operações curtas e limitadas pela memória isso pode multiplicar o custo delas.
+ *
+ * A leitura ({@link #instantaneo()}) copia os contadores sem bloquear os escritores;
+ * registros feitos durante a cópia podem ou não aparecer nela.
+ */
+public final class HistogramaLatencia {
+
+    // bits da subfaixa: 2^7 = 128 subfaixas por potência de 2 (erro relativo < 1/128)
+    private static final int BITS_SUBFAIXA = 7;
+
+    // maior valor distinguível: 2^36 ns (~68 s)
+    private static final int BITS_MAXIMO = 36;
+    private static final long VALOR_MAXIMO = (1L << BITS_MAXIMO) - 1;
+    static final int FAIXAS = indice(VALOR_MAXIMO) + 1;
+
+    // Faixas de memória: potência de 2, uma por processador, no máximo 8
+    private static final int LISTRAS = Math.min(8,
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+    // Posições após os contadores das faixas: soma das latências e chamadas não medidas
+    private static final int SOMA = FAIXAS;
+    private static final int NAO_MEDIDAS = FAIXAS + 1;
+
+    // Por faixa de memória: contadores das faixas de latência, soma e chamadas não medidas
+    private final AtomicLongArray[] listras = new AtomicLongArray[LISTRAS];
+
+    // Mede 1 de cada 'amostragem' chamadas
+    private final int amostragem;
+
+    /**
+     * Histograma que mede todas as chamadas.
+     */
+    public HistogramaLatencia() {
+        this(1);
+    }
+
+    /**
+     * @param amostragem mede, em média, 1 de cada 'amostragem' chamadas (1 = todas)
+     */
+    public HistogramaLatencia(int amostragem) {
+        if (amostragem < 1) {
+            throw new IllegalArgumentException("A amostragem deve ser ao menos 1.");
+        }
+        this.amostragem = amostragem;
+        for (int i = 0; i < LISTRAS; i++) {
+            listras[i] = new AtomicLongArray(FAIXAS + 2);
+        }
+    }
+
+    private AtomicLongArray listra() {
+        return listras[(int) Thread.currentThread().getId() & (LISTRAS - 1)];
+    }
+
+    /**
+     * Verdadeiro se esta chamada deve ser medida (e então registrada com {@link #registrar});
+     * se falso, a chamada já foi contada. Sem amostragem, sempre verdadeiro e sem custo.
+     */
+    public boolean amostrar() {
+        if (amostragem == 1 || ThreadLocalRandom.current().nextInt(amostragem) == 0) {
+            return true;
+        }
+        listra().getAndIncrement(NAO_MEDIDAS);
+        return false;
+    }
+
+    /**
+     * Executa a chamada e registra a sua latência, se {@link #amostrar()} a escolher.
+     * O tempo de chamadas que lançam exceção também é registrado.
+     * @return o valor devolvido pela chamada
+     */
+    public <R> R medir(Supplier<R> chamada) {
+        if (!amostrar()) {
+            return chamada.get();
+        }
+        long inicio = System.nanoTime();
+        try {
+            return chamada.get();
+        } finally {
+            registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Como {@link #medir(Supplier)}, para chamadas sem valor de retorno.
+     */
+    public void medir(Runnable chamada) {
+        if (!amostrar()) {
+            chamada.run();
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chamada.run();
+        } finally {
+            registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra uma latência em nanossegundos (valores negativos contam como 0).
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        AtomicLongArray listra = listra();
+        listra.getAndIncrement(indice(Math.min(valor, VALOR_MAXIMO)));
+        listra.getAndAdd(SOMA, valor);
+    }
+
+    /**
+     * Cópia dos contadores acumulados desde a criação.
+     */
+    public Instantaneo instantaneo() {
+        long[] total = new long[FAIXAS];
+        long soma = 0, naoMedidas = 0;
+        for (AtomicLongArray listra : listras) {
+            for (int i = 0; i < FAIXAS; i++) {
+                total[i] += listra.get(i);
+            }
+            soma += listra.get(SOMA);
+            naoMedidas += listra.get(NAO_MEDIDAS);
+        }
+        return new Instantaneo(total, soma, naoMedidas);
+    }
+
+    // Faixa do valor: os 256 primeiros são exatos; depois, 128 faixas por potência de 2
+    static int indice(long valor) {
+        int magnitude = Math.max(0, 64 - Long.numberOfLeadingZeros(valor) - (BITS_SUBFAIXA + 1));
+        return (magnitude << BITS_SUBFAIXA) + (int) (valor >>> magnitude);
+    }
+
+    // Maior valor que cai na faixa
+    static long maiorValor(int indice) {
+        int magnitude = Math.max(0, (indice >>> BITS_SUBFAIXA) - 1);
+        long subfaixa = indice - ((long) magnitude << BITS_SUBFAIXA);
+        return ((subfaixa + 1) << magnitude) - 1;
+    }
+
+    /**
+     * Contadores de um histograma em um instante (cópia imutável). Latências em nanossegundos;
+     * média e percentis vêm das chamadas medidas.
+     */
+    public static final class Instantaneo {
+
+        private final long[] contagens;
+        private final long medidas;
+        private final long soma;
+        private final long naoMedidas;
+
+        Instantaneo(long[] contagens, long soma, long naoMedidas) {
+            this.contagens = contagens;
+            this.soma = soma;
+            this.naoMedidas = naoMedidas;
+            long medidas = 0;
+            for (long c : contagens) {
+                medidas += c;
+            }
+            this.medidas = medidas;
+        }
+
+        /**
+         * Registros feitos entre o instantâneo 'anterior' (do mesmo histograma) e este.
+         */
+        public Instantaneo desde(Instantaneo anterior) {
+            long[] diferenca = new long[FAIXAS];
+            for (int i = 0; i < FAIXAS; i++) {
+                diferenca[i] = Math.max(0, contagens[i] - anterior.contagens[i]);
+            }
+            return new Instantaneo(diferenca, Math.max(0, soma - anterior.soma),
+                    Math.max(0, naoMedidas - anterior.naoMedidas));
+        }
+
+        /**
+         * Quantidade de chamadas, medidas ou não.
+         */
+        public long getQuantidade() {
+            return medidas + naoMedidas;
+        }
+
+        /**
+         * Quantidade de chamadas medidas (igual a getQuantidade() sem amostragem).
+         */
+        public long getMedidas() {
+            return medidas;
+        }
+
+        /**
+         * Latência média, ou 0 se não houver registros.
+         */
+        public double getMedia() {
+            return (medidas == 0) ? 0.0 : (double) soma / medidas;
+        }
+
+        /**
+         * Latência abaixo da qual (ou igual) estão 'percentual'% dos registros
+         * (ex.: 99.9), arredondada para o limite superior da faixa; 0 se não houver registros.
+         */
+        public long percentil(double percentual) {
+            if (percentual < 0 || percentual > 100) {
+                throw new IllegalArgumentException("O percentual deve estar entre 0 e 100.");
+            }
+            if (medidas == 0) {
+                return 0;
+            }
+            long posicao = Math.max(1, (long) Math.ceil(percentual / 100.0 * medidas));
+            long acumulado = 0;
+            for (int i = 0; i < FAIXAS; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= posicao) {
+                    return maiorValor(i);
+                }
+            }
+            return maiorValor(FAIXAS - 1);
+        }
+
+        /**
+         * Maior latência registrada (limite superior da faixa), ou 0 se não houver registros.
+         */
+        public long getMaximo() {
+            for (int i = FAIXAS - 1; i >= 0; i--) {
+                if (contagens[i] > 0) {
+                    return maiorValor(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
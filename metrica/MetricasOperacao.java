@@ -0,0 +1,46 @@
+package metrica;
+
+/**
+ * MBean de uma operação: cada leitura de atributo copia o histograma, então
+ * ferramentas como o JConsole veem sempre os valores atuais.
+ */
+final class MetricasOperacao implements MetricasOperacaoMBean {
+
+    private static final double NANOS_POR_MICRO = 1_000.0;
+
+    private final HistogramaLatencia histograma;
+
+    MetricasOperacao(HistogramaLatencia histograma) {
+        this.histograma = histograma;
+    }
+
+    @Override
+    public long getQuantidade() {
+        return histograma.instantaneo().getQuantidade();
+    }
+
+    @Override
+    public double getMediaMicros() {
+        return histograma.instantaneo().getMedia() / NANOS_POR_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return histograma.instantaneo().percentil(50) / NANOS_POR_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return histograma.instantaneo().percentil(99) / NANOS_POR_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return histograma.instantaneo().percentil(99.9) / NANOS_POR_MICRO;
+    }
+
+    @Override
+    public double getMaximoMicros() {
+        return histograma.instantaneo().getMaximo() / NANOS_POR_MICRO;
+    }
+}
@@ -0,0 +1,19 @@
+package metrica;
+
+/**
+ * Atributos JMX de uma operação medida (acumulados desde a criação; latências em microssegundos).
+ */
+public interface MetricasOperacaoMBean {
+
+    long getQuantidade();
+
+    double getMediaMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaximoMicros();
+}
@@ -0,0 +1,36 @@
+package metrica;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import algorithm.Ordenacao;
+
+/**
+ * Decorador que registra a latência de cada ordenação em um {@link RegistroMetricas}
+ * como "&lt;nome&gt;.ordenar", acumulando percentis em vez do valor isolado devolvido
+ * por {@link Ordenacao#ordenar}. O valor devolvido continua sendo o da ordenação decorada.
+ *
+ * @param <T> tipo de elementos da lista
+ */
+public class OrdenacaoMedida<T> implements Ordenacao<T> {
+
+    private final Ordenacao<T> origem;
+    private final HistogramaLatencia ordenar;
+
+    /**
+     * @param origem algoritmo medido
+     * @param registro registro que recebe as medições
+     * @param nome prefixo do nome da operação (ex.: "mergeSort")
+     */
+    public OrdenacaoMedida(Ordenacao<T> origem, RegistroMetricas registro, String nome) {
+        this.origem = Objects.requireNonNull(origem, "A ordenação de origem não pode ser nula.");
+        this.ordenar = Objects.requireNonNull(registro, "O registro de métricas não pode ser nulo.")
+                .operacao(Objects.requireNonNull(nome, "O nome não pode ser nulo.") + ".ordenar");
+    }
+
+    @Override
+    public long ordenar(List<T> lista, Comparator<T> comparator) {
+        return ordenar.medir(() -> origem.ordenar(lista, comparator));
+    }
+}
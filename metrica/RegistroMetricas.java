@@ -0,0 +1,233 @@
+package metrica;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Conjunto de operações medidas, cada uma com o seu {@link HistogramaLatencia},
+ * identificadas por nome (ex.: "produtos.buscar").
+ *
+ * Os resultados podem ser lidos de três formas:
+ * - {@link #relatorio()}: tabela em texto com os valores acumulados;
+ * - {@link #iniciarRelatorioPeriodico}: a mesma tabela a cada período, com os percentis
+ *   apenas do intervalo, para que uma regressão sob carga não se dilua no histórico;
+ * - {@link #registrarJmx(String)}: um MBean por operação (JConsole, VisualVM etc.).
+ *
+ * Em caminhos quentes, a amostragem (ver {@link HistogramaLatencia}) reduz o custo da
+ * medição; todas as chamadas continuam contadas.
+ */
+public class RegistroMetricas implements Closeable {
+
+    private static final String CABECALHO = String.format("%-32s %10s %12s %10s %10s %10s %10s %10s",
+            "operação", "qtd", "total", "média(µs)", "p50(µs)", "p99(µs)", "p99.9(µs)", "máx(µs)");
+
+    private final ConcurrentHashMap<String, HistogramaLatencia> operacoes = new ConcurrentHashMap<>();
+
+    // Domínio JMX (null enquanto o registro não for exposto) e MBeans já registrados
+    private String dominio;
+    private final List<ObjectName> mbeans = new ArrayList<>();
+
+    // Registros JMX que falharam ao criar uma operação depois de registrarJmx
+    private final List<IllegalStateException> falhasJmx = new ArrayList<>();
+
+    private ScheduledExecutorService agendador;
+
+    // Mede 1 de cada 'amostragem' chamadas de cada operação
+    private final int amostragem;
+
+    /**
+     * Registro que mede todas as chamadas.
+     */
+    public RegistroMetricas() {
+        this(1);
+    }
+
+    /**
+     * @param amostragem mede, em média, 1 de cada 'amostragem' chamadas de cada operação (1 = todas)
+     */
+    public RegistroMetricas(int amostragem) {
+        if (amostragem < 1) {
+            throw new IllegalArgumentException("A amostragem deve ser ao menos 1.");
+        }
+        this.amostragem = amostragem;
+    }
+
+    /**
+     * Histograma da operação, criado na primeira chamada. Os decoradores guardam a
+     * referência, de modo que o caminho quente não consulta o mapa.
+     */
+    public HistogramaLatencia operacao(String nome) {
+        HistogramaLatencia histograma = operacoes.get(Objects.requireNonNull(nome, "O nome da operação não pode ser nulo."));
+        return (histograma != null) ? histograma : criar(nome);
+    }
+
+    // Uma falha no JMX (ex.: nome já registrado por outro registro no mesmo domínio) não
+    // chega a quem está sendo medido: a operação é medida mesmo sem MBean, e a falha fica
+    // em falhasJmx()
+    private synchronized HistogramaLatencia criar(String nome) {
+        HistogramaLatencia histograma = operacoes.get(nome);
+        if (histograma == null) {
+            histograma = new HistogramaLatencia(amostragem);
+            if (dominio != null) {
+                try {
+                    registrarMBean(nome, histograma);
+                } catch (IllegalStateException e) {
+                    falhasJmx.add(e);
+                }
+            }
+            operacoes.put(nome, histograma);
+        }
+        return histograma;
+    }
+
+    /**
+     * Instantâneos acumulados de todas as operações, em ordem alfabética.
+     */
+    public Map<String, HistogramaLatencia.Instantaneo> instantaneos() {
+        Map<String, HistogramaLatencia.Instantaneo> resultado = new TreeMap<>();
+        operacoes.forEach((nome, histograma) -> resultado.put(nome, histograma.instantaneo()));
+        return resultado;
+    }
+
+    /**
+     * Tabela em texto com os valores acumulados de cada operação já chamada.
+     */
+    public String relatorio() {
+        Map<String, HistogramaLatencia.Instantaneo> atuais = instantaneos();
+        atuais.values().removeIf(instantaneo -> instantaneo.getQuantidade() == 0);
+        return formatar(atuais, atuais);
+    }
+
+    /**
+     * Tabela em texto com os registros feitos desde os instantâneos 'anteriores',
+     * apenas das operações chamadas no intervalo (a coluna "total" continua acumulada).
+     */
+    public String relatorioDesde(Map<String, HistogramaLatencia.Instantaneo> anteriores) {
+        return relatorioEntre(anteriores, instantaneos());
+    }
+
+    private static String relatorioEntre(Map<String, HistogramaLatencia.Instantaneo> anteriores,
+                                         Map<String, HistogramaLatencia.Instantaneo> atuais) {
+        Map<String, HistogramaLatencia.Instantaneo> intervalo = new TreeMap<>();
+        atuais.forEach((nome, atual) -> {
+            HistogramaLatencia.Instantaneo anterior = anteriores.get(nome);
+            HistogramaLatencia.Instantaneo desde = (anterior == null) ? atual : atual.desde(anterior);
+            if (desde.getQuantidade() > 0) {
+                intervalo.put(nome, desde);
+            }
+        });
+        return formatar(intervalo, atuais);
+    }
+
+    private static String formatar(Map<String, HistogramaLatencia.Instantaneo> exibidos,
+                                   Map<String, HistogramaLatencia.Instantaneo> acumulados) {
+        StringBuilder sb = new StringBuilder(CABECALHO);
+        exibidos.forEach((nome, i) -> sb.append('\n').append(String.format("%-32s %10d %12d %10.2f %10.2f %10.2f %10.2f %10.2f",
+                nome, i.getQuantidade(), acumulados.get(nome).getQuantidade(), i.getMedia() / 1e3,
+                i.percentil(50) / 1e3, i.percentil(99) / 1e3, i.percentil(99.9) / 1e3, i.getMaximo() / 1e3)));
+        return sb.toString();
+    }
+
+    /**
+     * Envia a 'saida' (ex.: System.out::println ou um logger), a cada período, a tabela
+     * das operações no intervalo desde o envio anterior. Usa uma thread daemon,
+     * encerrada por {@link #close()}.
+     * @throws IllegalStateException se o relatório periódico já tiver sido iniciado
+     */
+    public synchronized void iniciarRelatorioPeriodico(long periodo, TimeUnit unidade, Consumer<String> saida) {
+        Objects.requireNonNull(saida, "A saída não pode ser nula.");
+        if (periodo <= 0) {
+            throw new IllegalArgumentException("O período deve ser positivo.");
+        }
+        if (agendador != null) {
+            throw new IllegalStateException("O relatório periódico já foi iniciado.");
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "relatorio-metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, HistogramaLatencia.Instantaneo> anteriores = new HashMap<>(instantaneos());
+        agendador.scheduleAtFixedRate(() -> {
+            // o mesmo instantâneo fecha este intervalo e abre o próximo: nada se perde entre eles
+            Map<String, HistogramaLatencia.Instantaneo> atuais = instantaneos();
+            String tabela = relatorioEntre(anteriores, atuais);
+            anteriores.putAll(atuais);
+            // intervalo sem chamadas: só o cabeçalho, nada a relatar
+            if (tabela.length() > CABECALHO.length()) {
+                saida.accept(tabela);
+            }
+        }, periodo, periodo, unidade);
+    }
+
+    /**
+     * Registra um MBean por operação no servidor da plataforma, com o nome
+     * "dominio:type=Operacao,name=&lt;operação&gt;". Operações criadas depois também são registradas.
+     * @throws IllegalStateException se o registro JMX falhar ou já tiver sido feito
+     */
+    public synchronized void registrarJmx(String dominio) {
+        Objects.requireNonNull(dominio, "O domínio não pode ser nulo.");
+        if (this.dominio != null) {
+            throw new IllegalStateException("As métricas já foram registradas no domínio " + this.dominio + ".");
+        }
+        this.dominio = dominio;
+        operacoes.forEach(this::registrarMBean);
+    }
+
+    /**
+     * Falhas de registro JMX das operações criadas depois de {@link #registrarJmx(String)},
+     * que não são lançadas para não interromper a operação medida.
+     */
+    public synchronized List<IllegalStateException> falhasJmx() {
+        return new ArrayList<>(falhasJmx);
+    }
+
+    private void registrarMBean(String nome, HistogramaLatencia histograma) {
+        try {
+            ObjectName objeto = new ObjectName(dominio + ":type=Operacao,name=" + ObjectName.quote(nome));
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            servidor.registerMBean(new StandardMBean(new MetricasOperacao(histograma), MetricasOperacaoMBean.class), objeto);
+            mbeans.add(objeto);
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao registrar as métricas de " + nome + " no JMX.", e);
+        }
+    }
+
+    /**
+     * Encerra o relatório periódico e remove os MBeans registrados. Os histogramas
+     * continuam disponíveis para leitura.
+     */
+    @Override
+    public synchronized void close() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+            agendador = null;
+        }
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objeto : mbeans) {
+            try {
+                servidor.unregisterMBean(objeto);
+            } catch (JMException e) {
+                // já removido por terceiros: nada a fazer
+            }
+        }
+        mbeans.clear();
+        dominio = null;
+    }
+}
@@ -0,0 +1,89 @@
+package metrica;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import model.InfoProd;
+import repository.Repositorio;
+
+/**
+ * Decorador que mede a latência de cada operação de um repositório, registrando-a
+ * em um {@link RegistroMetricas} como "&lt;nome&gt;.buscar", "&lt;nome&gt;.cadastrar" etc.
+ * O tempo de operações que lançam exceção também é registrado. stream() não é medido:
+ * o Stream é preguiçoso, e o custo fica com quem o consome.
+ *
+ * @param <T> Tipo da entidade armazenada
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioMedido<T> implements Repositorio<T> {
+
+    private final Repositorio<T> origem;
+
+    // Histogramas resolvidos na criação: o caminho quente não consulta o registro
+    private final HistogramaLatencia cadastrar;
+    private final HistogramaLatencia buscar;
+    private final HistogramaLatencia remover;
+    private final HistogramaLatencia listarTodos;
+    private final HistogramaLatencia tamanho;
+    private final HistogramaLatencia cadastrarLote;
+    private final HistogramaLatencia paginar;
+
+    /**
+     * @param origem repositório medido
+     * @param registro registro que recebe as medições
+     * @param nome prefixo dos nomes das operações (ex.: "produtos")
+     */
+    public RepositorioMedido(Repositorio<T> origem, RegistroMetricas registro, String nome) {
+        this.origem = Objects.requireNonNull(origem, "O repositório de origem não pode ser nulo.");
+        Objects.requireNonNull(registro, "O registro de métricas não pode ser nulo.");
+        Objects.requireNonNull(nome, "O nome não pode ser nulo.");
+        this.cadastrar = registro.operacao(nome + ".cadastrar");
+        this.buscar = registro.operacao(nome + ".buscar");
+        this.remover = registro.operacao(nome + ".remover");
+        this.listarTodos = registro.operacao(nome + ".listarTodos");
+        this.tamanho = registro.operacao(nome + ".tamanho");
+        this.cadastrarLote = registro.operacao(nome + ".cadastrarLote");
+        this.paginar = registro.operacao(nome + ".paginar");
+    }
+
+    @Override
+    public void cadastrar(T item) {
+        cadastrar.medir(() -> origem.cadastrar(item));
+    }
+
+    @Override
+    public T buscar(String id) {
+        return buscar.medir(() -> origem.buscar(id));
+    }
+
+    @Override
+    public void remover(String id) {
+        remover.medir(() -> origem.remover(id));
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return listarTodos.medir(() -> origem.listarTodos());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return origem.stream();
+    }
+
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        return paginar.medir(() -> origem.paginar(aposId, limite));
+    }
+
+    @Override
+    public int tamanho() {
+        return tamanho.medir(() -> origem.tamanho());
+    }
+
+    @Override
+    public void cadastrarLote(List<T> itens) {
+        cadastrarLote.medir(() -> origem.cadastrarLote(itens));
+    }
+}
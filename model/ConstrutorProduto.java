@@ -0,0 +1,141 @@
+package model;
+
+import exception.ExcecaoNegocio;
+import exception.ExcecaoNegocioSemPilha;
+
+/**
+ * Construtor (builder) reutilizável de produtos com validação sem exceções.
+ *
+ * As regras de {@link Produto} são verificadas antes de criar o objeto; em vez de
+ * lançar ExcecaoNegocio, {@link #tentarConstruir(RelatorioValidacao)} registra as
+ * violações no relatório e devolve null. Útil em cargas onde uma fração dos registros
+ * é inválida e o custo de criar exceções (com stack trace) dominaria a importação:
+ *
+ * <pre>
+ * ConstrutorProduto construtor = new ConstrutorProduto();
+ * RelatorioValidacao relatorio = new RelatorioValidacao();
+ * for (Linha linha : linhas) {
+ *     relatorio.limpar();
+ *     Produto produto = construtor.limpar().alimenticio(linha.validade).id(linha.id)
+ *             ...
+ *             .tentarConstruir(relatorio);
+ *     if (produto == null) rejeitadas.add(relatorio.mensagem());
+ * }
+ * </pre>
+ *
+ * Os construtores de Produto e subclasses continuam lançando ExcecaoNegocio como antes.
+ */
+public final class ConstrutorProduto {
+
+    // Subtipos do produto em construção (0 = não informado)
+    private static final byte ALIMENTICIO = 1;
+    private static final byte ARTESANAL = 2;
+
+    private byte subtipo;
+    private String id;
+    private String nome;
+    private double preco;
+    private String categoria;
+    private int estoque;
+    private String produtorLocal;
+    private String detalhe;
+
+    /**
+     * Volta ao estado inicial (sem subtipo e sem valores), para montar o próximo produto.
+     */
+    public ConstrutorProduto limpar() {
+        subtipo = 0;
+        id = null;
+        nome = null;
+        preco = 0;
+        categoria = null;
+        estoque = 0;
+        produtorLocal = null;
+        detalhe = null;
+        return this;
+    }
+
+    /** Produto alimentício com a data de validade ("AAAA-MM-DD"). */
+    public ConstrutorProduto alimenticio(String dataValidade) {
+        this.subtipo = ALIMENTICIO;
+        this.detalhe = dataValidade;
+        return this;
+    }
+
+    /** Produto artesanal com o material predominante. */
+    public ConstrutorProduto artesanal(String material) {
+        this.subtipo = ARTESANAL;
+        this.detalhe = material;
+        return this;
+    }
+
+    public ConstrutorProduto id(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public ConstrutorProduto nome(String nome) {
+        this.nome = nome;
+        return this;
+    }
+
+    public ConstrutorProduto preco(double preco) {
+        this.preco = preco;
+        return this;
+    }
+
+    public ConstrutorProduto categoria(String categoria) {
+        this.categoria = categoria;
+        return this;
+    }
+
+    public ConstrutorProduto estoque(int estoque) {
+        this.estoque = estoque;
+        return this;
+    }
+
+    public ConstrutorProduto produtorLocal(String produtorLocal) {
+        this.produtorLocal = produtorLocal;
+        return this;
+    }
+
+    /**
+     * Valida os valores e cria o produto, sem lançar exceções.
+     * @param relatorio recebe as violações encontradas (não é limpo aqui)
+     * @return o produto, ou null se alguma regra foi violada
+     */
+    public Produto tentarConstruir(RelatorioValidacao relatorio) {
+        boolean valido = Produto.validar(id, nome, preco, estoque, relatorio);
+        if (subtipo == 0) {
+            relatorio.adicionar("tipo", "Tipo de produto não informado.");
+            valido = false;
+        }
+        if (!valido) {
+            return null;
+        }
+        try {
+            // os valores já foram validados acima: os construtores não repetem as verificações
+            if (subtipo == ALIMENTICIO) {
+                return new ProdutoAlimenticio(id, nome, preco, categoria, estoque, produtorLocal, detalhe, false);
+            }
+            return new ProdutoArtesanal(id, nome, preco, categoria, estoque, produtorLocal, detalhe, false);
+        } catch (ExcecaoNegocio e) {
+            // não ocorre sem as verificações
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Valida os valores e cria o produto; se houver violações, lança uma ExcecaoNegocio
+     * sem stack trace com todas as mensagens.
+     * @throws ExcecaoNegocioSemPilha se alguma regra foi violada
+     */
+    public Produto construir() throws ExcecaoNegocioSemPilha {
+        RelatorioValidacao relatorio = new RelatorioValidacao();
+        Produto produto = tentarConstruir(relatorio);
+        if (produto == null) {
+            throw new ExcecaoNegocioSemPilha(relatorio.mensagem());
+        }
+        return produto;
+    }
+}
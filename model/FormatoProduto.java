@@ -0,0 +1,160 @@
+package model;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import exception.ExcecaoNegocio;
+
+/**
+ * Codificação binária versionada da hierarquia de {@link Produto}.
+ *
+ * Layout de um registro (big-endian):
+ * <pre>
+ *  0  byte   versão maior do esquema   (InfoProd.versao de Produto, ex.: "2.0" -> 2)
+ *  1  byte   versão menor do esquema
+ *  2  byte   subtipo                   (1 = alimentício, 2 = artesanal)
+ *  3  byte   reservado (0)
+ *  4  int    tamanho total do registro, em bytes
+ *  8  double preço
+ * 16  int    estoque
+ * 20  textos: id, nome, categoria, produtor, detalhe do subtipo (validade ou material),
+ *             cada um como [int tamanho][UTF-8]; tamanho -1 representa null
+ * </pre>
+ * Os campos numéricos ficam em deslocamentos fixos, de modo que {@link VisaoProdutoBinaria}
+ * lê preço e estoque direto do buffer, sem montar o objeto. O tamanho total permite
+ * pular registros ao percorrer um arquivo com vários produtos concatenados.
+ *
+ * Registros de uma versão maior diferente da atual são rejeitados; versões menores
+ * só podem acrescentar campos ao final, que leitores antigos ignoram.
+ */
+public final class FormatoProduto {
+
+    // Deslocamentos fixos
+    static final int VERSAO_MAIOR = 0;
+    static final int VERSAO_MENOR = 1;
+    static final int SUBTIPO = 2;
+    static final int TAMANHO = 4;
+    static final int PRECO = 8;
+    static final int ESTOQUE = 16;
+    static final int TEXTOS = 20;
+
+    /** Bytes iniciais de um registro que bastam para ler o seu tamanho total. */
+    public static final int CABECALHO = 8;
+
+    /** Subtipos */
+    public static final byte ALIMENTICIO = 1;
+    public static final byte ARTESANAL = 2;
+
+    /** Versão do esquema, derivada de {@code @InfoProd(versao)} da classe Produto. */
+    public static final int VERSAO_MAIOR_ATUAL;
+    public static final int VERSAO_MENOR_ATUAL;
+
+    static {
+        String[] partes = Produto.class.getAnnotation(InfoProd.class).versao().split("\\.");
+        VERSAO_MAIOR_ATUAL = Integer.parseInt(partes[0]);
+        VERSAO_MENOR_ATUAL = (partes.length > 1) ? Integer.parseInt(partes[1]) : 0;
+    }
+
+    private FormatoProduto() {
+    }
+
+    /**
+     * Codifica o produto em um novo array de bytes.
+     */
+    public static byte[] codificar(Produto produto) {
+        byte[][] textos = textos(produto);
+        ByteBuffer bytes = ByteBuffer.allocate(tamanho(textos));
+        escrever(produto, textos, bytes);
+        return bytes.array();
+    }
+
+    /**
+     * Codifica o produto na posição atual do buffer, avançando-a.
+     * @throws BufferOverflowException se não houver espaço suficiente
+     */
+    public static void codificar(Produto produto, ByteBuffer destino) {
+        byte[][] textos = textos(produto);
+        if (destino.remaining() < tamanho(textos)) {
+            throw new BufferOverflowException();
+        }
+        ByteOrder ordem = destino.order();
+        destino.order(ByteOrder.BIG_ENDIAN);
+        try {
+            escrever(produto, textos, destino);
+        } finally {
+            destino.order(ordem);
+        }
+    }
+
+    /**
+     * Decodifica o registro na posição atual do buffer, avançando-a até o fim do registro.
+     */
+    public static Produto decodificar(ByteBuffer origem) {
+        VisaoProdutoBinaria visao = new VisaoProdutoBinaria().apontar(origem, origem.position());
+        Produto produto = visao.materializar();
+        origem.position(origem.position() + visao.tamanho());
+        return produto;
+    }
+
+    private static byte[][] textos(Produto produto) {
+        String detalhe;
+        if (produto instanceof ProdutoAlimenticio) {
+            detalhe = ((ProdutoAlimenticio) produto).getDataValidade();
+        } else if (produto instanceof ProdutoArtesanal) {
+            detalhe = ((ProdutoArtesanal) produto).getMaterial();
+        } else {
+            throw new IllegalArgumentException("Tipo de produto não suportado: " + produto.getClass().getName());
+        }
+        return new byte[][] {
+                utf8(produto.getId()), utf8(produto.getNome()), utf8(produto.getCategoria()),
+                utf8(produto.getProdutorLocal()), utf8(detalhe)
+        };
+    }
+
+    private static int tamanho(byte[][] textos) {
+        int tamanho = TEXTOS;
+        for (byte[] texto : textos) {
+            tamanho += 4 + (texto == null ? 0 : texto.length);
+        }
+        return tamanho;
+    }
+
+    private static void escrever(Produto produto, byte[][] textos, ByteBuffer destino) {
+        destino.put((byte) VERSAO_MAIOR_ATUAL)
+                .put((byte) VERSAO_MENOR_ATUAL)
+                .put(produto instanceof ProdutoAlimenticio ? ALIMENTICIO : ARTESANAL)
+                .put((byte) 0)
+                .putInt(tamanho(textos))
+                .putDouble(produto.getPreco())
+                .putInt(produto.getEstoque());
+        for (byte[] texto : textos) {
+            if (texto == null) {
+                destino.putInt(-1);
+            } else {
+                destino.putInt(texto.length).put(texto);
+            }
+        }
+    }
+
+    private static byte[] utf8(String texto) {
+        return (texto == null) ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Usado pela visão para montar o objeto completo
+    static Produto criar(byte subtipo, String id, String nome, double preco, String categoria,
+                         int estoque, String produtor, String detalhe) {
+        try {
+            if (subtipo == ALIMENTICIO) {
+                return new ProdutoAlimenticio(id, nome, preco, categoria, estoque, produtor, detalhe);
+            }
+            if (subtipo == ARTESANAL) {
+                return new ProdutoArtesanal(id, nome, preco, categoria, estoque, produtor, detalhe);
+            }
+        } catch (ExcecaoNegocio e) {
+            throw new IllegalStateException("Registro com valores inválidos.", e);
+        }
+        throw new IllegalStateException("Subtipo de produto desconhecido: " + subtipo);
+    }
+}
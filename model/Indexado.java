@@ -0,0 +1,19 @@
+package model;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca um atributo para indexação secundária automática (ver index.GerenciadorIndices).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Indexado {
+
+    /**
+     * Estrutura do índice: HASH para buscas por igualdade (ex.: categoria, produtor),
+     * ORDENADO para igualdade e intervalos (ex.: preço, estoque).
+     */
+    enum Tipo { HASH, ORDENADO }
+
+    Tipo tipo() default Tipo.HASH;       // Estrutura usada pelo índice
+}
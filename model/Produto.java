@@ -14,29 +14,51 @@ public abstract class Produto implements Comparable<Produto> {
     // Nome do produto
     private final String nome;
     // Preço unitário do produto
+    @Indexado(tipo = Indexado.Tipo.ORDENADO)
     private final double preco;
     // Categoria do produto (ex: "Alimentício", "Artesanal")
+    @Indexado
     private final String categoria;
     // Quantidade disponível em estoque
+    @Indexado(tipo = Indexado.Tipo.ORDENADO)
     private final int estoque;
     // Nome do produtor ou local de origem
+    @Indexado
     private final String produtorLocal;
 
+    // Mensagens das regras, compartilhadas pelo construtor e por validar
+    private static final String ID_VAZIO = "ID não pode ser vazio.";
+    private static final String NOME_VAZIO = "Nome não pode ser vazio.";
+
     /**
-     * Construtor base para todos os produtos. Realiza validações de regra de negócio.
+     * Construtor base para todos os produtos. Aplica as regras de {@link #validar} e lança
+     * a primeira violação: IllegalArgumentException para campos obrigatórios (ID, nome) e
+     * ExcecaoNegocio para as regras de negócio (preço, estoque).
      */
     public Produto(String id, String nome, double preco, String categoria, int estoque, String produtorLocal) throws ExcecaoNegocio {
-        if (id == null || id.isBlank()) {
-            throw new IllegalArgumentException("ID não pode ser vazio.");
-        }
-        if (nome == null || nome.isBlank()) {
-            throw new IllegalArgumentException("Nome não pode ser vazio.");
-        }
-        if (preco <= 0) {
-            throw new ExcecaoNegocio("Preço deve ser positivo. Valor fornecido: " + preco);
-        }
-        if (estoque < 0) {
-            throw new ExcecaoNegocio("Estoque não pode ser negativo. Valor fornecido: " + estoque);
+        this(id, nome, preco, categoria, estoque, produtorLocal, true);
+    }
+
+    /**
+     * Usado pelo {@link ConstrutorProduto}, que já aplicou {@link #validar}: com verificar
+     * falso, as regras não são verificadas de novo.
+     */
+    Produto(String id, String nome, double preco, String categoria, int estoque, String produtorLocal,
+            boolean verificar) throws ExcecaoNegocio {
+        if (verificar) {
+            // mesmas regras de validar, lançando direto na primeira violação (sem relatório)
+            if (!preenchido(id)) {
+                throw new IllegalArgumentException(ID_VAZIO);
+            }
+            if (!preenchido(nome)) {
+                throw new IllegalArgumentException(NOME_VAZIO);
+            }
+            if (!precoValido(preco)) {
+                throw new ExcecaoNegocio(mensagemPreco(preco));
+            }
+            if (!estoqueValido(estoque)) {
+                throw new ExcecaoNegocio(mensagemEstoque(estoque));
+            }
         }
         this.id = id;
         this.nome = nome;
@@ -46,6 +68,52 @@ public abstract class Produto implements Comparable<Produto> {
         this.produtorLocal = produtorLocal;
     }
 
+    /**
+     * Regras de todo produto, verificadas sem lançar exceções: cada regra violada é
+     * registrada no relatório, na ordem id, nome, preço, estoque (ver {@link ConstrutorProduto}).
+     * @return true se nenhuma regra foi violada
+     */
+    public static boolean validar(String id, String nome, double preco, int estoque, RelatorioValidacao relatorio) {
+        boolean valido = true;
+        if (!preenchido(id)) {
+            relatorio.adicionar("id", ID_VAZIO);
+            valido = false;
+        }
+        if (!preenchido(nome)) {
+            relatorio.adicionar("nome", NOME_VAZIO);
+            valido = false;
+        }
+        if (!precoValido(preco)) {
+            relatorio.adicionar("preco", mensagemPreco(preco));
+            valido = false;
+        }
+        if (!estoqueValido(estoque)) {
+            relatorio.adicionar("estoque", mensagemEstoque(estoque));
+            valido = false;
+        }
+        return valido;
+    }
+
+    private static boolean preenchido(String texto) {
+        return texto != null && !texto.isBlank();
+    }
+
+    private static boolean precoValido(double preco) {
+        return preco > 0;
+    }
+
+    private static boolean estoqueValido(int estoque) {
+        return estoque >= 0;
+    }
+
+    private static String mensagemPreco(double preco) {
+        return "Preço deve ser positivo. Valor fornecido: " + preco;
+    }
+
+    private static String mensagemEstoque(int estoque) {
+        return "Estoque não pode ser negativo. Valor fornecido: " + estoque;
+    }
+
     // Métodos de acesso (getters)
     public String getId() { return id; }
     public String getNome() { return nome; }
@@ -27,6 +27,15 @@ public class ProdutoAlimenticio extends Produto {
         this.dataValidade = dataValidade;
     }
 
+    // Usado pelo ConstrutorProduto com os valores já validados
+    ProdutoAlimenticio(String id, String nome, double preco, String categoria, int estoque, String produtorLocal,
+            String dataValidade, boolean verificar) throws ExcecaoNegocio {
+        super(id, nome, preco, categoria, estoque, produtorLocal, verificar);
+        this.dataValidade = dataValidade;
+    }
+
+    public String getDataValidade() { return dataValidade; }
+
     @Override
     public String getDetalhesEspecificos() {
         return "Validade: " + dataValidade;
@@ -27,6 +27,15 @@ public class ProdutoArtesanal extends Produto {
         this.material = material;
     }
 
+    // Usado pelo ConstrutorProduto com os valores já validados
+    ProdutoArtesanal(String id, String nome, double preco, String categoria, int estoque, String produtorLocal,
+            String material, boolean verificar) throws ExcecaoNegocio {
+        super(id, nome, preco, categoria, estoque, produtorLocal, verificar);
+        this.material = material;
+    }
+
+    public String getMaterial() { return material; }
+
     @Override
     public String getDetalhesEspecificos() {
         return "Material: " + material;
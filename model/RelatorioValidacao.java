@@ -0,0 +1,86 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Relatório de violações de regras de negócio, preenchido sem lançar exceções.
+ *
+ * Pensado para ser reaproveitado: em uma carga em massa, uma única instância pode validar
+ * todos os registros, chamando {@link #limpar()} antes de cada um. Nenhum objeto é criado
+ * enquanto os registros forem válidos.
+ */
+public final class RelatorioValidacao {
+
+    /**
+     * Uma regra violada: o atributo e a mensagem explicando o motivo.
+     */
+    public static final class Violacao {
+        private final String campo;
+        private final String mensagem;
+
+        Violacao(String campo, String mensagem) {
+            this.campo = campo;
+            this.mensagem = mensagem;
+        }
+
+        public String getCampo() { return campo; }
+        public String getMensagem() { return mensagem; }
+
+        @Override
+        public String toString() {
+            return campo + ": " + mensagem;
+        }
+    }
+
+    private final List<Violacao> violacoes = new ArrayList<>();
+
+    /**
+     * Registra uma violação.
+     * @param campo atributo que violou a regra (ex.: "preco")
+     * @param mensagem motivo da violação
+     */
+    public void adicionar(String campo, String mensagem) {
+        violacoes.add(new Violacao(campo, mensagem));
+    }
+
+    /**
+     * Descarta as violações registradas, para validar o próximo registro.
+     */
+    public void limpar() {
+        violacoes.clear();
+    }
+
+    /** true se nenhuma violação foi registrada desde o último {@link #limpar()}. */
+    public boolean valido() {
+        return violacoes.isEmpty();
+    }
+
+    public int quantidade() {
+        return violacoes.size();
+    }
+
+    public List<Violacao> getViolacoes() {
+        return Collections.unmodifiableList(violacoes);
+    }
+
+    /**
+     * Mensagens de todas as violações, separadas por "; ".
+     */
+    public String mensagem() {
+        StringBuilder texto = new StringBuilder();
+        for (Violacao violacao : violacoes) {
+            if (texto.length() > 0) {
+                texto.append("; ");
+            }
+            texto.append(violacao.getMensagem());
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public String toString() {
+        return violacoes.toString();
+    }
+}
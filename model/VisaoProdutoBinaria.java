@@ -0,0 +1,149 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura de um produto codificado com {@link FormatoProduto} diretamente do buffer.
+ *
+ * Os getters leem o campo no buffer a cada chamada, sem copiar o registro nem criar
+ * o objeto Produto: preço, estoque e subtipo estão em deslocamentos fixos; os textos
+ * são decodificados apenas quando pedidos. A mesma instância pode ser reapontada
+ * para outro registro, permitindo percorrer arquivos grandes sem alocação:
+ *
+ * <pre>
+ * VisaoProdutoBinaria visao = new VisaoProdutoBinaria();
+ * for (int pos = 0; pos &lt; dump.limit(); pos = visao.proximo()) {
+ *     visao.apontar(dump, pos);
+ *     total += visao.getPreco() * visao.getEstoque();
+ * }
+ * </pre>
+ */
+public final class VisaoProdutoBinaria {
+
+    private ByteBuffer origem;
+    private ByteBuffer bytes;
+    private int inicio;
+
+    /**
+     * Aponta a visão para o registro que começa em 'inicio' (posição absoluta no buffer).
+     * @throws IllegalStateException se o registro for de uma versão maior diferente da atual
+     */
+    public VisaoProdutoBinaria apontar(ByteBuffer bytes, int inicio) {
+        if (bytes != origem) {
+            // o formato é big-endian; só duplica o buffer se ele estiver em outra ordem
+            this.origem = bytes;
+            this.bytes = (bytes.order() == ByteOrder.BIG_ENDIAN) ? bytes : bytes.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
+        this.inicio = inicio;
+        int versao = this.bytes.get(inicio + FormatoProduto.VERSAO_MAIOR);
+        if (versao != FormatoProduto.VERSAO_MAIOR_ATUAL) {
+            throw new IllegalStateException("Versão de esquema não suportada: " + versao);
+        }
+        return this;
+    }
+
+    public int getVersaoMenor() {
+        return bytes.get(inicio + FormatoProduto.VERSAO_MENOR);
+    }
+
+    /** {@link FormatoProduto#ALIMENTICIO} ou {@link FormatoProduto#ARTESANAL}. */
+    public byte getSubtipo() {
+        return bytes.get(inicio + FormatoProduto.SUBTIPO);
+    }
+
+    /** Tamanho do registro, em bytes. */
+    public int tamanho() {
+        return bytes.getInt(inicio + FormatoProduto.TAMANHO);
+    }
+
+    /** Posição do registro seguinte no buffer. */
+    public int proximo() {
+        return inicio + tamanho();
+    }
+
+    public double getPreco() {
+        return bytes.getDouble(inicio + FormatoProduto.PRECO);
+    }
+
+    public int getEstoque() {
+        return bytes.getInt(inicio + FormatoProduto.ESTOQUE);
+    }
+
+    public String getId() {
+        return texto(0);
+    }
+
+    public String getNome() {
+        return texto(1);
+    }
+
+    public String getCategoria() {
+        return texto(2);
+    }
+
+    public String getProdutorLocal() {
+        return texto(3);
+    }
+
+    /** Validade (alimentício) ou material (artesanal). */
+    public String getDetalhe() {
+        return texto(4);
+    }
+
+    /**
+     * Compara o ID do registro com o informado sem decodificar o texto.
+     */
+    public boolean temId(String id) {
+        int posicao = inicio + FormatoProduto.TEXTOS;
+        int tamanho = bytes.getInt(posicao);
+        if (tamanho < 0) {
+            return id == null;
+        }
+        if (id == null) {
+            return false;
+        }
+        byte[] esperado = id.getBytes(StandardCharsets.UTF_8);
+        if (esperado.length != tamanho) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (bytes.get(posicao + 4 + i) != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Monta o objeto Produto completo a partir do registro.
+     */
+    public Produto materializar() {
+        int posicao = inicio + FormatoProduto.TEXTOS;
+        String[] textos = new String[5];
+        for (int i = 0; i < textos.length; i++) {
+            int tamanho = bytes.getInt(posicao);
+            textos[i] = (tamanho < 0) ? null : decodificar(posicao + 4, tamanho);
+            posicao += 4 + Math.max(tamanho, 0);
+        }
+        return FormatoProduto.criar(getSubtipo(), textos[0], textos[1], getPreco(), textos[2],
+                getEstoque(), textos[3], textos[4]);
+    }
+
+    // i-ésimo texto do registro: pula os anteriores pelos prefixos de tamanho
+    private String texto(int indice) {
+        int posicao = inicio + FormatoProduto.TEXTOS;
+        for (int i = 0; i < indice; i++) {
+            posicao += 4 + Math.max(bytes.getInt(posicao), 0);
+        }
+        int tamanho = bytes.getInt(posicao);
+        return (tamanho < 0) ? null : decodificar(posicao + 4, tamanho);
+    }
+
+    private String decodificar(int posicao, int tamanho) {
+        byte[] texto = new byte[tamanho];
+        bytes.get(posicao, texto);
+        return new String(texto, StandardCharsets.UTF_8);
+    }
+}
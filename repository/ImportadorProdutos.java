@@ -0,0 +1,653 @@
+package repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.ConstrutorProduto;
+import model.FormatoProduto;
+import model.Produto;
+import model.ProdutoAlimenticio;
+import model.ProdutoArtesanal;
+import model.RelatorioValidacao;
+import model.VisaoProdutoBinaria;
+
+/**
+ * Importação em massa de produtos a partir de arquivos CSV ou binários ({@link FormatoProduto}).
+ *
+ * O arquivo é lido sequencialmente por NIO em blocos grandes; cada bloco é cortado no fim
+ * do último registro completo e entregue a um pool de threads, que interpreta e valida os
+ * registros em paralelo enquanto os blocos seguintes são lidos. Os lotes são consumidos na
+ * ordem do arquivo (no máximo 2 x paralelismo blocos em memória ao mesmo tempo) e cada um é
+ * cadastrado assim que fica pronto, com {@link Repositorio#cadastrarLote(List)}: a memória
+ * dos blocos não cresce com o arquivo. Em um {@link RepositorioIndexado}, a importação é
+ * uma carga ({@link RepositorioIndexado#iniciarCarga()}): os lotes vão para o repositório
+ * base e os índices ordenados são montados uma única vez ao final, de baixo para cima, em
+ * vez de remontados a cada bloco.
+ *
+ * Formato CSV (UTF-8, separador ';', uma linha por produto, cabeçalho opcional):
+ * <pre>
+ * tipo;id;nome;preco;categoria;estoque;produtorLocal;detalhe
+ * alimenticio;A001;Mel Orgânico;25.50;Alimentício;50;Fazenda Pura;2026-01-01
+ * artesanal;B002;"Vaso; grande";60.00;Decoração;15;Barro Arte;Argila
+ * </pre>
+ * O detalhe é a validade (alimentício) ou o material (artesanal). Campos com ';' ou aspas
+ * vão entre aspas (aspas internas duplicadas) e não podem conter quebras de linha. Campos
+ * opcionais vazios são lidos como null. Linhas inválidas são rejeitadas e relatadas no
+ * {@link Resultado}, sem interromper a importação. No formato binário, um registro com
+ * tamanho inválido ou incompleto no fim do arquivo também é relatado como rejeitado; como
+ * os registros seguintes não podem ser delimitados, o restante do arquivo é descartado.
+ *
+ * Se o repositório recusar um lote, a importação é interrompida e os lotes anteriores
+ * permanecem cadastrados (e indexados).
+ */
+public class ImportadorProdutos {
+
+    /** Tamanho padrão dos blocos lidos do arquivo: 8 MB. */
+    public static final int TAMANHO_BLOCO_PADRAO = 8 << 20;
+
+    // Quantidade máxima de mensagens de erro guardadas no resultado
+    private static final int MAXIMO_ERROS = 100;
+
+    private static final char SEPARADOR = ';';
+    private static final String CABECALHO_CSV = "tipo;id;nome;preco;categoria;estoque;produtorLocal;detalhe";
+    private static final int COLUNAS = 8;
+
+    // Devolvido por fimUltimoRegistro quando o bloco contém um registro com tamanho inválido
+    private static final int CORROMPIDO = -2;
+
+    /**
+     * Resumo de uma importação.
+     */
+    public static final class Resultado {
+        private final int importados;
+        private final int rejeitados;
+        private final List<String> erros;
+        private final long nanos;
+
+        Resultado(int importados, int rejeitados, List<String> erros, long nanos) {
+            this.importados = importados;
+            this.rejeitados = rejeitados;
+            this.erros = Collections.unmodifiableList(erros);
+            this.nanos = nanos;
+        }
+
+        /** Registros válidos entregues ao repositório. */
+        public int getImportados() { return importados; }
+        /** Registros inválidos, ignorados. */
+        public int getRejeitados() { return rejeitados; }
+        /** Mensagens dos primeiros registros rejeitados (no máximo 100). */
+        public List<String> getErros() { return erros; }
+        /** Duração total da importação, em nanossegundos. */
+        public long getNanos() { return nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%d importados, %d rejeitados em %d ms", importados, rejeitados, nanos / 1_000_000);
+        }
+    }
+
+    // Resultado da interpretação de um bloco
+    private static final class Lote {
+        final List<Produto> produtos = new ArrayList<>();
+        // erros com o número do registro relativo ao bloco (1 = primeiro registro do bloco)
+        final List<String> erros = new ArrayList<>();
+        final List<Integer> registrosComErro = new ArrayList<>();
+        int rejeitados;
+        // registros (linhas) do bloco, para numerar os erros dos blocos seguintes
+        int registros;
+
+        void rejeitar(String erro) {
+            rejeitados++;
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(erro);
+                registrosComErro.add(registros);
+            }
+        }
+    }
+
+    // Particularidades de cada formato de arquivo
+    private interface Formato {
+        // fim do último registro completo em bytes[0, preenchido), -1 se não houver nenhum ou
+        // CORROMPIDO se um registro não puder ser delimitado (o restante do arquivo é descartado)
+        int fimUltimoRegistro(byte[] bytes, int preenchido);
+
+        // interpreta os registros completos de bytes[0, fim)
+        Lote ler(byte[] bytes, int fim, boolean primeiroBloco);
+
+        // "Linha" ou "Registro", para as mensagens de erro
+        String unidade();
+    }
+
+    private final int tamanhoBloco;
+    private final int paralelismo;
+
+    /**
+     * Importador com blocos de 8 MB e uma thread de interpretação por processador.
+     */
+    public ImportadorProdutos() {
+        this(TAMANHO_BLOCO_PADRAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param tamanhoBloco bytes lidos do arquivo por bloco (cresce se um registro não couber)
+     * @param paralelismo threads que interpretam os blocos
+     */
+    public ImportadorProdutos(int tamanhoBloco, int paralelismo) {
+        if (tamanhoBloco <= 0 || paralelismo <= 0) {
+            throw new IllegalArgumentException("O tamanho do bloco e o paralelismo devem ser positivos.");
+        }
+        this.tamanhoBloco = tamanhoBloco;
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Importa um arquivo CSV para o repositório.
+     * @param arquivo arquivo CSV em UTF-8
+     * @param destino repositório que receberá os produtos válidos
+     */
+    public Resultado importarCsv(Path arquivo, Repositorio<Produto> destino) throws IOException {
+        return importar(arquivo, destino, new FormatoCsv());
+    }
+
+    /**
+     * Importa um arquivo de registros {@link FormatoProduto} concatenados para o repositório.
+     * @param arquivo arquivo binário (ver {@link #exportarBinario(Collection, Path)})
+     * @param destino repositório que receberá os produtos válidos
+     */
+    public Resultado importarBinario(Path arquivo, Repositorio<Produto> destino) throws IOException {
+        return importar(arquivo, destino, new FormatoBinario());
+    }
+
+    private Resultado importar(Path arquivo, Repositorio<Produto> destino, Formato formato) throws IOException {
+        long inicio = System.nanoTime();
+        List<String> erros = new ArrayList<>();
+        int importados = 0;
+        int rejeitados = 0;
+
+        // em uma carga já aberta pelo chamador (ex.: vários arquivos), quem a conclui é ele
+        RepositorioIndexado<Produto> carga = (destino instanceof RepositorioIndexado<Produto> indexado
+                && !indexado.emCarga()) ? indexado : null;
+        if (carga != null) {
+            carga.iniciarCarga();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            Deque<Future<Lote>> emAndamento = new ArrayDeque<>();
+            boolean primeiroBloco = true;
+            long registrosLidos = 0;
+            byte[] bloco = new byte[tamanhoBloco];
+            int preenchido = 0;
+            boolean fimArquivo = false;
+            while (!fimArquivo) {
+                int lidos = canal.read(ByteBuffer.wrap(bloco, preenchido, bloco.length - preenchido));
+                if (lidos < 0) {
+                    fimArquivo = true;
+                } else {
+                    preenchido += lidos;
+                    if (preenchido < bloco.length) {
+                        continue;
+                    }
+                }
+                int fim = fimArquivo ? preenchido : formato.fimUltimoRegistro(bloco, preenchido);
+                if (fim == CORROMPIDO) {
+                    // o bloco vai inteiro para a interpretação, que rejeita o registro inválido
+                    // e descarta o restante; o arquivo não é mais lido
+                    fim = preenchido;
+                    fimArquivo = true;
+                } else if (fim < 0) {
+                    // nenhum registro completo no bloco: aumenta o bloco e continua lendo
+                    bloco = Arrays.copyOf(bloco, bloco.length * 2);
+                    continue;
+                }
+                if (fim > 0) {
+                    byte[] conteudo = bloco;
+                    int tamanho = fim;
+                    boolean primeiro = primeiroBloco;
+                    emAndamento.add(executor.submit(() -> formato.ler(conteudo, tamanho, primeiro)));
+                    primeiroBloco = false;
+                }
+                byte[] proximo = new byte[Math.max(tamanhoBloco, preenchido - fim)];
+                System.arraycopy(bloco, fim, proximo, 0, preenchido - fim);
+                preenchido -= fim;
+                bloco = proximo;
+
+                // consome os blocos prontos, na ordem do arquivo, limitando os que ficam em memória
+                while (!emAndamento.isEmpty() && (emAndamento.size() >= 2 * paralelismo || fimArquivo || emAndamento.peek().isDone())) {
+                    Lote lote = aguardar(emAndamento.poll());
+                    if (!lote.produtos.isEmpty()) {
+                        destino.cadastrarLote(lote.produtos);
+                        importados += lote.produtos.size();
+                    }
+                    rejeitados += lote.rejeitados;
+                    // os números dos registros só são conhecidos quando os blocos anteriores são consumidos
+                    for (int i = 0; i < lote.erros.size() && erros.size() < MAXIMO_ERROS; i++) {
+                        erros.add(formato.unidade() + " " + (registrosLidos + lote.registrosComErro.get(i)) + ": " + lote.erros.get(i));
+                    }
+                    registrosLidos += lote.registros;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            if (carga != null) {
+                carga.concluirCarga();
+            }
+        }
+
+        return new Resultado(importados, rejeitados, erros, System.nanoTime() - inicio);
+    }
+
+    private static Lote aguardar(Future<Lote> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Falha ao interpretar o arquivo.", e.getCause());
+        }
+    }
+
+    // --- CSV ---
+
+    private static final class FormatoCsv implements Formato {
+
+        @Override
+        public int fimUltimoRegistro(byte[] bytes, int preenchido) {
+            for (int i = preenchido - 1; i >= 0; i--) {
+                if (bytes[i] == '\n') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public String unidade() {
+            return "Linha";
+        }
+
+        // Linhas inválidas não lançam exceções: as violações vão para um relatório reutilizado,
+        // já que em arquivos com muitas linhas ruins criar exceções dominaria o custo
+        @Override
+        public Lote ler(byte[] bytes, int fim, boolean primeiroBloco) {
+            Lote lote = new Lote();
+            LeitorLinha leitor = new LeitorLinha(bytes);
+            int posicao = 0;
+            while (posicao < fim) {
+                int fimLinha = posicao;
+                while (fimLinha < fim && bytes[fimLinha] != '\n') {
+                    fimLinha++;
+                }
+                int proxima = fimLinha + 1;
+                if (fimLinha > posicao && bytes[fimLinha - 1] == '\r') {
+                    fimLinha--;
+                }
+                lote.registros++;
+                boolean ignorar = (fimLinha == posicao)
+                        || (primeiroBloco && lote.registros == 1 && cabecalho(bytes, posicao, fimLinha));
+                if (!ignorar) {
+                    Produto produto = leitor.ler(posicao, fimLinha);
+                    if (produto != null) {
+                        lote.produtos.add(produto);
+                    } else {
+                        lote.rejeitar(leitor.relatorio.mensagem());
+                    }
+                }
+                posicao = proxima;
+            }
+            return lote;
+        }
+
+        private static boolean cabecalho(byte[] bytes, int inicio, int fim) {
+            return new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8).equalsIgnoreCase(CABECALHO_CSV);
+        }
+    }
+
+    // Interpreta as linhas de um bloco; reaproveita o construtor, o relatório e os arrays de colunas
+    private static final class LeitorLinha {
+        private final byte[] bytes;
+        private final int[] inicios = new int[COLUNAS];
+        private final int[] fins = new int[COLUNAS];
+        private final ConstrutorProduto construtor = new ConstrutorProduto();
+        final RelatorioValidacao relatorio = new RelatorioValidacao();
+
+        LeitorLinha(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        // produto da linha bytes[inicio, fim), ou null com as violações no relatório
+        Produto ler(int inicio, int fim) {
+            relatorio.limpar();
+            int colunas = separar(inicio, fim);
+            if (colunas < 0) {
+                return null;
+            }
+            if (colunas != COLUNAS) {
+                relatorio.adicionar("linha", "esperadas " + COLUNAS + " colunas, encontradas " + colunas + ".");
+                return null;
+            }
+            construtor.limpar();
+            String tipo = texto(0);
+            String detalhe = texto(7);
+            if ("alimenticio".equalsIgnoreCase(tipo)) {
+                construtor.alimenticio(detalhe);
+            } else if ("artesanal".equalsIgnoreCase(tipo)) {
+                construtor.artesanal(detalhe);
+            } else {
+                relatorio.adicionar("tipo", "tipo de produto desconhecido: " + tipo);
+                return null;
+            }
+            double preco = decimal(3, "preco");
+            int estoque = inteiro(5, "estoque");
+            if (!relatorio.valido()) {
+                return null;
+            }
+            return construtor.id(texto(1))
+                    .nome(texto(2))
+                    .preco(preco)
+                    .categoria(texto(4))
+                    .estoque(estoque)
+                    .produtorLocal(texto(6))
+                    .tentarConstruir(relatorio);
+        }
+
+        // Localiza as colunas da linha; campos entre aspas são marcados com o início negativo
+        // (-(posição + 1)) para que as aspas duplicadas sejam tratadas ao extrair o texto.
+        // Devolve o número de colunas, ou -1 (com a violação no relatório) se as aspas forem inválidas.
+        private int separar(int inicio, int fim) {
+            int coluna = 0;
+            int posicao = inicio;
+            while (true) {
+                int inicioCampo = posicao;
+                int fimCampo;
+                if (posicao < fim && bytes[posicao] == '"') {
+                    posicao++;
+                    while (true) {
+                        if (posicao >= fim) {
+                            relatorio.adicionar("linha", "aspas não fechadas.");
+                            return -1;
+                        }
+                        if (bytes[posicao] == '"') {
+                            if (posicao + 1 < fim && bytes[posicao + 1] == '"') {
+                                posicao += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        posicao++;
+                    }
+                    fimCampo = posicao;
+                    posicao++;
+                    if (posicao < fim && bytes[posicao] != SEPARADOR) {
+                        relatorio.adicionar("linha", "conteúdo após as aspas de fechamento.");
+                        return -1;
+                    }
+                    inicioCampo = -(inicioCampo + 2);
+                } else {
+                    while (posicao < fim && bytes[posicao] != SEPARADOR) {
+                        posicao++;
+                    }
+                    fimCampo = posicao;
+                }
+                if (coluna < COLUNAS) {
+                    inicios[coluna] = inicioCampo;
+                    fins[coluna] = fimCampo;
+                }
+                coluna++;
+                if (posicao >= fim) {
+                    return coluna;
+                }
+                posicao++;
+            }
+        }
+
+        private String texto(int coluna) {
+            int inicio = inicios[coluna];
+            int fim = fins[coluna];
+            if (inicio >= 0) {
+                return (fim == inicio) ? null : new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8);
+            }
+            inicio = -inicio - 1;
+            String texto = new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8);
+            return texto.isEmpty() ? null : texto.replace("\"\"", "\"");
+        }
+
+        private int inicioConteudo(int coluna) {
+            int inicio = inicios[coluna];
+            return (inicio < 0) ? -inicio - 1 : inicio;
+        }
+
+        // Inteiro com sinal opcional; valores fora do formato viram violação, sem exceção
+        private int inteiro(int coluna, String campo) {
+            int inicio = inicioConteudo(coluna);
+            int fim = fins[coluna];
+            boolean negativo = inicio < fim && bytes[inicio] == '-';
+            int posicao = negativo ? inicio + 1 : inicio;
+            long valor = 0;
+            boolean valido = posicao < fim && fim - posicao <= 10;
+            for (; valido && posicao < fim; posicao++) {
+                int digito = bytes[posicao] - '0';
+                valido = digito >= 0 && digito <= 9;
+                valor = valor * 10 + digito;
+            }
+            if (negativo) {
+                valor = -valor;
+            }
+            if (!valido || valor < Integer.MIN_VALUE || valor > Integer.MAX_VALUE) {
+                relatorio.adicionar(campo, "valor inteiro inválido: " + textoNumerico(inicio, fim));
+                return 0;
+            }
+            return (int) valor;
+        }
+
+        // Caminho rápido para decimais simples ("123.45"): mantissa inteira exata dividida por
+        // uma potência de 10 exata, o que dá o double corretamente arredondado. Outros formatos
+        // (expoente, muitos dígitos) recorrem a Double.parseDouble.
+        private static final double[] POTENCIAS_DE_10 = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+        };
+
+        private double decimal(int coluna, String campo) {
+            int inicio = inicioConteudo(coluna);
+            int fim = fins[coluna];
+            boolean negativo = inicio < fim && bytes[inicio] == '-';
+            int posicao = negativo ? inicio + 1 : inicio;
+            long mantissa = 0;
+            int digitos = 0;
+            int casas = -1;
+            boolean simples = true;
+            for (; posicao < fim; posicao++) {
+                byte b = bytes[posicao];
+                if (b == '.' && casas < 0) {
+                    casas = 0;
+                } else if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digitos++;
+                    if (casas >= 0) {
+                        casas++;
+                    }
+                } else if (b == 'e' || b == 'E' || b == '+' || b == '-') {
+                    simples = false;
+                } else {
+                    relatorio.adicionar(campo, "valor decimal inválido: " + textoNumerico(inicio, fim));
+                    return 0;
+                }
+            }
+            if (simples && digitos > 0 && digitos <= 15 && casas != 0) {
+                double valor = (casas > 0) ? mantissa / POTENCIAS_DE_10[casas] : mantissa;
+                return negativo ? -valor : valor;
+            }
+            try {
+                return Double.parseDouble(textoNumerico(inicio, fim));
+            } catch (NumberFormatException e) {
+                relatorio.adicionar(campo, "valor decimal inválido: " + textoNumerico(inicio, fim));
+                return 0;
+            }
+        }
+
+        private String textoNumerico(int inicio, int fim) {
+            return new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8);
+        }
+    }
+
+    // --- Binário ---
+
+    private static final class FormatoBinario implements Formato {
+
+        @Override
+        public int fimUltimoRegistro(byte[] bytes, int preenchido) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, preenchido);
+            VisaoProdutoBinaria visao = new VisaoProdutoBinaria();
+            int posicao = 0;
+            while (posicao + FormatoProduto.CABECALHO <= preenchido) {
+                int tamanho = tamanho(visao, buffer, posicao);
+                if (tamanho < FormatoProduto.CABECALHO) {
+                    return CORROMPIDO;
+                }
+                // comparado com o espaço restante: posicao + tamanho pode estourar o int
+                if (tamanho > preenchido - posicao) {
+                    break;
+                }
+                posicao += tamanho;
+            }
+            return (posicao == 0) ? -1 : posicao;
+        }
+
+        // tamanho do registro em 'posicao', ou -1 se o cabeçalho não couber ou for de outra versão
+        private static int tamanho(VisaoProdutoBinaria visao, ByteBuffer buffer, int posicao) {
+            if (buffer.limit() - posicao < FormatoProduto.CABECALHO) {
+                return -1;
+            }
+            try {
+                return visao.apontar(buffer, posicao).tamanho();
+            } catch (IllegalStateException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public String unidade() {
+            return "Registro";
+        }
+
+        // Os limites dos registros já foram verificados por fimUltimoRegistro, exceto no último
+        // bloco lido, que pode terminar com um registro incompleto ou ter um tamanho inválido:
+        // ele é rejeitado e, como o fim do registro não é conhecido, os bytes restantes são descartados
+        @Override
+        public Lote ler(byte[] bytes, int fim, boolean primeiroBloco) {
+            Lote lote = new Lote();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, fim);
+            VisaoProdutoBinaria visao = new VisaoProdutoBinaria();
+            while (buffer.hasRemaining()) {
+                int inicio = buffer.position();
+                int tamanho = tamanho(visao, buffer, inicio);
+                lote.registros++;
+                if (tamanho < FormatoProduto.CABECALHO || tamanho > buffer.remaining()) {
+                    lote.rejeitar("registro incompleto ou corrompido; o restante do arquivo foi descartado ("
+                            + buffer.remaining() + " bytes do bloco).");
+                    break;
+                }
+                try {
+                    lote.produtos.add(visao.materializar());
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    // registro com valores inválidos: pula para o próximo
+                    lote.rejeitar(e.getMessage());
+                }
+                buffer.position(inicio + tamanho);
+            }
+            return lote;
+        }
+    }
+
+    // --- Exportação ---
+
+    /**
+     * Grava os produtos em CSV, no formato lido por {@link #importarCsv(Path, Repositorio)}.
+     */
+    public static void exportarCsv(Collection<Produto> produtos, Path arquivo) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write(CABECALHO_CSV);
+            saida.newLine();
+            StringBuilder linha = new StringBuilder(128);
+            for (Produto produto : produtos) {
+                linha.setLength(0);
+                String detalhe;
+                if (produto instanceof ProdutoAlimenticio) {
+                    linha.append("alimenticio");
+                    detalhe = ((ProdutoAlimenticio) produto).getDataValidade();
+                } else if (produto instanceof ProdutoArtesanal) {
+                    linha.append("artesanal");
+                    detalhe = ((ProdutoArtesanal) produto).getMaterial();
+                } else {
+                    throw new IllegalArgumentException("Tipo de produto não suportado: " + produto.getClass().getName());
+                }
+                campo(linha, produto.getId());
+                campo(linha, produto.getNome());
+                linha.append(SEPARADOR).append(produto.getPreco());
+                campo(linha, produto.getCategoria());
+                linha.append(SEPARADOR).append(produto.getEstoque());
+                campo(linha, produto.getProdutorLocal());
+                campo(linha, detalhe);
+                saida.append(linha);
+                saida.newLine();
+            }
+        }
+    }
+
+    private static void campo(StringBuilder linha, String valor) {
+        linha.append(SEPARADOR);
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Campos com quebra de linha não são suportados no CSV: " + valor);
+        }
+        if (valor.indexOf(SEPARADOR) >= 0 || valor.indexOf('"') >= 0) {
+            linha.append('"').append(valor.replace("\"", "\"\"")).append('"');
+        } else {
+            linha.append(valor);
+        }
+    }
+
+    /**
+     * Grava os produtos como registros {@link FormatoProduto} concatenados, o formato lido
+     * por {@link #importarBinario(Path, Repositorio)}.
+     */
+    public static void exportarBinario(Collection<Produto> produtos, Path arquivo) throws IOException {
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            for (Produto produto : produtos) {
+                byte[] registro = FormatoProduto.codificar(produto);
+                if (buffer.remaining() < registro.length) {
+                    saida.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                if (registro.length > buffer.capacity()) {
+                    saida.write(registro);
+                } else {
+                    buffer.put(registro);
+                }
+            }
+            saida.write(buffer.array(), 0, buffer.position());
+        }
+    }
+}
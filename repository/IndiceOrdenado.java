@@ -0,0 +1,202 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import algorithm.ArvoreBusca;
+
+/**
+ * Índice ordenado por uma chave extraída de cada item (ex.: nome do produto), mantido
+ * por um {@link RepositorioIndexado}.
+ *
+ * A chave não precisa ser única: cada nó da árvore guarda o grupo de itens com aquela
+ * chave, na ordem de cadastro. As consultas percorrem a árvore e, dentro de cada chave,
+ * o grupo, de modo que itens com chaves repetidas nunca se sobrepõem.
+ *
+ * Como os demais índices, não é sincronizado: consultas não devem ser simultâneas a escritas.
+ *
+ * @param <K> tipo da chave (Comparable)
+ * @param <T> tipo da entidade indexada
+ */
+public class IndiceOrdenado<K extends Comparable<K>, T> implements IndiceRepositorio<T> {
+
+    // Par (chave, item) usado na carga em lote
+    private static final class Par<K, T> {
+        final K chave;
+        final T item;
+
+        Par(K chave, T item) {
+            this.chave = chave;
+            this.item = item;
+        }
+    }
+
+    private final ArvoreBusca<K, Set<T>> arvore;
+    private final Function<T, K> extratorChave;
+
+    /**
+     * @param arvore estrutura que armazenará o índice (chave -> itens com essa chave)
+     * @param extratorChave função que extrai a chave de cada entidade (chave nula: item fora do índice)
+     */
+    public IndiceOrdenado(ArvoreBusca<K, Set<T>> arvore, Function<T, K> extratorChave) {
+        this.arvore = Objects.requireNonNull(arvore, "O índice não pode ser nulo.");
+        this.extratorChave = Objects.requireNonNull(extratorChave, "O extrator de chave não pode ser nulo.");
+    }
+
+    @Override
+    public void indexar(T item) {
+        K chave = extratorChave.apply(item);
+        if (chave == null) {
+            return;
+        }
+        Set<T> grupo = arvore.buscar(chave);
+        if (grupo == null) {
+            grupo = new LinkedHashSet<>();
+            arvore.inserir(chave, grupo);
+        }
+        grupo.add(item);
+    }
+
+    @Override
+    public void desindexar(T item) {
+        K chave = extratorChave.apply(item);
+        if (chave == null) {
+            return;
+        }
+        Set<T> grupo = arvore.buscar(chave);
+        if (grupo != null && grupo.remove(item) && grupo.isEmpty()) {
+            // remove a entrada vazia: memória proporcional apenas aos itens vivos
+            arvore.remover(chave);
+        }
+    }
+
+    /**
+     * Ordena os pares (chave, item), agrupa as chaves repetidas e carrega as chaves novas
+     * na árvore de uma vez, em vez de n inserções; chaves já presentes recebem os itens no grupo.
+     */
+    @Override
+    public void indexarLote(List<T> itens) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Par<K, T>[] pares = new Par[itens.size()];
+        int n = 0;
+        for (T item : itens) {
+            K chave = extratorChave.apply(item);
+            if (chave != null) {
+                pares[n++] = new Par<>(chave, item);
+            }
+        }
+        // a ordenação é estável: dentro de cada chave, os itens ficam na ordem do lote;
+        // entrada já ordenada (ex.: arquivo exportado em ordem de nome) dispensa a ordenação
+        Comparator<Par<K, T>> porChave = Comparator.comparing(par -> par.chave);
+        boolean ordenado = true;
+        for (int i = 1; i < n && ordenado; i++) {
+            ordenado = porChave.compare(pares[i - 1], pares[i]) <= 0;
+        }
+        if (!ordenado) {
+            Arrays.parallelSort(pares, 0, n, porChave);
+        }
+
+        boolean vazia = !arvore.iterator().hasNext();
+        List<K> chaves = new ArrayList<>();
+        List<Set<T>> grupos = new ArrayList<>();
+        for (int i = 0; i < n; ) {
+            K chave = pares[i].chave;
+            Set<T> grupo = vazia ? null : arvore.buscar(chave);
+            if (grupo == null) {
+                grupo = new LinkedHashSet<>();
+                chaves.add(chave);
+                grupos.add(grupo);
+            }
+            for (; i < n && pares[i].chave.compareTo(chave) == 0; i++) {
+                grupo.add(pares[i].item);
+            }
+        }
+        if (!chaves.isEmpty()) {
+            arvore.carregarOrdenado(chaves, grupos);
+        }
+    }
+
+    /**
+     * Itens com a chave informada, na ordem de cadastro; lista vazia se não houver.
+     */
+    public List<T> buscar(K chave) {
+        Set<T> grupo = (chave == null) ? null : arvore.buscar(chave);
+        return (grupo == null) ? new ArrayList<>() : new ArrayList<>(grupo);
+    }
+
+    /**
+     * Iterador preguiçoso, em ordem crescente de chave, dos itens com chave no intervalo
+     * [de, ate); limites nulos deixam o intervalo aberto. Parar no meio não custa o
+     * restante do intervalo.
+     */
+    public Iterator<T> iterador(K de, K ate) {
+        return achatar(arvore.iterador(de, ate));
+    }
+
+    /**
+     * Percorre, sob demanda, os itens de cada grupo na ordem dos grupos: os índices que
+     * guardam chave -> grupo de itens devolvem assim os itens de um intervalo de chaves.
+     */
+    public static <T> Iterator<T> achatar(Iterator<? extends Collection<T>> grupos) {
+        Objects.requireNonNull(grupos, "Os grupos não podem ser nulos.");
+        return new Iterator<T>() {
+            private Iterator<T> grupo = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!grupo.hasNext() && grupos.hasNext()) {
+                    grupo = grupos.next().iterator();
+                }
+                return grupo.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return grupo.next();
+            }
+        };
+    }
+
+    /**
+     * Itens com chave no intervalo [de, ate), em ordem crescente de chave: O(log n + k).
+     */
+    public List<T> listarIntervalo(K de, K ate) {
+        List<T> resultado = new ArrayList<>();
+        iterador(de, ate).forEachRemaining(resultado::add);
+        return resultado;
+    }
+
+    /**
+     * Todos os itens indexados, em ordem crescente de chave.
+     */
+    public List<T> listarEmOrdem() {
+        return listarIntervalo(null, null);
+    }
+
+    /**
+     * Até 'limite' itens cujas chaves começam com o prefixo (ex.: autocompletar), em ordem:
+     * O(log n + limite), como em {@link ArvoreBusca#listarPorPrefixo}.
+     */
+    public static <T> List<T> listarPorPrefixo(IndiceOrdenado<String, T> indice, String prefixo, int limite) {
+        if (prefixo == null) {
+            throw new IllegalArgumentException("prefixo não pode ser nulo");
+        }
+        List<T> resultado = new ArrayList<>();
+        Iterator<T> it = indice.iterador(prefixo, ArvoreBusca.sucessorPrefixo(prefixo));
+        while (resultado.size() < limite && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+}
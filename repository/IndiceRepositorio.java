@@ -0,0 +1,37 @@
+package repository;
+
+import java.util.List;
+
+/**
+ * Índice mantido automaticamente pelo {@link RepositorioIndexado}.
+ *
+ * O repositório chama indexar ao cadastrar um item e desindexar ao removê-lo
+ * (ou antes de substituí-lo por uma nova versão com o mesmo ID).
+ *
+ * @param <T> Tipo da entidade indexada
+ */
+public interface IndiceRepositorio<T> {
+
+    /**
+     * Inclui o item no índice.
+     * @param item entidade recém-cadastrada
+     */
+    void indexar(T item);
+
+    /**
+     * Retira o item do índice.
+     * @param item entidade que está sendo removida ou substituída
+     */
+    void desindexar(T item);
+
+    /**
+     * Inclui vários itens recém-cadastrados, com IDs distintos. A implementação padrão
+     * indexa um a um; índices ordenados podem ser montados de baixo para cima.
+     * @param itens entidades recém-cadastradas
+     */
+    default void indexarLote(List<T> itens) {
+        for (T item : itens) {
+            indexar(item);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escrita antecipada (write-ahead log) usado pelo {@link RepositorioDuravel}.
+ *
+ * Cada registro é gravado como [tamanho][CRC32C][tipo][conteúdo]. Os registros são
+ * anexados a um buffer em memória e uma única thread de gravação os escreve no disco
+ * em lotes, com um fsync por lote (group commit): enquanto um fsync está em andamento,
+ * os registros seguintes se acumulam e seguem juntos no próximo.
+ *
+ * As posições no log (LSN) são o deslocamento em bytes desde o início do log. O log é
+ * dividido em segmentos "wal-LSN.log", nomeados pelo LSN do primeiro byte, para que os
+ * segmentos já cobertos por um instantâneo possam ser apagados.
+ */
+final class LogEscrita implements Closeable {
+
+    // tamanho (int) + CRC32C (int) + tipo (byte)
+    static final int CABECALHO = 9;
+
+    private static final String PREFIXO = "wal-";
+    private static final String SUFIXO = ".log";
+
+    /**
+     * Recebe os registros lidos na recuperação.
+     */
+    interface Leitor {
+        void registro(byte tipo, ByteBuffer conteudo);
+    }
+
+    private final Path diretorio;
+    private final long limiteSegmento;
+
+    // Usado apenas pela thread de gravação depois da construção
+    private FileChannel canal;
+
+    private final Object monitor = new Object();
+    private ByteBuffer pendente = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer gravando = ByteBuffer.allocate(1 << 16);
+    private long lsnAnexado;
+    private long lsnDuravel;
+    private IOException falha;
+    private boolean fechando;
+
+    private final Thread gravador;
+
+    /**
+     * Abre o log para anexação a partir do LSN informado (fim dos dados já recuperados).
+     */
+    LogEscrita(Path diretorio, long lsnInicial, long limiteSegmento) throws IOException {
+        this.diretorio = diretorio;
+        this.limiteSegmento = limiteSegmento;
+        this.lsnAnexado = lsnInicial;
+        this.lsnDuravel = lsnInicial;
+        this.canal = abrirSegmento(lsnInicial);
+        this.gravador = new Thread(this::gravar, "log-escrita-" + diretorio.getFileName());
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    private FileChannel abrirSegmento(long inicio) throws IOException {
+        // um segmento com este nome só pode existir vazio ou com um registro incompleto
+        return FileChannel.open(caminhoSegmento(inicio),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private Path caminhoSegmento(long inicio) {
+        return diretorio.resolve(String.format("%s%020d%s", PREFIXO, inicio, SUFIXO));
+    }
+
+    /**
+     * Anexa um registro ao log, sem esperar a gravação.
+     * @return LSN do fim do registro, a ser passado para {@link #aguardar(long)}
+     */
+    long anexar(byte tipo, byte[] conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(tipo);
+        crc.update(conteudo);
+        synchronized (monitor) {
+            if (falha != null) {
+                throw new IllegalStateException("Log indisponível após falha de gravação.", falha);
+            }
+            if (fechando) {
+                throw new IllegalStateException("Log fechado.");
+            }
+            int necessario = CABECALHO + conteudo.length;
+            if (pendente.remaining() < necessario) {
+                ByteBuffer maior = ByteBuffer.allocate(Math.max(pendente.capacity() * 2, pendente.position() + necessario));
+                pendente.flip();
+                maior.put(pendente);
+                pendente = maior;
+            }
+            pendente.putInt(conteudo.length).putInt((int) crc.getValue()).put(tipo).put(conteudo);
+            lsnAnexado += necessario;
+            monitor.notifyAll();
+            return lsnAnexado;
+        }
+    }
+
+    /**
+     * Bloqueia até que todos os registros até o LSN estejam gravados e sincronizados no disco.
+     * Não reage a interrupções: o registro já foi anexado e será gravado de qualquer forma,
+     * então desistir faria o chamador ver como falha uma operação que se tornará durável.
+     * A interrupção é restaurada ao retornar.
+     */
+    void aguardar(long lsn) {
+        boolean interrompido = false;
+        try {
+            synchronized (monitor) {
+                while (lsnDuravel < lsn && falha == null) {
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        interrompido = true;
+                    }
+                }
+                if (lsnDuravel < lsn) {
+                    throw new IllegalStateException("Falha ao gravar o log.", falha);
+                }
+            }
+        } finally {
+            if (interrompido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Laço da thread de gravação: troca os buffers, grava o lote e faz um único fsync
+    private void gravar() {
+        try {
+            while (true) {
+                long alvo;
+                synchronized (monitor) {
+                    while (pendente.position() == 0 && !fechando) {
+                        monitor.wait();
+                    }
+                    if (pendente.position() == 0) {
+                        return;
+                    }
+                    ByteBuffer lote = pendente;
+                    pendente = gravando;
+                    gravando = lote;
+                    alvo = lsnAnexado;
+                }
+                gravando.flip();
+                while (gravando.hasRemaining()) {
+                    canal.write(gravando);
+                }
+                canal.force(false);
+                gravando.clear();
+                synchronized (monitor) {
+                    lsnDuravel = alvo;
+                    monitor.notifyAll();
+                }
+                if (canal.position() >= limiteSegmento) {
+                    canal.close();
+                    canal = abrirSegmento(alvo);
+                }
+            }
+        } catch (IOException e) {
+            synchronized (monitor) {
+                falha = e;
+                monitor.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            synchronized (monitor) {
+                falha = new IOException("Thread de gravação interrompida.", e);
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Apaga os segmentos inteiramente anteriores ao LSN (já cobertos por um instantâneo).
+     */
+    void descartarAte(long lsn) throws IOException {
+        List<Long> inicios = listarSegmentos(diretorio);
+        for (int i = 0; i + 1 < inicios.size() && inicios.get(i + 1) <= lsn; i++) {
+            Files.deleteIfExists(caminhoSegmento(inicios.get(i)));
+        }
+    }
+
+    /**
+     * Grava o que estiver pendente e encerra a thread de gravação.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (monitor) {
+            fechando = true;
+            monitor.notifyAll();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        synchronized (monitor) {
+            if (falha != null) {
+                throw falha;
+            }
+        }
+    }
+
+    // --- Recuperação ---
+
+    private static List<Long> listarSegmentos(Path diretorio) throws IOException {
+        List<Long> inicios = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + SUFIXO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                inicios.add(Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length())));
+            }
+        }
+        inicios.sort(null);
+        return inicios;
+    }
+
+    /**
+     * Lê os segmentos em ordem e entrega ao leitor os registros que terminam depois de
+     * lsnInicial (os anteriores já estão no instantâneo). Um registro incompleto ou
+     * corrompido no fim do último segmento (gravação interrompida) é descartado.
+     * @return LSN do fim do último registro válido (ou lsnInicial, se maior)
+     */
+    static long recuperar(Path diretorio, long lsnInicial, Leitor leitor) throws IOException {
+        List<Long> inicios = listarSegmentos(diretorio);
+        if (!inicios.isEmpty() && inicios.get(0) > lsnInicial) {
+            throw new IllegalStateException("Log incompleto: o primeiro segmento começa em "
+                    + inicios.get(0) + ", depois do instantâneo (" + lsnInicial + ").");
+        }
+        long posicao = lsnInicial;
+        for (int i = 0; i < inicios.size(); i++) {
+            long inicio = inicios.get(i);
+            boolean ultimo = (i == inicios.size() - 1);
+            if (i > 0 && inicio != posicao) {
+                throw new IllegalStateException("Log corrompido: lacuna antes do segmento " + inicio + ".");
+            }
+            Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, inicio, SUFIXO));
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer bytes = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                posicao = inicio;
+                while (bytes.remaining() >= CABECALHO) {
+                    int inicioRegistro = bytes.position();
+                    int tamanho = bytes.getInt(inicioRegistro);
+                    // comparado com o espaço restante: CABECALHO + tamanho pode estourar o int
+                    if (tamanho < 0 || tamanho > bytes.remaining() - CABECALHO) {
+                        break;
+                    }
+                    CRC32C crc = new CRC32C();
+                    crc.update(bytes.duplicate().position(inicioRegistro + 8).limit(inicioRegistro + CABECALHO + tamanho));
+                    if ((int) crc.getValue() != bytes.getInt(inicioRegistro + 4)) {
+                        break;
+                    }
+                    long fim = posicao + CABECALHO + tamanho;
+                    if (fim > lsnInicial) {
+                        ByteBuffer conteudo = bytes.duplicate()
+                                .position(inicioRegistro + CABECALHO)
+                                .limit(inicioRegistro + CABECALHO + tamanho)
+                                .slice();
+                        leitor.registro(bytes.get(inicioRegistro + 8), conteudo);
+                    }
+                    bytes.position(inicioRegistro + CABECALHO + tamanho);
+                    posicao = fim;
+                }
+                if (bytes.hasRemaining()) {
+                    if (!ultimo) {
+                        throw new IllegalStateException("Log corrompido no segmento " + inicio + ".");
+                    }
+                    // gravação interrompida: descarta o registro incompleto
+                    canal.truncate(bytes.position());
+                }
+            }
+        }
+        return Math.max(posicao, lsnInicial);
+    }
+}
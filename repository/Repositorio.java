@@ -1,6 +1,14 @@
 package repository;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import algorithm.ArvoreBusca;
+import algorithm.TopK;
 
 /**
  * Interface genérica que define operações básicas para repositórios de entidades.
@@ -33,4 +41,91 @@ public interface Repositorio<T> {
      * @return lista de todos os itens
      */
     List<T> listarTodos();
+
+    /**
+     * Percorre os itens sem copiá-los para uma lista, como alternativa a listarTodos()
+     * em varreduras grandes (filtros, somas, Top-K). O Spliterator se divide, então
+     * stream().parallel() reparte a varredura entre os núcleos.
+     * A implementação padrão percorre a cópia de listarTodos(); os repositórios em memória
+     * percorrem o próprio armazenamento. O comportamento diante de escritas durante a
+     * varredura é o de cada implementação.
+     * @return Stream sequencial dos itens
+     */
+    default Stream<T> stream() {
+        return listarTodos().stream();
+    }
+
+    /**
+     * Paginação por chave (keyset): até 'limite' itens com ID maior que 'aposId', em ordem
+     * crescente de ID; com aposId nulo, a primeira página. A página seguinte começa após o
+     * ID do último item, de modo que cadastros e remoções entre páginas não fazem os demais
+     * itens se repetirem ou serem pulados, como acontece com paginação por deslocamento.
+     * Cada página é uma cópia limitada a 'limite' itens, lida do estado atual do repositório
+     * (não é um instantâneo do catálogo).
+     *
+     * Custo: os repositórios que mantêm os IDs ordenados respondem em O(log n + limite),
+     * e percorrer o catálogo página a página custa O(n), com memória O(limite)
+     * ({@link #paginar(ArvoreBusca, String, int)}). Sem essa estrutura, cada página
+     * percorre todos os itens ({@link #paginar(Stream, Function, String, int)},
+     * O(n log limite)) e a varredura completa custa O(n² / limite).
+     * @param aposId ID do último item da página anterior, ou null
+     * @param limite quantidade máxima de itens da página
+     * @return itens da página, em ordem de ID (vazia ao fim)
+     */
+    List<T> paginar(String aposId, int limite);
+
+    /**
+     * Página por chave sobre os itens ordenados por ID: começa no primeiro ID maior que
+     * 'aposId' e lê apenas os 'limite' itens da página, em O(log n + limite).
+     */
+    static <T> List<T> paginar(ArvoreBusca<String, T> porId, String aposId, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        // aposId + '\0' é a menor string maior que aposId: o intervalo exclui o próprio aposId
+        Iterator<T> itens = porId.iterador((aposId == null) ? null : aposId + '\0', null);
+        List<T> pagina = new ArrayList<>(Math.min(limite, 1024));
+        while (pagina.size() < limite && itens.hasNext()) {
+            pagina.add(itens.next());
+        }
+        return pagina;
+    }
+
+    /**
+     * Página por chave sobre um Stream de itens, para os repositórios sem IDs ordenados:
+     * percorre todos os itens e seleciona os 'limite' menores IDs após 'aposId' com um
+     * heap limitado, em O(n log limite) de tempo e O(limite) de memória por página, sem
+     * ordenar o catálogo.
+     * Para percorrer todos os itens, stream() é mais barato que página a página.
+     */
+    static <T> List<T> paginar(Stream<T> itens, Function<T, String> extratorId, String aposId, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        Stream<T> restantes = (aposId == null) ? itens
+                : itens.filter(item -> extratorId.apply(item).compareTo(aposId) > 0);
+        return restantes.collect(TopK.coletarMenores(limite, Comparator.comparing(extratorId)));
+    }
+
+    /**
+     * Quantidade de itens cadastrados. A implementação padrão conta a lista de
+     * listarTodos(); os repositórios em memória respondem em O(1).
+     * @return número de itens
+     */
+    default int tamanho() {
+        return listarTodos().size();
+    }
+
+    /**
+     * Cadastra vários itens de uma vez (ex.: importação em massa), na ordem da lista;
+     * itens com o mesmo ID substituem os anteriores, como em chamadas sucessivas a cadastrar.
+     * A implementação padrão cadastra um a um; repositórios com índices podem montá-los de
+     * uma só vez ao final.
+     * @param itens entidades a serem cadastradas
+     */
+    default void cadastrarLote(List<T> itens) {
+        for (T item : itens) {
+            cadastrar(item);
+        }
+    }
 }
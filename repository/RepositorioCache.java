@@ -0,0 +1,456 @@
+package repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import model.InfoProd;
+
+/**
+ * Decorador com cache de leitura (read-through) para repositórios lentos
+ * (ex.: {@link RepositorioDuravel} ou um repositório remoto).
+ *
+ * buscar(id) consulta o cache e, na falta, carrega da origem. Cargas simultâneas do
+ * mesmo ID são agrupadas em uma única leitura na origem. O tamanho é limitado e a
+ * expulsão segue a política W-TinyLFU:
+ * - Janela LRU pequena (1% da capacidade) recebe os itens novos, absorvendo rajadas.
+ * - Região principal SLRU (provatória 20%, protegida 80%) guarda os itens frequentes.
+ * - Admissão: o item que sai da janela só entra na região principal se a sua frequência
+ *   estimada for maior que a da vítima da provatória. A frequência vem de um sketch
+ *   Count-Min de contadores de 4 bits, envelhecido periodicamente ({@link SketchFrequencia}).
+ * Com acessos concentrados em poucos produtos populares, itens vistos uma única vez
+ * (ex.: uma varredura) não expulsam os populares.
+ *
+ * Escritas passam direto para a origem (write-through): cadastrar atualiza a entrada em
+ * cache, se houver, sem inserir itens novos; remover a invalida. Itens ausentes não são
+ * guardados no cache.
+ *
+ * Acertos não bloqueiam: a leitura é feita no ConcurrentHashMap e o registro do acesso
+ * na política só acontece se o lock estiver livre (com disputa, alguns acessos deixam
+ * de contar para a recência, sem afetar a correção).
+ *
+ * @param <T> Tipo da entidade a ser armazenada
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioCache<T> implements Repositorio<T> {
+
+    // Região da política em que uma entrada está
+    private static final int JANELA = 0, PROVATORIO = 1, PROTEGIDO = 2, REMOVIDO = 3;
+
+    // Entrada do cache: nó das listas duplamente encadeadas da política
+    private static final class No<T> {
+        final String id;
+        volatile T valor;
+        int regiao;
+        No<T> anterior, proximo;
+
+        No(String id, T valor) {
+            this.id = id;
+            this.valor = valor;
+        }
+    }
+
+    // Lista LRU com sentinela: o mais recente logo após a cabeça, o mais antigo no fim
+    private static final class Lista<T> {
+        final No<T> sentinela = new No<>(null, null);
+        int tamanho;
+
+        Lista() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+        }
+
+        void adicionarNoInicio(No<T> no) {
+            no.proximo = sentinela.proximo;
+            no.anterior = sentinela;
+            sentinela.proximo.anterior = no;
+            sentinela.proximo = no;
+            tamanho++;
+        }
+
+        void retirar(No<T> no) {
+            no.anterior.proximo = no.proximo;
+            no.proximo.anterior = no.anterior;
+            no.anterior = null;
+            no.proximo = null;
+            tamanho--;
+        }
+
+        No<T> ultimo() {
+            return (tamanho == 0) ? null : sentinela.anterior;
+        }
+    }
+
+    /**
+     * Contadores do cache em um instante.
+     */
+    public static final class Estatisticas {
+        private final long acertos;
+        private final long falhas;
+        private final long cargas;
+        private final long cargasAgrupadas;
+        private final long expulsoes;
+
+        Estatisticas(long acertos, long falhas, long cargas, long cargasAgrupadas, long expulsoes) {
+            this.acertos = acertos;
+            this.falhas = falhas;
+            this.cargas = cargas;
+            this.cargasAgrupadas = cargasAgrupadas;
+            this.expulsoes = expulsoes;
+        }
+
+        public long getAcertos() {
+            return acertos;
+        }
+
+        public long getFalhas() {
+            return falhas;
+        }
+
+        /** Leituras feitas na origem. */
+        public long getCargas() {
+            return cargas;
+        }
+
+        /** Falhas atendidas pela carga já em andamento de outra thread. */
+        public long getCargasAgrupadas() {
+            return cargasAgrupadas;
+        }
+
+        /** Itens retirados do cache por falta de espaço (inclui os não admitidos). */
+        public long getExpulsoes() {
+            return expulsoes;
+        }
+
+        public double taxaAcerto() {
+            long total = acertos + falhas;
+            return (total == 0) ? 0.0 : (double) acertos / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("acertos=%d, falhas=%d (%.1f%% de acerto), cargas=%d, agrupadas=%d, expulsões=%d",
+                    acertos, falhas, 100 * taxaAcerto(), cargas, cargasAgrupadas, expulsoes);
+        }
+    }
+
+    private final Repositorio<T> origem;
+    private final Function<T, String> extratorId;
+    private final int capacidadeJanela;
+    private final int capacidadePrincipal;
+    private final int capacidadeProtegida;
+
+    private final ConcurrentHashMap<String, No<T>> entradas;
+    // Cargas em andamento: as threads que falham no mesmo ID aguardam a mesma leitura
+    private final ConcurrentHashMap<String, CompletableFuture<T>> cargas = new ConcurrentHashMap<>();
+
+    // Protege as listas e o sketch
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Lista<T> janela = new Lista<>();
+    private final Lista<T> provatorio = new Lista<>();
+    private final Lista<T> protegido = new Lista<>();
+    private final SketchFrequencia sketch;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder cargasOrigem = new LongAdder();
+    private final LongAdder cargasAgrupadas = new LongAdder();
+    private final LongAdder expulsoes = new LongAdder();
+
+    /**
+     * @param origem repositório lento que guarda os itens
+     * @param extratorId função que extrai o identificador único de cada entidade
+     * @param capacidade quantidade máxima de itens em cache
+     */
+    public RepositorioCache(Repositorio<T> origem, Function<T, String> extratorId, int capacidade) {
+        this.origem = Objects.requireNonNull(origem, "O repositório de origem não pode ser nulo.");
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("A capacidade deve ser pelo menos 2.");
+        }
+        this.capacidadeJanela = Math.max(1, capacidade / 100);
+        this.capacidadePrincipal = capacidade - capacidadeJanela;
+        this.capacidadeProtegida = (int) (capacidadePrincipal * 0.8);
+        this.entradas = new ConcurrentHashMap<>(capacidade);
+        this.sketch = new SketchFrequencia(capacidade);
+    }
+
+    /**
+     * Busca pelo ID: do cache, ou da origem em caso de falta (uma única leitura por ID,
+     * mesmo com várias threads pedindo o mesmo item ao mesmo tempo).
+     * @param id identificador do item
+     * @return item correspondente ou null se não encontrado
+     */
+    @Override
+    public T buscar(String id) {
+        if (id == null) {
+            return null;
+        }
+        No<T> no = entradas.get(id);
+        if (no != null) {
+            acertos.increment();
+            registrarAcerto(no);
+            return no.valor;
+        }
+        falhas.increment();
+        return carregar(id);
+    }
+
+    private T carregar(String id) {
+        CompletableFuture<T> carga = new CompletableFuture<>();
+        CompletableFuture<T> emAndamento = cargas.putIfAbsent(id, carga);
+        if (emAndamento != null) {
+            cargasAgrupadas.increment();
+            try {
+                return emAndamento.join();
+            } catch (CompletionException e) {
+                throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        T valor;
+        try {
+            cargasOrigem.increment();
+            valor = origem.buscar(id);
+        } catch (RuntimeException | Error e) {
+            cargas.remove(id, carga);
+            carga.completeExceptionally(e);
+            throw e;
+        }
+        lock.lock();
+        try {
+            sketch.incrementar(id.hashCode());
+            // cadastrar/remover durante a carga retiram a carga do mapa: o valor lido pode
+            // estar desatualizado e não entra no cache
+            if (valor != null && cargas.get(id) == carga && !entradas.containsKey(id)) {
+                admitir(new No<>(id, valor));
+            }
+            cargas.remove(id, carga);
+        } finally {
+            lock.unlock();
+        }
+        carga.complete(valor);
+        return valor;
+    }
+
+    // Registra o acesso na política, se o lock estiver livre
+    private void registrarAcerto(No<T> no) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.incrementar(no.id.hashCode());
+            switch (no.regiao) {
+                case JANELA:
+                    janela.retirar(no);
+                    janela.adicionarNoInicio(no);
+                    break;
+                case PROVATORIO:
+                    // segundo acesso na região principal: promove para a protegida
+                    provatorio.retirar(no);
+                    no.regiao = PROTEGIDO;
+                    protegido.adicionarNoInicio(no);
+                    if (protegido.tamanho > capacidadeProtegida) {
+                        No<T> rebaixado = protegido.ultimo();
+                        protegido.retirar(rebaixado);
+                        rebaixado.regiao = PROVATORIO;
+                        provatorio.adicionarNoInicio(rebaixado);
+                    }
+                    break;
+                case PROTEGIDO:
+                    protegido.retirar(no);
+                    protegido.adicionarNoInicio(no);
+                    break;
+                default:
+                    // removido enquanto era lido
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Inclui um item novo na janela; o que sair dela disputa a vaga na região principal
+    private void admitir(No<T> no) {
+        no.regiao = JANELA;
+        entradas.put(no.id, no);
+        janela.adicionarNoInicio(no);
+        while (janela.tamanho > capacidadeJanela) {
+            No<T> candidato = janela.ultimo();
+            janela.retirar(candidato);
+            candidato.regiao = PROVATORIO;
+            provatorio.adicionarNoInicio(candidato);
+            if (provatorio.tamanho + protegido.tamanho > capacidadePrincipal) {
+                No<T> vitima = provatorio.ultimo();
+                if (vitima == candidato) {
+                    // provatória só com o candidato: a vítima sai da protegida
+                    vitima = protegido.ultimo();
+                }
+                // TinyLFU: fica o mais frequente; empate favorece quem já estava no cache
+                boolean admitido = sketch.frequencia(candidato.id.hashCode()) > sketch.frequencia(vitima.id.hashCode());
+                expulsar(admitido ? vitima : candidato);
+            }
+        }
+    }
+
+    private void expulsar(No<T> no) {
+        lista(no.regiao).retirar(no);
+        no.regiao = REMOVIDO;
+        entradas.remove(no.id, no);
+        expulsoes.increment();
+    }
+
+    private Lista<T> lista(int regiao) {
+        return (regiao == JANELA) ? janela : (regiao == PROVATORIO) ? provatorio : protegido;
+    }
+
+    /**
+     * Grava o item na origem e atualiza a entrada em cache, se houver. Itens novos não
+     * entram no cache pela escrita: uma carga em massa não expulsa os itens populares.
+     * @param item entidade a ser cadastrada
+     */
+    @Override
+    public void cadastrar(T item) {
+        origem.cadastrar(item);
+        String id = extratorId.apply(item);
+        lock.lock();
+        try {
+            cargas.remove(id);
+            No<T> no = entradas.get(id);
+            if (no != null) {
+                no.valor = item;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove o item da origem e do cache.
+     * @param id identificador do item a ser removido
+     */
+    @Override
+    public void remover(String id) {
+        origem.remover(id);
+        if (id == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            cargas.remove(id);
+            No<T> no = entradas.remove(id);
+            if (no != null) {
+                lista(no.regiao).retirar(no);
+                no.regiao = REMOVIDO;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lista direto da origem (sem passar pelo cache).
+     */
+    @Override
+    public List<T> listarTodos() {
+        return origem.listarTodos();
+    }
+
+    /**
+     * Percorre direto a origem (sem passar pelo cache).
+     */
+    @Override
+    public Stream<T> stream() {
+        return origem.stream();
+    }
+
+    /**
+     * Página direto da origem (sem passar pelo cache).
+     */
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        return origem.paginar(aposId, limite);
+    }
+
+    @Override
+    public int tamanho() {
+        return origem.tamanho();
+    }
+
+    /**
+     * Quantidade de itens em cache no momento.
+     */
+    public int tamanhoCache() {
+        return entradas.size();
+    }
+
+    /**
+     * Contadores de acertos, falhas, cargas e expulsões desde a criação.
+     */
+    public Estatisticas estatisticas() {
+        return new Estatisticas(acertos.sum(), falhas.sum(), cargasOrigem.sum(), cargasAgrupadas.sum(), expulsoes.sum());
+    }
+
+    /**
+     * Sketch Count-Min com contadores de 4 bits (16 por long), usado para estimar a
+     * frequência recente de cada ID em memória O(capacidade). Cada ID ocupa um contador
+     * em cada uma de 4 linhas; a estimativa é o menor deles. Após 10 x capacidade
+     * incrementos, todos os contadores são divididos por 2 (envelhecimento), de modo que
+     * itens populares no passado perdem força.
+     */
+    static final class SketchFrequencia {
+        private static final long[] SEMENTES = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long METADE = 0x7777777777777777L;
+
+        private final long[] tabela;
+        private final int limiteAmostra;
+        private int amostra;
+
+        SketchFrequencia(int capacidade) {
+            int tamanho = Integer.highestOneBit(Math.max(16, capacidade) - 1) << 1;
+            this.tabela = new long[tamanho];
+            this.limiteAmostra = 10 * Math.max(16, capacidade);
+        }
+
+        // Posição (índice do long * 16 + contador) do ID na linha
+        private int posicao(int hash, int linha) {
+            long h = (hash + SEMENTES[linha]) * SEMENTES[linha];
+            h ^= h >>> 32;
+            return (int) h & ((tabela.length << 4) - 1);
+        }
+
+        int frequencia(int hash) {
+            int minimo = 15;
+            for (int linha = 0; linha < 4; linha++) {
+                int posicao = posicao(hash, linha);
+                int contador = (int) (tabela[posicao >>> 4] >>> ((posicao & 15) << 2)) & 15;
+                minimo = Math.min(minimo, contador);
+            }
+            return minimo;
+        }
+
+        void incrementar(int hash) {
+            boolean incrementou = false;
+            for (int linha = 0; linha < 4; linha++) {
+                int posicao = posicao(hash, linha);
+                int deslocamento = (posicao & 15) << 2;
+                if (((tabela[posicao >>> 4] >>> deslocamento) & 15) < 15) {
+                    tabela[posicao >>> 4] += 1L << deslocamento;
+                    incrementou = true;
+                }
+            }
+            if (incrementou && ++amostra >= limiteAmostra) {
+                for (int i = 0; i < tabela.length; i++) {
+                    tabela[i] = (tabela[i] >>> 1) & METADE;
+                }
+                amostra /= 2;
+            }
+        }
+    }
+}
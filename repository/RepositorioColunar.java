@@ -0,0 +1,430 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import exception.ExcecaoNegocio;
+import model.InfoProd;
+import model.Produto;
+import model.ProdutoAlimenticio;
+import model.ProdutoArtesanal;
+
+/**
+ * Repositório de produtos em formato colunar (struct-of-arrays).
+ *
+ * Em vez de um objeto por produto, cada atributo fica em seu próprio array:
+ * preço em double[], estoque em int[], categoria, produtor e detalhes do subtipo
+ * (validade ou material) codificados por dicionário em int[]. Os objetos Produto
+ * são montados apenas quando pedidos (buscar, listarTodos), como visões da linha.
+ *
+ * As linhas ficam sempre contíguas (a remoção move a última linha para a vaga),
+ * de modo que as agregações sobre preço e estoque são laços simples sobre arrays
+ * primitivos, sem desreferenciar objetos e vetorizáveis pelo JIT.
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioColunar implements Repositorio<Produto> {
+
+    // Subtipos suportados (coluna "tipos")
+    private static final byte ALIMENTICIO = 0;
+    private static final byte ARTESANAL = 1;
+
+    // Código usado para valores nulos nas colunas codificadas
+    private static final int NULO = -1;
+
+    /**
+     * Dicionário de strings: valor <-> código denso.
+     * Os códigos nunca são reaproveitados; valores de baixa cardinalidade ocupam pouco.
+     */
+    private static final class Dicionario {
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> valores = new ArrayList<>();
+
+        int codificar(String valor) {
+            if (valor == null) return NULO;
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+            }
+            return codigo;
+        }
+
+        // código de um valor existente, ou NULO se nunca foi cadastrado
+        int codigo(String valor) {
+            Integer codigo = (valor == null) ? null : codigos.get(valor);
+            return (codigo == null) ? NULO : codigo;
+        }
+
+        String valor(int codigo) {
+            return (codigo == NULO) ? null : valores.get(codigo);
+        }
+    }
+
+    // ID -> linha, fora do heap
+    private final TabelaIdsForaDoHeap linhas;
+
+    // Colunas
+    private String[] ids;
+    private String[] nomes;
+    private double[] precos;
+    private int[] estoques;
+    private int[] categorias;
+    private int[] produtores;
+    private byte[] tipos;
+    private int[] detalhes;
+    private int tamanho;
+
+    private final Dicionario dicionarioCategorias = new Dicionario();
+    private final Dicionario dicionarioProdutores = new Dicionario();
+    private final Dicionario dicionarioDetalhes = new Dicionario();
+
+    /**
+     * Cria um repositório colunar vazio.
+     */
+    public RepositorioColunar() {
+        this(16);
+    }
+
+    /**
+     * Cria um repositório colunar já dimensionado, evitando cópias das colunas na carga.
+     * @param capacidadeInicial quantidade esperada de produtos
+     */
+    public RepositorioColunar(int capacidadeInicial) {
+        linhas = new TabelaIdsForaDoHeap(capacidadeInicial);
+        int capacidade = Math.max(capacidadeInicial, 16);
+        ids = new String[capacidade];
+        nomes = new String[capacidade];
+        precos = new double[capacidade];
+        estoques = new int[capacidade];
+        categorias = new int[capacidade];
+        produtores = new int[capacidade];
+        tipos = new byte[capacidade];
+        detalhes = new int[capacidade];
+    }
+
+    private void garantirCapacidade() {
+        if (tamanho < ids.length) {
+            return;
+        }
+        int capacidade = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidade);
+        nomes = Arrays.copyOf(nomes, capacidade);
+        precos = Arrays.copyOf(precos, capacidade);
+        estoques = Arrays.copyOf(estoques, capacidade);
+        categorias = Arrays.copyOf(categorias, capacidade);
+        produtores = Arrays.copyOf(produtores, capacidade);
+        tipos = Arrays.copyOf(tipos, capacidade);
+        detalhes = Arrays.copyOf(detalhes, capacidade);
+    }
+
+    /**
+     * Cadastra (ou substitui) um produto, decompondo-o nas colunas.
+     * @param produto produto a ser cadastrado
+     */
+    @Override
+    public void cadastrar(Produto produto) {
+        Objects.requireNonNull(produto, "O item não pode ser nulo.");
+        String id = produto.getId();
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
+        }
+        byte tipo;
+        String detalhe;
+        if (produto instanceof ProdutoAlimenticio) {
+            tipo = ALIMENTICIO;
+            detalhe = ((ProdutoAlimenticio) produto).getDataValidade();
+        } else if (produto instanceof ProdutoArtesanal) {
+            tipo = ARTESANAL;
+            detalhe = ((ProdutoArtesanal) produto).getMaterial();
+        } else {
+            throw new IllegalArgumentException("Tipo de produto não suportado: " + produto.getClass().getName());
+        }
+
+        int linha = linhas.buscar(id);
+        if (linha == TabelaIdsForaDoHeap.AUSENTE) {
+            garantirCapacidade();
+            linha = tamanho++;
+            linhas.inserir(id, linha);
+        }
+        ids[linha] = id;
+        nomes[linha] = produto.getNome();
+        precos[linha] = produto.getPreco();
+        estoques[linha] = produto.getEstoque();
+        categorias[linha] = dicionarioCategorias.codificar(produto.getCategoria());
+        produtores[linha] = dicionarioProdutores.codificar(produto.getProdutorLocal());
+        tipos[linha] = tipo;
+        detalhes[linha] = dicionarioDetalhes.codificar(detalhe);
+    }
+
+    /**
+     * Busca um produto pelo ID, montando a visão a partir das colunas.
+     * Cada chamada devolve uma nova instância.
+     * @param id identificador do produto
+     * @return produto correspondente ou null se não encontrado
+     */
+    @Override
+    public Produto buscar(String id) {
+        if (id == null) {
+            return null;
+        }
+        int linha = linhas.buscar(id);
+        return (linha == TabelaIdsForaDoHeap.AUSENTE) ? null : materializar(linha);
+    }
+
+    /**
+     * Remove um produto pelo ID. A última linha ocupa a vaga, mantendo as colunas contíguas.
+     * @param id identificador do produto a ser removido
+     */
+    @Override
+    public void remover(String id) {
+        int removida = (id == null) ? TabelaIdsForaDoHeap.AUSENTE : linhas.remover(id);
+        if (removida == TabelaIdsForaDoHeap.AUSENTE) {
+            return;
+        }
+        int ultima = --tamanho;
+        if (removida != ultima) {
+            ids[removida] = ids[ultima];
+            nomes[removida] = nomes[ultima];
+            precos[removida] = precos[ultima];
+            estoques[removida] = estoques[ultima];
+            categorias[removida] = categorias[ultima];
+            produtores[removida] = produtores[ultima];
+            tipos[removida] = tipos[ultima];
+            detalhes[removida] = detalhes[ultima];
+            linhas.inserir(ids[removida], removida);
+        }
+        // libera as referências da linha descartada
+        ids[ultima] = null;
+        nomes[ultima] = null;
+    }
+
+    /**
+     * Lista todos os produtos, materializando uma visão por linha.
+     * Prefira as agregações abaixo quando só preço, estoque ou categoria forem necessários.
+     */
+    @Override
+    public List<Produto> listarTodos() {
+        List<Produto> produtos = new ArrayList<>(tamanho);
+        for (int linha = 0; linha < tamanho; linha++) {
+            produtos.add(materializar(linha));
+        }
+        return produtos;
+    }
+
+    /**
+     * Percorre as linhas materializando cada produto sob demanda, sem montar a lista inteira.
+     * Escritas durante a varredura não são suportadas (a remoção move a última linha).
+     */
+    @Override
+    public Stream<Produto> stream() {
+        return IntStream.range(0, tamanho).mapToObj(this::materializar);
+    }
+
+    /**
+     * Página por chave (ver {@link Repositorio#paginar(String, int)}): o repositório não
+     * mantém os IDs ordenados (isso custaria um objeto por linha), então cada página percorre
+     * a coluna de IDs inteira, O(n log limite), selecionando as linhas em um heap de int
+     * limitado a 'limite', e materializa apenas as linhas da página.
+     */
+    @Override
+    public List<Produto> paginar(String aposId, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        String[] colunaIds = ids;
+        // heap máximo por ID: o topo é o maior ID selecionado, o primeiro a sair
+        int[] heap = new int[Math.min(limite, tamanho)];
+        int selecionadas = 0;
+        for (int linha = 0; linha < tamanho; linha++) {
+            String id = colunaIds[linha];
+            if (aposId != null && id.compareTo(aposId) <= 0) {
+                continue;
+            }
+            if (selecionadas < heap.length) {
+                heap[selecionadas] = linha;
+                subir(heap, selecionadas++, colunaIds);
+            } else if (selecionadas > 0 && id.compareTo(colunaIds[heap[0]]) < 0) {
+                heap[0] = linha;
+                descer(heap, 0, selecionadas, colunaIds);
+            }
+        }
+        // esvazia o heap do fim para o início: as linhas ficam em ordem crescente de ID
+        for (int fim = selecionadas - 1; fim > 0; fim--) {
+            int topo = heap[0];
+            heap[0] = heap[fim];
+            heap[fim] = topo;
+            descer(heap, 0, fim, colunaIds);
+        }
+        List<Produto> pagina = new ArrayList<>(selecionadas);
+        for (int i = 0; i < selecionadas; i++) {
+            pagina.add(materializar(heap[i]));
+        }
+        return pagina;
+    }
+
+    private static void subir(int[] heap, int i, String[] colunaIds) {
+        int linha = heap[i];
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (colunaIds[heap[pai]].compareTo(colunaIds[linha]) >= 0) {
+                break;
+            }
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = linha;
+    }
+
+    private static void descer(int[] heap, int i, int n, String[] colunaIds) {
+        int linha = heap[i];
+        while (true) {
+            int filho = 2 * i + 1;
+            if (filho >= n) {
+                break;
+            }
+            if (filho + 1 < n && colunaIds[heap[filho + 1]].compareTo(colunaIds[heap[filho]]) > 0) {
+                filho++;
+            }
+            if (colunaIds[heap[filho]].compareTo(colunaIds[linha]) <= 0) {
+                break;
+            }
+            heap[i] = heap[filho];
+            i = filho;
+        }
+        heap[i] = linha;
+    }
+
+    private Produto materializar(int linha) {
+        try {
+            String detalhe = dicionarioDetalhes.valor(detalhes[linha]);
+            String categoria = dicionarioCategorias.valor(categorias[linha]);
+            String produtor = dicionarioProdutores.valor(produtores[linha]);
+            if (tipos[linha] == ALIMENTICIO) {
+                return new ProdutoAlimenticio(ids[linha], nomes[linha], precos[linha], categoria, estoques[linha], produtor, detalhe);
+            }
+            return new ProdutoArtesanal(ids[linha], nomes[linha], precos[linha], categoria, estoques[linha], produtor, detalhe);
+        } catch (ExcecaoNegocio e) {
+            // os valores já foram validados quando o produto original foi criado
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Agregações sobre as colunas primitivas ---
+
+    /**
+     * Quantidade de produtos cadastrados: O(1).
+     */
+    @Override
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Soma das unidades em estoque de todos os produtos.
+     */
+    public long totalEstoque() {
+        int[] estoques = this.estoques;
+        int n = tamanho;
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += estoques[i];
+        }
+        return total;
+    }
+
+    /**
+     * Valor total do estoque (soma de preço x estoque).
+     */
+    public double valorEmEstoque() {
+        double[] precos = this.precos;
+        int[] estoques = this.estoques;
+        int n = tamanho;
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += precos[i] * estoques[i];
+        }
+        return total;
+    }
+
+    /**
+     * Preço médio dos produtos (0 se vazio).
+     */
+    public double precoMedio() {
+        double[] precos = this.precos;
+        int n = tamanho;
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += precos[i];
+        }
+        return (n == 0) ? 0 : total / n;
+    }
+
+    /**
+     * Quantidade de produtos com preço no intervalo [minimo, maximo).
+     */
+    public int contarPorFaixaDePreco(double minimo, double maximo) {
+        double[] precos = this.precos;
+        int n = tamanho;
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            double preco = precos[i];
+            // sem desvio condicional: o laço pode ser vetorizado
+            total += (preco >= minimo & preco < maximo) ? 1 : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Quantidade de produtos da categoria, comparando apenas códigos inteiros.
+     */
+    public int contarPorCategoria(String categoria) {
+        int codigo = dicionarioCategorias.codigo(categoria);
+        if (codigo == NULO) {
+            return 0;
+        }
+        int[] categorias = this.categorias;
+        int n = tamanho;
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            total += (categorias[i] == codigo) ? 1 : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Produtos da categoria; apenas as linhas selecionadas são materializadas.
+     */
+    public List<Produto> buscarPorCategoria(String categoria) {
+        List<Produto> resultado = new ArrayList<>();
+        int codigo = dicionarioCategorias.codigo(categoria);
+        if (codigo == NULO) {
+            return resultado;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (categorias[i] == codigo) {
+                resultado.add(materializar(i));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Produtos com estoque zerado; apenas as linhas selecionadas são materializadas.
+     */
+    public List<Produto> buscarSemEstoque() {
+        List<Produto> resultado = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            if (estoques[i] == 0) {
+                resultado.add(materializar(i));
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,165 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import algorithm.ArvoreBMais;
+import algorithm.ArvoreBusca;
+import model.InfoProd;
+
+/**
+ * Repositório genérico com índice de IDs fora do heap ({@link TabelaIdsForaDoHeap}).
+ *
+ * Os itens ficam em um array denso; a tabela associa cada ID à posição do item nesse
+ * array. Diferente de RepositorioHash, não há Node, Integer nem chave String por
+ * entrada no heap, o que reduz a memória e o trabalho do coletor de lixo em catálogos
+ * com milhões de itens. A remoção move o último item para a vaga, mantendo o array contíguo.
+ * Para a paginação por chave, os itens também ficam em uma árvore B+ ordenada por ID, cujos
+ * nós largos guardam só referências (sem objeto por entrada).
+ *
+ * @param <T> Tipo da entidade a ser armazenada
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioCompacto<T> implements Repositorio<T> {
+
+    // Itens em posições contíguas [0, tamanho)
+    private Object[] itens;
+    private int tamanho;
+
+    // ID -> posição em itens
+    private final TabelaIdsForaDoHeap posicoes;
+
+    // Os mesmos itens ordenados por ID, para a paginação por chave
+    private final ArvoreBusca<String, T> porId = new ArvoreBMais<>();
+
+    // Função que extrai o ID de uma entidade do tipo T
+    private final Function<T, String> extratorId;
+
+    /**
+     * Cria um novo repositório compacto.
+     * @param extratorId função que extrai o identificador único de cada entidade
+     */
+    public RepositorioCompacto(Function<T, String> extratorId) {
+        this(extratorId, 16);
+    }
+
+    /**
+     * Cria um novo repositório compacto já dimensionado, evitando redimensionamentos na carga.
+     * @param extratorId função que extrai o identificador único de cada entidade
+     * @param capacidadeInicial quantidade esperada de itens
+     */
+    public RepositorioCompacto(Function<T, String> extratorId, int capacidadeInicial) {
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+        this.itens = new Object[Math.max(capacidadeInicial, 16)];
+        this.posicoes = new TabelaIdsForaDoHeap(capacidadeInicial);
+    }
+
+    /**
+     * Cadastra (ou substitui) um item no repositório.
+     * @param item entidade a ser cadastrada
+     */
+    @Override
+    public void cadastrar(T item) {
+        Objects.requireNonNull(item, "O item não pode ser nulo.");
+        String id = extratorId.apply(item);
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
+        }
+        int posicao = posicoes.buscar(id);
+        if (posicao == TabelaIdsForaDoHeap.AUSENTE) {
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, itens.length * 2);
+            }
+            posicao = tamanho++;
+            posicoes.inserir(id, posicao);
+        }
+        itens[posicao] = item;
+        porId.inserir(id, item);
+    }
+
+    /**
+     * Busca um item pelo ID.
+     * @param id identificador do item
+     * @return item correspondente ou null se não encontrado
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T buscar(String id) {
+        if (id == null) {
+            return null;
+        }
+        int posicao = posicoes.buscar(id);
+        return (posicao == TabelaIdsForaDoHeap.AUSENTE) ? null : (T) itens[posicao];
+    }
+
+    /**
+     * Remove um item pelo ID.
+     * @param id identificador do item a ser removido
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void remover(String id) {
+        if (id == null) {
+            return;
+        }
+        int posicao = posicoes.remover(id);
+        if (posicao == TabelaIdsForaDoHeap.AUSENTE) {
+            return;
+        }
+        porId.remover(id);
+        int ultima = --tamanho;
+        if (posicao != ultima) {
+            itens[posicao] = itens[ultima];
+            posicoes.inserir(extratorId.apply((T) itens[posicao]), posicao);
+        }
+        itens[ultima] = null;
+    }
+
+    /**
+     * Lista todos os itens cadastrados.
+     * @return lista de todas as entidades armazenadas
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> listarTodos() {
+        return new ArrayList<>((List<T>) Arrays.asList(itens).subList(0, tamanho));
+    }
+
+    /**
+     * Percorre o array denso, sem cópia; o Spliterator divide-o em metades exatas.
+     * Escritas durante a varredura não são suportadas (a remoção move o último item).
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<T> stream() {
+        return Arrays.stream(itens, 0, tamanho).map(item -> (T) item);
+    }
+
+    /**
+     * Página por chave (ver {@link Repositorio#paginar(String, int)}) sobre a árvore B+ de
+     * IDs: O(log n + limite).
+     */
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        return Repositorio.paginar(porId, aposId, limite);
+    }
+
+    /**
+     * Quantidade de itens cadastrados: O(1).
+     */
+    @Override
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Memória reservada fora do heap pelo índice de IDs, em bytes.
+     */
+    public long bytesForaDoHeap() {
+        return posicoes.bytesForaDoHeap();
+    }
+}
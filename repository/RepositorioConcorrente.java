@@ -0,0 +1,204 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import model.InfoProd;
+
+/**
+ * Implementação thread-safe de repositório genérico baseada em ConcurrentHashMap.
+ *
+ * Leituras (buscar) não usam locks; escritas usam CAS ou bloqueiam apenas o bin
+ * afetado, de modo que leitores e escritores em IDs diferentes não competem.
+ * listarTodos() devolve uma cópia fracamente consistente, feita sem bloquear escritores;
+ * stream() percorre o mapa com a mesma garantia, sem a cópia.
+ *
+ * Para a paginação por chave, os itens também ficam em um ConcurrentSkipListMap ordenado
+ * por ID. Ele é atualizado dentro do compute do ConcurrentHashMap, sob o bloqueio do bin
+ * do ID, de modo que escritas concorrentes no mesmo ID não deixam os dois mapas divergentes.
+ *
+ * @param <T> Tipo da entidade a ser armazenada
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioConcorrente<T> implements Repositorio<T> {
+
+    // Mapa concorrente para armazenamento dos itens, indexados por ID
+    private final ConcurrentHashMap<String, T> armazenamento;
+
+    // Os mesmos itens ordenados por ID, para a paginação por chave
+    private final ConcurrentSkipListMap<String, T> porId = new ConcurrentSkipListMap<>();
+
+    // Função que extrai o ID de uma entidade do tipo T
+    private final Function<T, String> extratorId;
+
+    /**
+     * Cria um novo repositório concorrente.
+     * @param extratorId função que extrai o identificador único de cada entidade
+     */
+    public RepositorioConcorrente(Function<T, String> extratorId) {
+        this(extratorId, 16);
+    }
+
+    /**
+     * Cria um novo repositório concorrente já dimensionado, evitando redimensionamentos na carga.
+     * @param extratorId função que extrai o identificador único de cada entidade
+     * @param capacidadeInicial quantidade esperada de itens
+     */
+    public RepositorioConcorrente(Function<T, String> extratorId, int capacidadeInicial) {
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+        this.armazenamento = new ConcurrentHashMap<>(capacidadeInicial);
+    }
+
+    private String extrairId(T item) {
+        Objects.requireNonNull(item, "O item não pode ser nulo.");
+        String id = extratorId.apply(item);
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
+        }
+        return id;
+    }
+
+    /**
+     * Cadastra (ou substitui) um item no repositório.
+     * @param item entidade a ser cadastrada
+     */
+    @Override
+    public void cadastrar(T item) {
+        armazenamento.compute(extrairId(item), (id, atual) -> {
+            porId.put(id, item);
+            return item;
+        });
+    }
+
+    /**
+     * Cadastra o item apenas se ainda não houver item com o mesmo ID (operação atômica).
+     * @param item entidade a ser cadastrada
+     * @return true se o item foi cadastrado; false se o ID já existia
+     */
+    public boolean cadastrarSeAusente(T item) {
+        boolean[] cadastrado = new boolean[1];
+        armazenamento.computeIfAbsent(extrairId(item), id -> {
+            porId.put(id, item);
+            cadastrado[0] = true;
+            return item;
+        });
+        return cadastrado[0];
+    }
+
+    /**
+     * Substitui o item atual pelo novo somente se o atual ainda for 'esperado' (operação atômica).
+     * Ambos devem ter o mesmo ID.
+     * @param esperado item que se espera estar cadastrado
+     * @param novo item que o substituirá
+     * @return true se a substituição ocorreu
+     */
+    public boolean substituir(T esperado, T novo) {
+        String id = extrairId(novo);
+        if (!id.equals(extrairId(esperado))) {
+            throw new IllegalArgumentException("Os itens devem ter o mesmo ID.");
+        }
+        boolean[] substituido = new boolean[1];
+        armazenamento.computeIfPresent(id, (chave, atual) -> {
+            if (!atual.equals(esperado)) {
+                return atual;
+            }
+            porId.put(chave, novo);
+            substituido[0] = true;
+            return novo;
+        });
+        return substituido[0];
+    }
+
+    /**
+     * Busca um item pelo ID, sem bloqueio.
+     * @param id identificador do item
+     * @return item correspondente ou null se não encontrado
+     */
+    @Override
+    public T buscar(String id) {
+        // ConcurrentHashMap não aceita chave nula
+        return (id == null) ? null : armazenamento.get(id);
+    }
+
+    /**
+     * Remove um item pelo ID.
+     * @param id identificador do item a ser removido
+     */
+    @Override
+    public void remover(String id) {
+        if (id != null) {
+            armazenamento.computeIfPresent(id, (chave, atual) -> {
+                porId.remove(chave);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Remove o item somente se o cadastrado ainda for o informado (operação atômica).
+     * @param item entidade a ser removida
+     * @return true se o item foi removido
+     */
+    public boolean remover(T item) {
+        boolean[] removido = new boolean[1];
+        armazenamento.computeIfPresent(extrairId(item), (id, atual) -> {
+            if (!atual.equals(item)) {
+                return atual;
+            }
+            porId.remove(id);
+            removido[0] = true;
+            return null;
+        });
+        return removido[0];
+    }
+
+    /**
+     * Lista todos os itens cadastrados em uma cópia fracamente consistente:
+     * reflete o estado de algum momento durante a chamada e nunca bloqueia escritores.
+     * @return lista de todas as entidades armazenadas
+     */
+    @Override
+    public List<T> listarTodos() {
+        return new ArrayList<>(armazenamento.values());
+    }
+
+    /**
+     * Percorre o próprio mapa, sem cópia e sem bloquear escritores: fracamente consistente,
+     * nunca lança ConcurrentModificationException e reflete parte das escritas concorrentes.
+     */
+    @Override
+    public Stream<T> stream() {
+        return armazenamento.values().stream();
+    }
+
+    /**
+     * Página por chave (ver {@link Repositorio#paginar(String, int)}) sobre o mapa ordenado
+     * por ID: O(log n + limite), sem bloquear escritores e fracamente consistente como stream().
+     */
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        Iterator<T> itens = ((aposId == null) ? porId : porId.tailMap(aposId, false)).values().iterator();
+        List<T> pagina = new ArrayList<>(Math.min(limite, 1024));
+        while (pagina.size() < limite && itens.hasNext()) {
+            pagina.add(itens.next());
+        }
+        return pagina;
+    }
+
+    /**
+     * Quantidade aproximada de itens (exata na ausência de escritas concorrentes).
+     */
+    @Override
+    public int tamanho() {
+        return armazenamento.size();
+    }
+}
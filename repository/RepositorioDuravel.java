@@ -0,0 +1,411 @@
+package repository;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import model.InfoProd;
+
+/**
+ * Repositório durável: mantém os itens em um repositório em memória e registra cada
+ * cadastrar/remover em um log de escrita antecipada ({@link LogEscrita}) antes de
+ * confirmar a operação.
+ *
+ * - Escritas: o item é validado e o registro anexado ao log antes de qualquer alteração na
+ *   memória; cadastrar/remover só retornam depois que o registro está no disco (fsync), e
+ *   só então a operação é aplicada à memória e fica visível às leituras. Uma escrita que
+ *   falha (item inválido, log fechado ou falha de gravação) não deixa rastro na memória.
+ *   Escritores concorrentes compartilham o mesmo fsync (group commit), de modo que a
+ *   vazão não fica limitada à latência de um fsync por operação.
+ * - Instantâneos: quando o log passa do limite configurado, o estado completo é gravado
+ *   em segundo plano em "instantaneo.bin" (arquivo temporário + renomeação atômica) e
+ *   os segmentos de log já cobertos são apagados.
+ * - Recuperação: ao abrir, o instantâneo é lido por mapeamento de memória e apenas a
+ *   cauda do log posterior a ele é reaplicada.
+ *
+ * O repositório em memória deve começar vazio e não deve ser alterado diretamente.
+ *
+ * @param <T> Tipo da entidade a ser armazenada
+ */
+@InfoProd(versao = "1.0", categoria = "Persistencia")
+public class RepositorioDuravel<T> implements Repositorio<T>, Closeable {
+
+    /** Tamanho do log, desde o último instantâneo, que dispara um novo instantâneo: 64 MB. */
+    public static final long LIMITE_LOG_PADRAO = 64L << 20;
+
+    // Tipos de registro no log
+    private static final byte CADASTRAR = 1;
+    private static final byte REMOVER = 2;
+
+    // Instantâneo: [MAGICO][VERSAO][lsn][quantidade] ([tamanho][item])* [CRC32C]
+    private static final String INSTANTANEO = "instantaneo.bin";
+    private static final String INSTANTANEO_TEMPORARIO = "instantaneo.tmp";
+    private static final int MAGICO = 0x534E4150;
+    private static final int VERSAO = 1;
+    private static final int CABECALHO_INSTANTANEO = 20;
+
+    // Operação anexada ao log e ainda não aplicada à memória (item nulo: remoção)
+    private static final class Pendente<T> {
+        final long lsn;
+        final String id;
+        final T item;
+
+        Pendente(long lsn, String id, T item) {
+            this.lsn = lsn;
+            this.id = id;
+            this.item = item;
+        }
+    }
+
+    private final Path diretorio;
+    private final Repositorio<T> memoria;
+    private final Function<T, String> extratorId;
+    private final Serializador<T> serializador;
+    private final long limiteLog;
+
+    // Garante que a ordem no log é a mesma aplicada à memória
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LogEscrita log;
+
+    // Operações no log à espera do fsync, em ordem de LSN, e LSN da última aplicada (protegidos por lock)
+    private final ArrayDeque<Pendente<T>> pendentes = new ArrayDeque<>();
+    private long lsnAplicado;
+
+    // Instantâneos: um por vez; lsnInstantaneo é o LSN coberto pelo último gravado.
+    // fechado é alterado sob lockInstantaneo: nenhum instantâneo começa depois de close()
+    private final ReentrantLock lockInstantaneo = new ReentrantLock();
+    private final AtomicBoolean instantaneoAgendado = new AtomicBoolean();
+    private volatile Thread threadInstantaneo;
+    private volatile boolean fechado;
+    private volatile long lsnInstantaneo;
+    private volatile IOException falhaInstantaneo;
+
+    /**
+     * Abre (ou cria) o repositório no diretório, recuperando o estado gravado.
+     * @param diretorio diretório dos arquivos de log e instantâneo
+     * @param memoria repositório em memória, vazio, que receberá os itens
+     * @param extratorId função que extrai o identificador único de cada entidade
+     * @param serializador codificação dos itens em bytes
+     */
+    public RepositorioDuravel(Path diretorio, Repositorio<T> memoria, Function<T, String> extratorId,
+                              Serializador<T> serializador) throws IOException {
+        this(diretorio, memoria, extratorId, serializador, LIMITE_LOG_PADRAO);
+    }
+
+    /**
+     * @param limiteLog bytes de log, desde o último instantâneo, que disparam um novo instantâneo
+     */
+    public RepositorioDuravel(Path diretorio, Repositorio<T> memoria, Function<T, String> extratorId,
+                              Serializador<T> serializador, long limiteLog) throws IOException {
+        this.diretorio = Objects.requireNonNull(diretorio, "O diretório não pode ser nulo.");
+        this.memoria = Objects.requireNonNull(memoria, "O repositório em memória não pode ser nulo.");
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+        this.serializador = Objects.requireNonNull(serializador, "O serializador não pode ser nulo.");
+        if (limiteLog <= 0) {
+            throw new IllegalArgumentException("O limite do log deve ser positivo.");
+        }
+        this.limiteLog = limiteLog;
+
+        Files.createDirectories(diretorio);
+        Files.deleteIfExists(diretorio.resolve(INSTANTANEO_TEMPORARIO));
+        lsnInstantaneo = carregarInstantaneo();
+        long fimLog = LogEscrita.recuperar(diretorio, lsnInstantaneo, this::reaplicar);
+        lsnAplicado = fimLog;
+        // o log é mantido em segmentos do tamanho do limite; um instantâneo descarta os anteriores
+        log = new LogEscrita(diretorio, fimLog, limiteLog);
+    }
+
+    private void reaplicar(byte tipo, ByteBuffer conteudo) {
+        if (tipo == CADASTRAR) {
+            memoria.cadastrar(serializador.desserializar(conteudo));
+        } else if (tipo == REMOVER) {
+            memoria.remover(StandardCharsets.UTF_8.decode(conteudo).toString());
+        } else {
+            throw new IllegalStateException("Tipo de registro desconhecido no log: " + tipo);
+        }
+    }
+
+    /**
+     * Cadastra (ou substitui) um item; retorna depois que a operação está gravada no disco.
+     * @param item entidade a ser cadastrada
+     * @throws IllegalArgumentException se o ID do item for nulo ou vazio
+     */
+    @Override
+    public void cadastrar(T item) {
+        Objects.requireNonNull(item, "O item não pode ser nulo.");
+        String id = extratorId.apply(item);
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
+        }
+        // serializar também valida o item: nada vai para o log se ele não puder ser codificado
+        byte[] bytes = serializador.serializar(item);
+        long lsn;
+        lock.lock();
+        try {
+            lsn = log.anexar(CADASTRAR, bytes);
+            pendentes.addLast(new Pendente<>(lsn, id, item));
+        } finally {
+            lock.unlock();
+        }
+        log.aguardar(lsn);
+        aplicarAte(lsn);
+        verificarInstantaneo(lsn);
+    }
+
+    /**
+     * Remove o item com o ID, se existir; retorna depois que a operação está gravada no disco.
+     * @param id identificador do item a ser removido
+     */
+    @Override
+    public void remover(String id) {
+        if (id == null) {
+            return;
+        }
+        long lsn;
+        lock.lock();
+        try {
+            if (!existe(id)) {
+                return;
+            }
+            lsn = log.anexar(REMOVER, id.getBytes(StandardCharsets.UTF_8));
+            pendentes.addLast(new Pendente<>(lsn, id, null));
+        } finally {
+            lock.unlock();
+        }
+        log.aguardar(lsn);
+        aplicarAte(lsn);
+        verificarInstantaneo(lsn);
+    }
+
+    // Estado do ID considerando as operações ainda não aplicadas (a mais recente decide); requer o lock
+    private boolean existe(String id) {
+        Iterator<Pendente<T>> it = pendentes.descendingIterator();
+        while (it.hasNext()) {
+            Pendente<T> pendente = it.next();
+            if (pendente.id.equals(id)) {
+                return pendente.item != null;
+            }
+        }
+        return memoria.buscar(id) != null;
+    }
+
+    // Aplica à memória, na ordem do log, as operações já sincronizadas no disco até o LSN
+    private void aplicarAte(long lsn) {
+        lock.lock();
+        try {
+            while (!pendentes.isEmpty() && pendentes.peekFirst().lsn <= lsn) {
+                Pendente<T> pendente = pendentes.pollFirst();
+                if (pendente.item != null) {
+                    memoria.cadastrar(pendente.item);
+                } else {
+                    memoria.remover(pendente.id);
+                }
+                lsnAplicado = pendente.lsn;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T buscar(String id) {
+        lock.lock();
+        try {
+            return memoria.buscar(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        lock.lock();
+        try {
+            return memoria.listarTodos();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Percorre uma cópia feita sob o lock: um Stream preguiçoso manteria o lock preso
+     * enquanto o chamador o consome.
+     */
+    @Override
+    public Stream<T> stream() {
+        return listarTodos().stream();
+    }
+
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        lock.lock();
+        try {
+            return memoria.paginar(aposId, limite);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int tamanho() {
+        lock.lock();
+        try {
+            return memoria.tamanho();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Agenda um instantâneo em segundo plano quando o log desde o último passa do limite
+    private void verificarInstantaneo(long lsn) {
+        if (!fechado && lsn - lsnInstantaneo > limiteLog && instantaneoAgendado.compareAndSet(false, true)) {
+            Thread thread = new Thread(() -> {
+                try {
+                    gravarInstantaneoSeAberto();
+                } catch (IOException e) {
+                    falhaInstantaneo = e;
+                } finally {
+                    instantaneoAgendado.set(false);
+                }
+            }, "instantaneo-" + diretorio.getFileName());
+            thread.setDaemon(true);
+            threadInstantaneo = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Grava um instantâneo do estado atual e apaga os segmentos de log que ele cobre.
+     * As escritas ficam bloqueadas apenas durante a cópia da lista de itens.
+     * @throws IllegalStateException se o repositório já foi fechado
+     */
+    public void gravarInstantaneo() throws IOException {
+        if (!gravarInstantaneoSeAberto()) {
+            throw new IllegalStateException("Repositório fechado.");
+        }
+    }
+
+    // Grava o instantâneo, a menos que o repositório já tenha sido fechado (devolve false)
+    private boolean gravarInstantaneoSeAberto() throws IOException {
+        lockInstantaneo.lock();
+        try {
+            if (fechado) {
+                return false;
+            }
+            List<T> itens;
+            long lsn;
+            lock.lock();
+            try {
+                itens = memoria.listarTodos();
+                // a memória só contém operações já sincronizadas: o instantâneo nunca fica à frente do log
+                lsn = lsnAplicado;
+            } finally {
+                lock.unlock();
+            }
+
+            Path temporario = diretorio.resolve(INSTANTANEO_TEMPORARIO);
+            try (FileOutputStream arquivo = new FileOutputStream(temporario.toFile())) {
+                CheckedOutputStream verificado = new CheckedOutputStream(new BufferedOutputStream(arquivo, 1 << 16), new CRC32C());
+                DataOutputStream saida = new DataOutputStream(verificado);
+                saida.writeInt(MAGICO);
+                saida.writeInt(VERSAO);
+                saida.writeLong(lsn);
+                saida.writeInt(itens.size());
+                for (T item : itens) {
+                    byte[] bytes = serializador.serializar(item);
+                    saida.writeInt(bytes.length);
+                    saida.write(bytes);
+                }
+                saida.flush();
+                new DataOutputStream(arquivo).writeInt((int) verificado.getChecksum().getValue());
+                arquivo.getFD().sync();
+            }
+            Files.move(temporario, diretorio.resolve(INSTANTANEO), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            lsnInstantaneo = lsn;
+            log.descartarAte(lsn);
+            return true;
+        } finally {
+            lockInstantaneo.unlock();
+        }
+    }
+
+    // Lê o instantâneo (se houver) por mapeamento de memória e devolve o LSN que ele cobre
+    private long carregarInstantaneo() throws IOException {
+        Path caminho = diretorio.resolve(INSTANTANEO);
+        if (!Files.exists(caminho)) {
+            return 0;
+        }
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int fim = bytes.limit() - 4;
+            if (fim < CABECALHO_INSTANTANEO || bytes.getInt(0) != MAGICO) {
+                throw new IllegalStateException("Instantâneo inválido: " + caminho);
+            }
+            if (bytes.getInt(4) != VERSAO) {
+                throw new IllegalStateException("Versão de instantâneo não suportada: " + bytes.getInt(4));
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.duplicate().position(0).limit(fim));
+            if ((int) crc.getValue() != bytes.getInt(fim)) {
+                throw new IllegalStateException("Instantâneo corrompido: " + caminho);
+            }
+            long lsn = bytes.getLong(8);
+            int quantidade = bytes.getInt(16);
+            int posicao = CABECALHO_INSTANTANEO;
+            for (int i = 0; i < quantidade; i++) {
+                int tamanho = bytes.getInt(posicao);
+                ByteBuffer item = bytes.duplicate().position(posicao + 4).limit(posicao + 4 + tamanho).slice();
+                memoria.cadastrar(serializador.desserializar(item));
+                posicao += 4 + tamanho;
+            }
+            return lsn;
+        }
+    }
+
+    /**
+     * Grava o que estiver pendente no log e o fecha. Um instantâneo em andamento é concluído
+     * antes; um agendado que ainda não começou não é mais gravado. Falhas de instantâneos
+     * em segundo plano são relatadas aqui.
+     */
+    @Override
+    public void close() throws IOException {
+        lockInstantaneo.lock();
+        try {
+            fechado = true;
+            log.close();
+        } finally {
+            lockInstantaneo.unlock();
+        }
+        Thread thread = threadInstantaneo;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (falhaInstantaneo != null) {
+            throw falhaInstantaneo;
+        }
+    }
+}
@@ -6,7 +6,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import algorithm.ArvoreBMais;
+import algorithm.ArvoreBusca;
 import model.InfoProd;
 
 /**
@@ -20,6 +23,9 @@ public class RepositorioHash<T> implements Repositorio<T> {
     // Mapa para armazenamento dos itens, indexados por ID
     private final Map<String, T> armazenamento = new HashMap<>();
 
+    // Os mesmos itens ordenados por ID, para a paginação por chave
+    private final ArvoreBusca<String, T> porId = new ArvoreBMais<>();
+
     // Função que extrai o ID de uma entidade do tipo T
     private final Function<T, String> extratorId;
 
@@ -43,6 +49,7 @@ public class RepositorioHash<T> implements Repositorio<T> {
             throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
         }
         armazenamento.put(id, item);
+        porId.inserir(id, item);
     }
 
     /**
@@ -61,7 +68,9 @@ public class RepositorioHash<T> implements Repositorio<T> {
      */
     @Override
     public void remover(String id) {
-        armazenamento.remove(id);
+        if (armazenamento.remove(id) != null) {
+            porId.remover(id);
+        }
     }
 
     /**
@@ -72,4 +81,30 @@ public class RepositorioHash<T> implements Repositorio<T> {
     public List<T> listarTodos() {
         return new ArrayList<>(armazenamento.values());
     }
+
+    /**
+     * Percorre os itens do próprio mapa, sem cópia. Como o restante da classe, não é
+     * thread-safe: uma escrita durante a varredura lança ConcurrentModificationException.
+     */
+    @Override
+    public Stream<T> stream() {
+        return armazenamento.values().stream();
+    }
+
+    /**
+     * Página por chave (ver {@link Repositorio#paginar(String, int)}) sobre a árvore B+ de
+     * IDs mantida junto com o mapa: O(log n + limite).
+     */
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        return Repositorio.paginar(porId, aposId, limite);
+    }
+
+    /**
+     * Quantidade de itens cadastrados: O(1).
+     */
+    @Override
+    public int tamanho() {
+        return armazenamento.size();
+    }
 }
@@ -0,0 +1,220 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Fachada que mantém um repositório e seus índices (ordenados ou secundários) sempre consistentes.
+ *
+ * Toda escrita passa por aqui: ao cadastrar, o item é gravado no repositório e em cada
+ * índice; ao substituir um item (mesmo ID), as chaves antigas são retiradas antes de
+ * inserir as novas (ex.: produto renomeado); ao remover, o item sai do repositório e
+ * de todos os índices. Assim os índices só referenciam itens vivos.
+ *
+ * A fachada guarda a instância indexada de cada ID e é ela que sai dos índices na
+ * substituição ou remoção: o repositório base pode devolver cópias a cada busca (como o
+ * {@link RepositorioColunar}), e os índices comparam os itens por identidade ou equals.
+ *
+ * Em cargas grandes feitas em vários lotes (ex.: {@link ImportadorProdutos}), cada chamada
+ * a cadastrarLote remontaria os índices ordenados já povoados. Entre {@link #iniciarCarga()}
+ * e {@link #concluirCarga()} os lotes vão só para o repositório base e os itens ficam
+ * pendentes; os índices recebem todos de uma vez na conclusão. Durante a carga, as
+ * consultas aos índices não enxergam os itens pendentes.
+ *
+ * @param <T> Tipo da entidade a ser armazenada
+ */
+public class RepositorioIndexado<T> implements Repositorio<T> {
+
+    private final Repositorio<T> repositorio;
+    private final Function<T, String> extratorId;
+    private final List<IndiceRepositorio<T>> indices = new ArrayList<>();
+    // instância presente nos índices para cada ID (vazio enquanto não houver índices)
+    private final Map<String, T> indexados = new HashMap<>();
+    // itens ainda fora dos índices durante uma carga, por ID; null fora de uma carga
+    private Map<String, T> pendentes;
+
+    /**
+     * @param repositorio repositório base (armazenamento por ID)
+     * @param extratorId função que extrai o identificador único de cada entidade
+     */
+    public RepositorioIndexado(Repositorio<T> repositorio, Function<T, String> extratorId) {
+        this.repositorio = Objects.requireNonNull(repositorio, "O repositório não pode ser nulo.");
+        this.extratorId = Objects.requireNonNull(extratorId, "O extrator de ID não pode ser nulo.");
+    }
+
+    /**
+     * Registra um índice (ex.: {@link IndiceOrdenado}); os itens já cadastrados são indexados imediatamente.
+     * @param indice índice a ser mantido junto com o repositório
+     */
+    public void adicionarIndice(IndiceRepositorio<T> indice) {
+        Objects.requireNonNull(indice, "O índice não pode ser nulo.");
+        if (emCarga()) {
+            throw new IllegalStateException("Não é possível adicionar índices durante uma carga.");
+        }
+        if (indices.isEmpty()) {
+            for (T item : repositorio.listarTodos()) {
+                indexados.put(extratorId.apply(item), item);
+            }
+        }
+        for (T item : indexados.values()) {
+            indice.indexar(item);
+        }
+        indices.add(indice);
+    }
+
+    /**
+     * Cadastra ou substitui um item, atualizando todos os índices.
+     * @param item entidade a ser cadastrada
+     */
+    @Override
+    public void cadastrar(T item) {
+        Objects.requireNonNull(item, "O item não pode ser nulo.");
+        repositorio.cadastrar(item);
+        if (indices.isEmpty() || !substituir(extratorId.apply(item), item)) {
+            return;
+        }
+        for (IndiceRepositorio<T> indice : indices) {
+            indice.indexar(item);
+        }
+    }
+
+    /**
+     * Cadastra vários itens e monta os índices uma única vez ao final: cada índice recebe o
+     * lote inteiro (índices ordenados são carregados de baixo para cima, sem n inserções).
+     * Itens que substituem cadastros anteriores (mesmo ID) têm as chaves antigas retiradas
+     * antes; dentro do lote, vale o último item de cada ID.
+     * @param itens entidades a serem cadastradas
+     */
+    @Override
+    public void cadastrarLote(List<T> itens) {
+        // valida todo o lote antes de alterar qualquer estrutura; guarda a última posição de cada ID
+        Map<String, Integer> ultimaPosicao = new HashMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            T item = Objects.requireNonNull(itens.get(i), "O item não pode ser nulo.");
+            String id = extratorId.apply(item);
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("O ID extraído não pode ser nulo ou vazio.");
+            }
+            ultimaPosicao.put(id, i);
+        }
+        repositorio.cadastrarLote(itens);
+        if (indices.isEmpty()) {
+            return;
+        }
+        // só os itens que permaneceram (o último de cada ID) entram nos índices
+        List<T> vigentes = new ArrayList<>(ultimaPosicao.size());
+        for (int i = 0; i < itens.size(); i++) {
+            T item = itens.get(i);
+            String id = extratorId.apply(item);
+            if (ultimaPosicao.get(id) == i && substituir(id, item)) {
+                vigentes.add(item);
+            }
+        }
+        if (vigentes.isEmpty()) {
+            return;
+        }
+        for (IndiceRepositorio<T> indice : indices) {
+            indice.indexarLote(vigentes);
+        }
+    }
+
+    /**
+     * Inicia uma carga: até {@link #concluirCarga()}, os itens cadastrados ficam fora dos
+     * índices, que são montados uma única vez na conclusão.
+     */
+    public void iniciarCarga() {
+        if (emCarga()) {
+            throw new IllegalStateException("Já existe uma carga em andamento.");
+        }
+        pendentes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Conclui a carga: os itens pendentes entram em cada índice em um único indexarLote.
+     */
+    public void concluirCarga() {
+        if (!emCarga()) {
+            throw new IllegalStateException("Não há carga em andamento.");
+        }
+        List<T> itens = new ArrayList<>(pendentes.values());
+        pendentes = null;
+        if (itens.isEmpty()) {
+            return;
+        }
+        for (IndiceRepositorio<T> indice : indices) {
+            indice.indexarLote(itens);
+        }
+    }
+
+    /**
+     * @return true entre {@link #iniciarCarga()} e {@link #concluirCarga()}
+     */
+    public boolean emCarga() {
+        return pendentes != null;
+    }
+
+    // Registra o item como a instância indexada do ID e retira a anterior dos índices (se
+    // ainda pendente, só sai da carga). Devolve true se o item deve ser indexado agora,
+    // false se ficou pendente na carga.
+    private boolean substituir(String id, T item) {
+        T anterior = indexados.put(id, item);
+        boolean anteriorPendente = emCarga() && pendentes.remove(id) != null;
+        if (anterior != null && !anteriorPendente) {
+            for (IndiceRepositorio<T> indice : indices) {
+                indice.desindexar(anterior);
+            }
+        }
+        if (emCarga()) {
+            pendentes.put(id, item);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public T buscar(String id) {
+        return repositorio.buscar(id);
+    }
+
+    /**
+     * Remove o item do repositório e de todos os índices.
+     * @param id identificador do item a ser removido
+     */
+    @Override
+    public void remover(String id) {
+        repositorio.remover(id);
+        T item = indexados.remove(id);
+        if (item == null || (emCarga() && pendentes.remove(id) != null)) {
+            return;
+        }
+        for (IndiceRepositorio<T> indice : indices) {
+            indice.desindexar(item);
+        }
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return repositorio.listarTodos();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return repositorio.stream();
+    }
+
+    @Override
+    public List<T> paginar(String aposId, int limite) {
+        return repositorio.paginar(aposId, limite);
+    }
+
+    @Override
+    public int tamanho() {
+        return repositorio.tamanho();
+    }
+}
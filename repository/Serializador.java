@@ -0,0 +1,24 @@
+package repository;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversão de entidades para bytes e de volta, usada pela persistência em disco.
+ *
+ * @param <T> Tipo da entidade serializada
+ */
+public interface Serializador<T> {
+
+    /**
+     * Codifica o item em bytes.
+     * @param item entidade a ser codificada
+     */
+    byte[] serializar(T item);
+
+    /**
+     * Decodifica um item a partir da posição atual do buffer, consumindo exatamente
+     * os bytes gerados por {@link #serializar(Object)}.
+     * @param bytes buffer posicionado no início do item
+     */
+    T desserializar(ByteBuffer bytes);
+}
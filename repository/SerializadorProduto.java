@@ -0,0 +1,23 @@
+package repository;
+
+import java.nio.ByteBuffer;
+
+import model.FormatoProduto;
+import model.Produto;
+
+/**
+ * Serializador de produtos para o {@link RepositorioDuravel}, no formato binário
+ * versionado de {@link FormatoProduto}.
+ */
+public class SerializadorProduto implements Serializador<Produto> {
+
+    @Override
+    public byte[] serializar(Produto produto) {
+        return FormatoProduto.codificar(produto);
+    }
+
+    @Override
+    public Produto desserializar(ByteBuffer bytes) {
+        return FormatoProduto.decodificar(bytes);
+    }
+}
@@ -0,0 +1,332 @@
+package repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Tabela hash de endereçamento aberto que associa IDs (String) a posições inteiras
+ * (ex.: a posição do item em um array), armazenada fora do heap em ByteBuffers diretos.
+ *
+ * Cada balde ocupa 16 bytes: posição, comprimento do ID em UTF-8 e, para IDs de até
+ * 10 bytes (ex.: "P00000001"), os próprios bytes do ID. IDs maiores guardam no balde
+ * o hash e o deslocamento dos bytes em uma área de chaves separada. Não há objetos por
+ * entrada: o coletor de lixo não percorre a tabela, e o custo por ID fica em 16 bytes
+ * por balde, contra dezenas de bytes (Node, Integer, String) no HashMap. As comparações
+ * são feitas diretamente sobre os bytes UTF-8, sem decodificar a chave.
+ *
+ * Sondagem linear; remoções deixam marcas que são descartadas no próximo redimensionamento,
+ * que também compacta a área de chaves. Não é thread-safe (como RepositorioHash).
+ */
+public class TabelaIdsForaDoHeap {
+
+    // Layout de um balde
+    private static final int BYTES_BALDE = 16;
+    private static final int POSICAO = 0;
+    private static final int COMPRIMENTO = 4;
+    // IDs curtos: bytes do ID a partir daqui (completados com zeros)
+    private static final int EMBUTIDO = 6;
+    private static final int MAXIMO_EMBUTIDO = 10;
+    // IDs longos: hash e deslocamento na área de chaves
+    private static final int HASH = 6;
+    private static final int DESLOCAMENTO = 10;
+
+    // Valores especiais do campo POSICAO
+    private static final int VAZIO = -1;
+    private static final int REMOVIDO = -2;
+
+    /** Retornado pelas operações quando o ID não está na tabela. */
+    public static final int AUSENTE = -1;
+
+    private static final int CAPACIDADE_MINIMA = 16;
+    // 2^26 baldes de 16 bytes (1 GB): limite de um único ByteBuffer
+    private static final int CAPACIDADE_MAXIMA = 1 << 26;
+    // comprimento cabe no campo de 2 bytes
+    private static final int COMPRIMENTO_MAXIMO = 0xFFFF;
+
+    private ByteBuffer baldes;
+    private int mascara;
+    private int tamanho;
+    private int removidos;
+
+    // Bytes dos IDs longos, um após o outro; os de IDs removidos só são liberados ao redimensionar
+    private ByteBuffer chaves;
+    private int fimChaves;
+
+    // ID consultado, codificado em UTF-8 (reaproveitado entre chamadas, sem alocação)
+    private byte[] chaveAtual = new byte[64];
+    private ByteBuffer visaoChaveAtual = ByteBuffer.wrap(chaveAtual).order(ByteOrder.nativeOrder());
+    private int comprimentoAtual;
+    private int hashAtual;
+
+    public TabelaIdsForaDoHeap() {
+        this(CAPACIDADE_MINIMA);
+    }
+
+    /**
+     * @param capacidadeInicial quantidade esperada de IDs (evita redimensionamentos na carga)
+     */
+    public TabelaIdsForaDoHeap(int capacidadeInicial) {
+        int baldesNecessarios = (int) Math.min(CAPACIDADE_MAXIMA, Math.max(CAPACIDADE_MINIMA, (long) capacidadeInicial * 4 / 3 + 1));
+        int capacidade = Integer.highestOneBit(baldesNecessarios - 1) << 1;
+        baldes = alocarBaldes(capacidade);
+        mascara = capacidade - 1;
+        chaves = ByteBuffer.allocateDirect(256).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer alocarBaldes(int capacidade) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(capacidade * BYTES_BALDE).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < capacidade; i++) {
+            buffer.putInt(i * BYTES_BALDE + POSICAO, VAZIO);
+        }
+        return buffer;
+    }
+
+    /**
+     * Posição associada ao ID, ou {@link #AUSENTE}.
+     */
+    public int buscar(String id) {
+        codificar(id);
+        int balde = localizar();
+        return (balde < 0) ? AUSENTE : baldes.getInt(balde * BYTES_BALDE + POSICAO);
+    }
+
+    /**
+     * Associa o ID à posição (não negativa), substituindo a associação anterior.
+     * @return posição anterior ou {@link #AUSENTE}
+     */
+    public int inserir(String id, int posicao) {
+        if (posicao < 0) {
+            throw new IllegalArgumentException("A posição não pode ser negativa: " + posicao);
+        }
+        codificar(id);
+        int balde = localizar();
+        if (balde >= 0) {
+            int anterior = baldes.getInt(balde * BYTES_BALDE + POSICAO);
+            baldes.putInt(balde * BYTES_BALDE + POSICAO, posicao);
+            return anterior;
+        }
+        int base = baldeLivre(baldes, mascara, hashAtual) * BYTES_BALDE;
+        if (baldes.getInt(base + POSICAO) == REMOVIDO) {
+            // reaproveita a marca: a ocupação (itens + marcas) não muda
+            removidos--;
+        } else if ((tamanho + removidos + 1) * 4L > (mascara + 1) * 3L) {
+            // ocupação máxima (itens + marcas de remoção): 3/4 dos baldes
+            redimensionar((tamanho + 1) * 2L > mascara + 1 ? (mascara + 1) * 2 : mascara + 1);
+            base = baldeLivre(baldes, mascara, hashAtual) * BYTES_BALDE;
+        }
+        baldes.putInt(base + POSICAO, posicao);
+        baldes.putShort(base + COMPRIMENTO, (short) comprimentoAtual);
+        if (comprimentoAtual <= MAXIMO_EMBUTIDO) {
+            baldes.put(base + EMBUTIDO, chaveAtual, 0, MAXIMO_EMBUTIDO);
+        } else {
+            baldes.putInt(base + HASH, hashAtual);
+            baldes.putInt(base + DESLOCAMENTO, guardarChave());
+        }
+        tamanho++;
+        return AUSENTE;
+    }
+
+    /**
+     * Remove o ID da tabela.
+     * @return posição que estava associada ou {@link #AUSENTE}
+     */
+    public int remover(String id) {
+        codificar(id);
+        int balde = localizar();
+        if (balde < 0) {
+            return AUSENTE;
+        }
+        int anterior = baldes.getInt(balde * BYTES_BALDE + POSICAO);
+        baldes.putInt(balde * BYTES_BALDE + POSICAO, REMOVIDO);
+        tamanho--;
+        removidos++;
+        return anterior;
+    }
+
+    /**
+     * Quantidade de IDs na tabela.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Bytes reservados fora do heap (baldes e área de chaves).
+     */
+    public long bytesForaDoHeap() {
+        return (long) baldes.capacity() + chaves.capacity();
+    }
+
+    // --- Internos ---
+
+    // Codifica o ID em UTF-8 em chaveAtual (completando com zeros até MAXIMO_EMBUTIDO) e calcula seu hash
+    private void codificar(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("O ID não pode ser nulo.");
+        }
+        int limite = id.length() * 3 + MAXIMO_EMBUTIDO;
+        if (limite > chaveAtual.length) {
+            chaveAtual = new byte[Math.max(limite, chaveAtual.length * 2)];
+            visaoChaveAtual = ByteBuffer.wrap(chaveAtual).order(ByteOrder.nativeOrder());
+        }
+        byte[] destino = chaveAtual;
+        int n = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < 0x80) {
+                destino[n++] = (byte) c;
+            } else if (c < 0x800) {
+                destino[n++] = (byte) (0xC0 | (c >> 6));
+                destino[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < id.length() && Character.isLowSurrogate(id.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, id.charAt(++i));
+                destino[n++] = (byte) (0xF0 | (cp >> 18));
+                destino[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                destino[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                destino[n++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                destino[n++] = (byte) (0xE0 | (c >> 12));
+                destino[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                destino[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (n > COMPRIMENTO_MAXIMO) {
+            throw new IllegalArgumentException("ID excede " + COMPRIMENTO_MAXIMO + " bytes.");
+        }
+        for (int i = n; i < MAXIMO_EMBUTIDO; i++) {
+            destino[i] = 0;
+        }
+        comprimentoAtual = n;
+        hashAtual = hash(visaoChaveAtual, 0, n);
+    }
+
+    // Hash dos n bytes a partir de inicio, 4 por vez (FNV), com os bits espalhados ao final (MurmurHash3)
+    private static int hash(ByteBuffer bytes, int inicio, int n) {
+        int h = 0x9747b28c;
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            h = (h ^ bytes.getInt(inicio + i)) * 0x01000193;
+        }
+        for (; i < n; i++) {
+            h = (h ^ bytes.get(inicio + i)) * 0x01000193;
+        }
+        h ^= n;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // Balde da chave atual, ou -1 se ausente
+    private int localizar() {
+        ByteBuffer baldes = this.baldes;
+        int n = comprimentoAtual;
+        boolean embutido = n <= MAXIMO_EMBUTIDO;
+        // bytes da chave atual como aparecem em um balde embutido
+        long inicio = embutido ? visaoChaveAtual.getLong(0) : 0;
+        short fim = embutido ? visaoChaveAtual.getShort(8) : 0;
+        int balde = hashAtual & mascara;
+        while (true) {
+            int base = balde * BYTES_BALDE;
+            int posicao = baldes.getInt(base + POSICAO);
+            if (posicao == VAZIO) {
+                return -1;
+            }
+            if (posicao != REMOVIDO && (baldes.getShort(base + COMPRIMENTO) & 0xFFFF) == n) {
+                if (embutido) {
+                    if (baldes.getLong(base + EMBUTIDO) == inicio && baldes.getShort(base + EMBUTIDO + 8) == fim) {
+                        return balde;
+                    }
+                } else if (baldes.getInt(base + HASH) == hashAtual && mesmaChave(baldes.getInt(base + DESLOCAMENTO))) {
+                    return balde;
+                }
+            }
+            balde = (balde + 1) & mascara;
+        }
+    }
+
+    // Compara os bytes da chave atual com os guardados na área de chaves, 8 bytes por vez
+    private boolean mesmaChave(int deslocamento) {
+        int n = comprimentoAtual;
+        int i = 0;
+        for (; i + 8 <= n; i += 8) {
+            if (chaves.getLong(deslocamento + i) != visaoChaveAtual.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < n; i++) {
+            if (chaves.get(deslocamento + i) != chaveAtual[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Copia a chave atual para o fim da área de chaves e devolve seu deslocamento
+    private int guardarChave() {
+        if (fimChaves + comprimentoAtual > chaves.capacity()) {
+            long novaCapacidade = Math.max((long) chaves.capacity() * 2, (long) fimChaves + comprimentoAtual);
+            if (novaCapacidade > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Área de chaves excedeu 2 GB.");
+            }
+            ByteBuffer novas = ByteBuffer.allocateDirect((int) novaCapacidade).order(ByteOrder.nativeOrder());
+            novas.put(chaves.duplicate().position(0).limit(fimChaves));
+            chaves = novas;
+        }
+        int deslocamento = fimChaves;
+        chaves.put(deslocamento, chaveAtual, 0, comprimentoAtual);
+        fimChaves += comprimentoAtual;
+        return deslocamento;
+    }
+
+    private static int baldeLivre(ByteBuffer baldes, int mascara, int hash) {
+        int balde = hash & mascara;
+        while (baldes.getInt(balde * BYTES_BALDE + POSICAO) >= 0) {
+            balde = (balde + 1) & mascara;
+        }
+        return balde;
+    }
+
+    // Reconstrói os baldes com a nova capacidade, descartando marcas de remoção e compactando as chaves
+    private void redimensionar(int capacidade) {
+        if (capacidade > CAPACIDADE_MAXIMA) {
+            throw new IllegalStateException("Capacidade máxima da tabela excedida.");
+        }
+        ByteBuffer novosBaldes = alocarBaldes(capacidade);
+        ByteBuffer novasChaves = ByteBuffer.allocateDirect(Math.max(256, fimChaves)).order(ByteOrder.nativeOrder());
+        byte[] copia = new byte[BYTES_BALDE];
+        int novoFim = 0;
+        int novaMascara = capacidade - 1;
+        for (int balde = 0; balde <= mascara; balde++) {
+            int base = balde * BYTES_BALDE;
+            if (baldes.getInt(base + POSICAO) < 0) {
+                continue;
+            }
+            int comprimento = baldes.getShort(base + COMPRIMENTO) & 0xFFFF;
+            boolean embutido = comprimento <= MAXIMO_EMBUTIDO;
+            int hash = embutido ? hash(baldes, base + EMBUTIDO, comprimento) : baldes.getInt(base + HASH);
+            // o balde é copiado inteiro; para IDs longos, os bytes vão para a nova área de chaves
+            baldes.get(base, copia, 0, BYTES_BALDE);
+            int novaBase = baldeLivre(novosBaldes, novaMascara, hash) * BYTES_BALDE;
+            novosBaldes.put(novaBase, copia, 0, BYTES_BALDE);
+            if (!embutido) {
+                int deslocamento = baldes.getInt(base + DESLOCAMENTO);
+                if (comprimento > copia.length) {
+                    copia = Arrays.copyOf(copia, comprimento);
+                }
+                chaves.get(deslocamento, copia, 0, comprimento);
+                novasChaves.put(novoFim, copia, 0, comprimento);
+                novosBaldes.putInt(novaBase + DESLOCAMENTO, novoFim);
+                novoFim += comprimento;
+            }
+        }
+        baldes = novosBaldes;
+        mascara = novaMascara;
+        chaves = novasChaves;
+        fimChaves = novoFim;
+        removidos = 0;
+    }
+}
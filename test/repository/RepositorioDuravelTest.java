@@ -0,0 +1,178 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exception.ExcecaoNegocio;
+import model.Produto;
+import model.ProdutoArtesanal;
+
+/**
+ * Recuperação do {@link RepositorioDuravel} ao reabrir o diretório (cauda do log
+ * interrompida, instantâneo seguido de log, vários segmentos) e escritas que falham
+ * ao gravar no log, que não podem alterar o estado em memória nem reaparecer.
+ */
+class RepositorioDuravelTest {
+
+    @TempDir
+    Path diretorio;
+
+    private RepositorioDuravel<Produto> abrir() throws IOException {
+        return new RepositorioDuravel<>(diretorio, new RepositorioConcorrente<>(Produto::getId), Produto::getId,
+                new SerializadorProduto());
+    }
+
+    private RepositorioDuravel<Produto> abrir(long limiteLog) throws IOException {
+        return new RepositorioDuravel<>(diretorio, new RepositorioConcorrente<>(Produto::getId), Produto::getId,
+                new SerializadorProduto(), limiteLog);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("wal-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Simula uma gravação interrompida: anexa ao último segmento um cabeçalho cujo
+    // tamanho declarado não cabe no que foi gravado
+    private void anexarRegistroIncompleto(int tamanhoDeclarado) throws IOException {
+        List<Path> segmentos = segmentos();
+        Path ultimo = segmentos.get(segmentos.size() - 1);
+        ByteBuffer cauda = ByteBuffer.allocate(LogEscrita.CABECALHO + 3);
+        cauda.putInt(tamanhoDeclarado).putInt(0).put((byte) 1).put(new byte[] {1, 2, 3}).flip();
+        Files.write(ultimo, cauda.array(), StandardOpenOption.APPEND);
+    }
+
+    private static Produto produto(String id, String nome) throws ExcecaoNegocio {
+        return new ProdutoArtesanal(id, nome, 35.0, "Decoração", 4, "Ateliê Barro", "Cerâmica");
+    }
+
+    @Test
+    void reabrirDescartaRegistroIncompletoNoFimDoLog() throws Exception {
+        try (RepositorioDuravel<Produto> repositorio = abrir()) {
+            repositorio.cadastrar(produto("B005", "Vaso de Cerâmica"));
+            repositorio.cadastrar(produto("B006", "Prato de Cerâmica"));
+        }
+        anexarRegistroIncompleto(100);
+
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertEquals(2, reaberto.tamanho());
+            assertNotNull(reaberto.buscar("B006"));
+            // a cauda foi truncada: o próximo registro é anexado em uma posição válida
+            reaberto.cadastrar(produto("B007", "Jarro de Cerâmica"));
+        }
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertEquals(3, reaberto.tamanho());
+            assertNotNull(reaberto.buscar("B007"));
+        }
+    }
+
+    @Test
+    void reabrirComTamanhoCorrompidoProximoDoLimiteDoInt() throws Exception {
+        try (RepositorioDuravel<Produto> repositorio = abrir()) {
+            repositorio.cadastrar(produto("B005", "Vaso de Cerâmica"));
+        }
+        // CABECALHO + tamanho estoura o int; o registro deve ser tratado como incompleto
+        anexarRegistroIncompleto(Integer.MAX_VALUE - 2);
+
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertEquals(1, reaberto.tamanho());
+            assertNotNull(reaberto.buscar("B005"));
+        }
+    }
+
+    @Test
+    void reabrirAplicaOLogPosteriorAoInstantaneo() throws Exception {
+        try (RepositorioDuravel<Produto> repositorio = abrir()) {
+            repositorio.cadastrar(produto("B005", "Vaso de Cerâmica"));
+            repositorio.cadastrar(produto("B006", "Prato de Cerâmica"));
+            repositorio.gravarInstantaneo();
+            repositorio.cadastrar(produto("B007", "Jarro de Cerâmica"));
+            repositorio.cadastrar(produto("B006", "Prato Fundo de Cerâmica"));
+            repositorio.remover("B005");
+        }
+        assertTrue(Files.exists(diretorio.resolve("instantaneo.bin")));
+
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertEquals(2, reaberto.tamanho());
+            assertNull(reaberto.buscar("B005"));
+            assertEquals("Prato Fundo de Cerâmica", reaberto.buscar("B006").getNome());
+            assertNotNull(reaberto.buscar("B007"));
+        }
+    }
+
+    @Test
+    void reabrirDepoisDeVariosSegmentos() throws Exception {
+        // limite pequeno: o log troca de segmento e grava instantâneos durante as escritas
+        try (RepositorioDuravel<Produto> repositorio = abrir(512)) {
+            for (int i = 0; i < 200; i++) {
+                repositorio.cadastrar(produto(String.format("B%03d", i), "Peça " + i));
+            }
+            for (int i = 0; i < 200; i += 3) {
+                repositorio.remover(String.format("B%03d", i));
+            }
+            assertFalse(segmentos().get(0).getFileName().toString().equals(String.format("wal-%020d.log", 0)));
+        }
+
+        try (RepositorioDuravel<Produto> reaberto = abrir(512)) {
+            assertEquals(200 - 67, reaberto.tamanho());
+            for (int i = 0; i < 200; i++) {
+                Produto produto = reaberto.buscar(String.format("B%03d", i));
+                if (i % 3 == 0) {
+                    assertNull(produto);
+                } else {
+                    assertEquals("Peça " + i, produto.getNome());
+                }
+            }
+        }
+    }
+
+    @Test
+    void cadastrarComLogFechadoNaoDeixaRastro() throws Exception {
+        RepositorioDuravel<Produto> repositorio = abrir();
+        repositorio.cadastrar(produto("B005", "Vaso de Cerâmica"));
+        repositorio.close();
+
+        assertThrows(IllegalStateException.class, () -> repositorio.cadastrar(produto("B006", "Prato de Cerâmica")));
+
+        assertNull(repositorio.buscar("B006"));
+        assertEquals(1, repositorio.tamanho());
+        assertEquals(1, repositorio.stream().count());
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertNull(reaberto.buscar("B006"));
+            assertEquals(1, reaberto.tamanho());
+        }
+    }
+
+    @Test
+    void removerComLogFechadoMantemOItem() throws Exception {
+        RepositorioDuravel<Produto> repositorio = abrir();
+        repositorio.cadastrar(produto("B005", "Vaso de Cerâmica"));
+        repositorio.close();
+
+        assertThrows(IllegalStateException.class, () -> repositorio.remover("B005"));
+
+        assertNotNull(repositorio.buscar("B005"));
+        try (RepositorioDuravel<Produto> reaberto = abrir()) {
+            assertNotNull(reaberto.buscar("B005"));
+        }
+    }
+}